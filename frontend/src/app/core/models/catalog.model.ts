@@ -44,6 +44,7 @@ export interface Category {
   id: number;
   name: string;
   description: string;
+  parentId?: number;
   itemCount: number;
   createdAt: string;
 }
@@ -51,6 +52,17 @@ export interface Category {
 export interface CreateCategoryRequest {
   name: string;
   description?: string;
+  parentId?: number;
+}
+
+// Renames or redescribes a category; its parent is only changed by MoveCategoryRequest
+export interface UpdateCategoryRequest {
+  name: string;
+  description?: string;
+}
+
+export interface MoveCategoryRequest {
+  parentId: number | null; // null moves the category to the top level
 }
 
 export interface Supplier {
@@ -2,7 +2,7 @@ import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { environment } from '../../../environments/environment';
-import { Item, CreateItemRequest, UpdateItemRequest, Category, CreateCategoryRequest, Supplier, CreateSupplierRequest } from '../models/catalog.model';
+import { Item, CreateItemRequest, UpdateItemRequest, Category, CreateCategoryRequest, UpdateCategoryRequest, MoveCategoryRequest, Supplier, CreateSupplierRequest } from '../models/catalog.model';
 import { Page } from '../models/audit.model';
 
 @Injectable({
@@ -63,10 +63,14 @@ export class CatalogService {
     return this.http.post<Category>(`${this.apiUrl}/categories`, request);
   }
 
-  updateCategory(id: number, request: CreateCategoryRequest): Observable<Category> {
+  updateCategory(id: number, request: UpdateCategoryRequest): Observable<Category> {
     return this.http.put<Category>(`${this.apiUrl}/categories/${id}`, request);
   }
 
+  moveCategory(id: number, request: MoveCategoryRequest): Observable<Category> {
+    return this.http.put<Category>(`${this.apiUrl}/categories/${id}/parent`, request);
+  }
+
   deleteCategory(id: number): Observable<void> {
     return this.http.delete<void>(`${this.apiUrl}/categories/${id}`);
   }
@@ -2,12 +2,14 @@ package com.ims.audit.config;
 
 import com.ims.audit.entity.AuditEvent;
 import com.ims.audit.repository.AuditEventRepository;
+import com.ims.audit.service.AuditRollups;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
@@ -19,13 +21,19 @@ import java.util.UUID;
 public class DataInitializer implements CommandLineRunner {
     
     private final AuditEventRepository auditEventRepository;
+    private final AuditRollups auditRollups;
     private final Random random = new Random();
+    private final List<AuditEvent> pendingEvents = new ArrayList<>();
     
     @Override
     public void run(String... args) {
         if (auditEventRepository.count() == 0) {
             log.info("Initializing sample audit data...");
             initializeSampleData();
+            // One transaction, so Hibernate writes the events in JDBC batches
+            auditEventRepository.saveAll(pendingEvents);
+            auditRollups.record(pendingEvents);
+            pendingEvents.clear();
             log.info("Sample audit data initialized successfully");
         }
     }
@@ -166,7 +174,7 @@ public class DataInitializer implements CommandLineRunner {
     }
     
     private void createAuditEvent(AuditEvent event) {
-        auditEventRepository.save(event);
+        pendingEvents.add(event);
     }
     
     private String getHttpMethod(String action) {
@@ -36,7 +36,7 @@ public class SecurityConfig {
                 .requestMatchers("/h2-console/**").permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
                 .requestMatchers("/actuator/**").permitAll()
-                .requestMatchers(HttpMethod.POST, "/api/audit/events").permitAll() // Allow internal services to post events
+                .requestMatchers(HttpMethod.POST, "/api/audit/events", "/api/audit/events/batch").permitAll() // Allow internal services to post events
                 .requestMatchers("/api/audit/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
@@ -1,16 +1,25 @@
 package com.ims.audit.controller;
 
 import com.ims.audit.dto.*;
+import com.ims.audit.entity.AuditEvent;
+import com.ims.audit.ingest.AuditBatchIngestor;
+import com.ims.audit.ingest.AuditIngestionPipeline;
 import com.ims.audit.service.AuditService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -21,12 +30,33 @@ import java.util.List;
 public class AuditController {
     
     private final AuditService auditService;
+    private final AuditIngestionPipeline ingestionPipeline;
+    private final AuditBatchIngestor batchIngestor;
     
     @PostMapping("/events")
-    @Operation(summary = "Create audit event", description = "Log a new audit event (internal use)")
-    public ResponseEntity<AuditEventResponse> createAuditEvent(@RequestBody CreateAuditEventRequest request) {
-        log.debug("Received audit event: type={}, service={}", request.getEventType(), request.getServiceName());
-        return ResponseEntity.ok(auditService.createAuditEvent(request));
+    @Operation(summary = "Create audit event",
+               description = "Accept a new audit event for asynchronous storage (internal use); 429 when the ingestion buffer is full")
+    public ResponseEntity<AuditEventReceipt> createAuditEvent(@Valid @RequestBody CreateAuditEventRequest request) {
+        AuditEvent event = ingestionPipeline.submit(request);
+        return ResponseEntity.accepted().body(new AuditEventReceipt(event.getId(), event.getTimestamp()));
+    }
+    
+    @PostMapping(value = "/events/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Create audit events in bulk",
+               description = "Accept a JSON array or newline-delimited stream of audit events (internal use). "
+                       + "200 with accepted and rejected counts; 429 with retryFrom when the ingestion buffer fills; "
+                       + "400 when the body is malformed, counting the elements read before the error")
+    public ResponseEntity<AuditBatchResponse> createAuditEvents(InputStream body) throws IOException {
+        AuditBatchResponse response = batchIngestor.ingest(body);
+        if (response.getRetryFrom() != null) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(ingestionPipeline.getRetryAfterSeconds()))
+                    .body(response);
+        }
+        if (response.getError() != null) {
+            return ResponseEntity.badRequest().body(response);
+        }
+        return ResponseEntity.ok(response);
     }
     
     @GetMapping("/events")
@@ -0,0 +1,39 @@
+package com.ims.audit.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a batch of audit events. Elements are numbered from 0 in the order they were
+ * sent. When the ingestion buffer fills, elements from {@code retryFrom} on were not read and
+ * should be sent again; when the body is malformed, {@code error} says where reading stopped.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AuditBatchResponse {
+    
+    private int accepted;
+    private int rejected;
+    @Builder.Default
+    private List<ElementError> errors = new ArrayList<>();
+    private Integer retryFrom;
+    private String error;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ElementError {
+        private int index;
+        private String message;
+    }
+}
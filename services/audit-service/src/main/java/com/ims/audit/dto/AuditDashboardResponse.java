@@ -20,6 +20,11 @@ public class AuditDashboardResponse {
     private List<ServiceStat> serviceStats;
     private List<UserActivityStat> userActivityStats;
     private List<ActionStat> actionStats;
+    private List<RequestPathStat> requestPathStats;
+    private List<ClientIpStat> clientIpStats;
+    private Long distinctUsers;
+    // Whether user, action, path and client IP stats and distinct users are sketch estimates
+    private Boolean approximate;
     private List<DailyActivityStat> dailyActivityStats;
     
     @Data
@@ -58,6 +63,24 @@ public class AuditDashboardResponse {
         private Long count;
     }
     
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RequestPathStat {
+        private String requestPath;
+        private Long count;
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ClientIpStat {
+        private String clientIp;
+        private Long count;
+    }
+    
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -0,0 +1,18 @@
+package com.ims.audit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditEventReceipt {
+    
+    private Long id;
+    private LocalDateTime timestamp;
+}
@@ -1,5 +1,7 @@
 package com.ims.audit.dto;
 
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,23 +13,37 @@ import lombok.NoArgsConstructor;
 @Builder
 public class CreateAuditEventRequest {
     
+    @NotBlank
+    @Size(max = 100)
     private String eventType;
+    @NotBlank
+    @Size(max = 50)
     private String serviceName;
+    @Size(max = 100)
     private String correlationId;
+    @Size(max = 100)
     private String traceId;
     private Long userId;
+    @Size(max = 100)
     private String username;
+    @Size(max = 50)
     private String userRole;
+    @Size(max = 20)
     private String httpMethod;
+    @Size(max = 500)
     private String requestPath;
+    @Size(max = 100)
     private String clientIp;
+    @Size(max = 500)
     private String userAgent;
     private String requestBody;
     private String responseBody;
     private Integer responseStatus;
     private Long durationMs;
+    @Size(max = 50)
     private String entityType;
     private Long entityId;
+    @Size(max = 50)
     private String action;
     private String previousValue;
     private String newValue;
@@ -10,16 +10,23 @@ import java.time.LocalDateTime;
     @Index(name = "idx_user_id", columnList = "userId"),
     @Index(name = "idx_event_type", columnList = "eventType"),
     @Index(name = "idx_timestamp", columnList = "timestamp"),
-    @Index(name = "idx_service_name", columnList = "serviceName")
+    @Index(name = "idx_service_name", columnList = "serviceName"),
+    @Index(name = "idx_sealed_generation", columnList = "sealedGeneration")
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class AuditEvent {
+
+    // Ids are handed out in blocks of this size, by Hibernate for JPA inserts and by the
+    // ingestion pipeline for its JDBC batches (see AuditIdAllocator)
+    public static final String ID_SEQUENCE = "audit_events_seq";
+    public static final int ID_ALLOCATION_SIZE = 1000;
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_event_ids")
+    @SequenceGenerator(name = "audit_event_ids", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(nullable = false, length = 100)
@@ -94,6 +101,9 @@ public class AuditEvent {
     @Column(nullable = false)
     private LocalDateTime timestamp;
     
+    // Set once the row has been copied into a segment file, until the row is removed (see AuditSegmentStore)
+    private Long sealedGeneration;
+    
     @PrePersist
     protected void onCreate() {
         if (timestamp == null) {
@@ -0,0 +1,40 @@
+package com.ims.audit.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Stored audit events of one minute with one value of a dashboard dimension, persisted from
+ * the in-memory rollups so they outlive a restart.
+ */
+@Entity
+@Table(name = "audit_minute_rollups", uniqueConstraints = @UniqueConstraint(
+        name = "uk_audit_minute_rollup", columnNames = {"rollup_minute", "dimension", "dimension_key"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditMinuteRollup {
+    
+    public enum Dimension {
+        EVENT_TYPE, SERVICE, STATUS_CLASS
+    }
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "rollup_minute", nullable = false)
+    private LocalDateTime minute;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Dimension dimension;
+    
+    @Column(name = "dimension_key", nullable = false, length = 100)
+    private String dimensionKey;
+    
+    @Column(name = "event_count", nullable = false)
+    private Long eventCount;
+}
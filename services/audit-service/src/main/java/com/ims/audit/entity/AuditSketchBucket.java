@@ -0,0 +1,29 @@
+package com.ims.audit.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Serialized activity sketches of one time bucket, persisted from memory together with the
+ * minute rollups so they outlive a restart.
+ */
+@Entity
+@Table(name = "audit_sketch_buckets")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditSketchBucket {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "bucket_start", nullable = false, unique = true)
+    private LocalDateTime bucketStart;
+    
+    @Lob
+    @Column(nullable = false)
+    private byte[] payload;
+}
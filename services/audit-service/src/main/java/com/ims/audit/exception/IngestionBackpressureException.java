@@ -0,0 +1,18 @@
+package com.ims.audit.exception;
+
+/**
+ * The ingestion buffer is full; the caller should retry after a short delay.
+ */
+public class IngestionBackpressureException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public IngestionBackpressureException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
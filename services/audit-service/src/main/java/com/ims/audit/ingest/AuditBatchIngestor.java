@@ -0,0 +1,110 @@
+package com.ims.audit.ingest;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ims.audit.dto.AuditBatchResponse;
+import com.ims.audit.dto.CreateAuditEventRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads a batch of audit events from a request body, either one JSON array or a stream of
+ * newline-delimited objects, and hands each valid one to the {@link AuditIngestionPipeline}.
+ *
+ * The body is parsed incrementally, one element at a time, so a batch costs memory for a
+ * single event however large it is. Elements that do not bind or validate are rejected on
+ * their own. Reading stops at the first syntax error, since nothing after it can be trusted,
+ * and when the ingestion buffer fills, leaving the rest of the body for the caller to resend.
+ */
+@Component
+@Slf4j
+public class AuditBatchIngestor {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final AuditIngestionPipeline ingestionPipeline;
+    private final int maxErrors;
+
+    public AuditBatchIngestor(ObjectMapper objectMapper, Validator validator, AuditIngestionPipeline ingestionPipeline,
+                              @Value("${audit.ingest.batch-max-errors:100}") int maxErrors) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.ingestionPipeline = ingestionPipeline;
+        this.maxErrors = maxErrors;
+    }
+
+    public AuditBatchResponse ingest(InputStream body) throws IOException {
+        AuditBatchResponse response = new AuditBatchResponse();
+        int index = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            // An unclosed array fails in nextToken() like any other syntax error
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                if (!accept(parser, index, response)) {
+                    response.setRetryFrom(index);
+                    break;
+                }
+                index++;
+                token = parser.nextToken();
+            }
+        } catch (JsonParseException e) {
+            response.setError("Malformed JSON at element " + index + ", line " + e.getLocation().getLineNr()
+                    + ": " + e.getOriginalMessage());
+        }
+        log.debug("Audit batch read: accepted={}, rejected={}, retryFrom={}", response.getAccepted(),
+                response.getRejected(), response.getRetryFrom());
+        return response;
+    }
+
+    // Returns false only when the ingestion buffer is full
+    private boolean accept(JsonParser parser, int index, AuditBatchResponse response) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            reject(response, index, "Expected an object, found " + parser.currentToken());
+            return true;
+        }
+        JsonNode node = parser.readValueAsTree();
+        CreateAuditEventRequest request;
+        try {
+            request = objectMapper.treeToValue(node, CreateAuditEventRequest.class);
+        } catch (JsonProcessingException e) {
+            reject(response, index, e.getOriginalMessage());
+            return true;
+        }
+        Set<ConstraintViolation<CreateAuditEventRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            reject(response, index, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+            return true;
+        }
+        if (ingestionPipeline.offer(request) == null) {
+            return false;
+        }
+        response.setAccepted(response.getAccepted() + 1);
+        return true;
+    }
+
+    private void reject(AuditBatchResponse response, int index, String message) {
+        response.setRejected(response.getRejected() + 1);
+        if (response.getErrors().size() < maxErrors) {
+            response.getErrors().add(new AuditBatchResponse.ElementError(index, message));
+        }
+    }
+}
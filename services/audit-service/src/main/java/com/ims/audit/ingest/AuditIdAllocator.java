@@ -0,0 +1,70 @@
+package com.ims.audit.ingest;
+
+import com.ims.audit.entity.AuditEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out audit event ids from the same sequence Hibernate uses for the entity, one block
+ * of {@link AuditEvent#ID_ALLOCATION_SIZE} ids per sequence call. Each sequence value is the
+ * low end of its block (Hibernate's pooled-lo optimizer), so ids assigned here and by JPA
+ * inserts never collide. Ids are assigned when an event is accepted, so the ingestion
+ * pipeline can report them before the event is written.
+ *
+ * Ids are never reused once sealed into a segment file: at startup the segment store moves
+ * the sequence past every sealed id, since an in-memory database starts it over at 1.
+ */
+@Component
+public class AuditIdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextValueSql;
+
+    private long next;
+    private long limit;
+
+    public AuditIdAllocator(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextValueSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport()
+                .getSequenceNextValString(AuditEvent.ID_SEQUENCE);
+    }
+
+    public synchronized long next() {
+        if (next == limit) {
+            takeBlock(nextValue());
+        }
+        return next++;
+    }
+
+    /**
+     * Restarts the sequence above the given id if it has not passed it yet, so neither this
+     * allocator nor JPA inserts hand out an id at or below it.
+     */
+    public synchronized void advancePast(long id) {
+        long low = nextValue();
+        if (low > id) {
+            takeBlock(low);
+            return;
+        }
+        jdbcTemplate.execute("ALTER SEQUENCE " + AuditEvent.ID_SEQUENCE + " RESTART WITH " + (id + 1));
+        next = limit;
+    }
+
+    private void takeBlock(long low) {
+        next = low;
+        limit = low + AuditEvent.ID_ALLOCATION_SIZE;
+    }
+
+    private long nextValue() {
+        Long low = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+        if (low == null) {
+            throw new IllegalStateException("Sequence " + AuditEvent.ID_SEQUENCE + " returned no value");
+        }
+        return low;
+    }
+}
@@ -0,0 +1,256 @@
+package com.ims.audit.ingest;
+
+import com.ims.audit.dto.CreateAuditEventRequest;
+import com.ims.audit.entity.AuditEvent;
+import com.ims.audit.exception.IngestionBackpressureException;
+import com.ims.audit.repository.AuditEventRepository;
+import com.ims.audit.service.AuditRollups;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Accepts audit events into a bounded ring buffer and writes them to audit_events from a
+ * single flusher thread, so emitting services wait for neither a transaction nor an insert.
+ *
+ * The flusher writes a JDBC batch once {@code batch-size} events are waiting or the oldest
+ * waiting event is {@code flush-interval-ms} old. When the buffer is full, new events are
+ * rejected with {@link IngestionBackpressureException} (HTTP 429) rather than blocking the
+ * caller. A batch whose insert still fails after {@code max-flush-attempts} is written one
+ * event at a time, and only the events that fail alone are dropped and counted, so a bad
+ * event or an outage cannot stall ingestion.
+ *
+ * Ids come from {@link AuditIdAllocator} at acceptance, so callers learn them up front.
+ * Written events are counted in the {@link AuditRollups}.
+ * Accepted events live only in memory until flushed; those still buffered when the process
+ * dies are lost. Shutdown drains the buffer first.
+ */
+@Component
+@Slf4j
+public class AuditIngestionPipeline {
+
+    private final AuditEventRepository auditEventRepository;
+    private final AuditIdAllocator idAllocator;
+    private final AuditRollups auditRollups;
+    private final TransactionTemplate transactionTemplate;
+    private final MpscRingBuffer<AuditEvent> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final int maxFlushAttempts;
+    private final long retryAfterSeconds;
+
+    private final Counter acceptedCounter;
+    private final Counter flushedCounter;
+    private final Counter rejectedCounter;
+    private final Counter failedCounter;
+    private final Timer flushTimer;
+
+    private Thread flusher;
+    private volatile boolean running;
+
+    public AuditIngestionPipeline(AuditEventRepository auditEventRepository, AuditIdAllocator idAllocator,
+                                  AuditRollups auditRollups, TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${audit.ingest.capacity:65536}") int capacity,
+                                  @Value("${audit.ingest.batch-size:500}") int batchSize,
+                                  @Value("${audit.ingest.flush-interval-ms:50}") long flushIntervalMs,
+                                  @Value("${audit.ingest.max-flush-attempts:3}") int maxFlushAttempts,
+                                  @Value("${audit.ingest.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.auditEventRepository = auditEventRepository;
+        this.idAllocator = idAllocator;
+        this.auditRollups = auditRollups;
+        this.transactionTemplate = transactionTemplate;
+        this.buffer = new MpscRingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.maxFlushAttempts = maxFlushAttempts;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        Gauge.builder("audit.ingest.queue.depth", buffer, MpscRingBuffer::size)
+                .description("Audit events accepted and waiting to be flushed")
+                .register(meterRegistry);
+        Gauge.builder("audit.ingest.queue.capacity", buffer, MpscRingBuffer::capacity)
+                .description("Audit events the ingestion buffer can hold")
+                .register(meterRegistry);
+        this.acceptedCounter = Counter.builder("audit.ingest.accepted")
+                .description("Audit events accepted into the ingestion buffer")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("audit.ingest.flushed")
+                .description("Audit events written to the database")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("audit.ingest.dropped")
+                .tag("reason", "buffer-full")
+                .description("Audit events not stored")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("audit.ingest.dropped")
+                .tag("reason", "flush-failed")
+                .description("Audit events not stored")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("audit.ingest.flush")
+                .description("Time to write one batch of audit events")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher = new Thread(this::runFlusher, "audit-ingest-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Audit ingestion started: capacity={}, batchSize={}, flushIntervalMs={}", buffer.capacity(),
+                batchSize, TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(flusher);
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        log.info("Audit ingestion stopped: unflushed={}", buffer.size());
+    }
+
+    /**
+     * Accepts the event for writing, stamped with its id and the time of acceptance.
+     *
+     * @return the accepted event, not yet written
+     * @throws IngestionBackpressureException if the buffer is full
+     */
+    public AuditEvent submit(CreateAuditEventRequest request) {
+        AuditEvent event = offer(request);
+        if (event == null) {
+            throw new IngestionBackpressureException("Audit ingestion buffer is full, retry later", retryAfterSeconds);
+        }
+        return event;
+    }
+
+    /**
+     * Like {@link #submit} but reports a full buffer by returning null, for callers that
+     * accept many events and answer for all of them at once.
+     */
+    public AuditEvent offer(CreateAuditEventRequest request) {
+        AuditEvent event = toEntity(request, idAllocator.next(), LocalDateTime.now());
+        if (!buffer.offer(event)) {
+            rejectedCounter.increment();
+            return null;
+        }
+        acceptedCounter.increment();
+        // Wake the flusher as soon as a full batch is waiting rather than at the next interval
+        if (buffer.size() == batchSize) {
+            LockSupport.unpark(flusher);
+        }
+        return event;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    // ==================== Flusher ====================
+
+    private void runFlusher() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long batchStarted = 0;
+        while (running || buffer.size() > 0 || !batch.isEmpty()) {
+            boolean wasEmpty = batch.isEmpty();
+            buffer.drainTo(batch, batchSize - batch.size());
+            if (wasEmpty && !batch.isEmpty()) {
+                batchStarted = System.nanoTime();
+            }
+
+            long waited = System.nanoTime() - batchStarted;
+            if (batch.size() >= batchSize || (!batch.isEmpty() && (waited >= flushIntervalNanos || !running))) {
+                flush(batch);
+                batch.clear();
+            } else if (running) {
+                LockSupport.parkNanos(batch.isEmpty() ? flushIntervalNanos : flushIntervalNanos - waited);
+            }
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        for (int attempt = 1; ; attempt++) {
+            long started = System.nanoTime();
+            try {
+                transactionTemplate.executeWithoutResult(status -> auditEventRepository.insertBatch(batch));
+                auditRollups.record(batch);
+                flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                flushedCounter.increment(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxFlushAttempts) {
+                    log.warn("Audit flush failed {} times, writing the batch one event at a time: {}", attempt,
+                            e.getMessage());
+                    flushEach(batch);
+                    return;
+                }
+                log.warn("Audit flush attempt {} failed, retrying: {}", attempt, e.getMessage());
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100L * attempt));
+            }
+        }
+    }
+
+    // Isolates the events that cannot be written so the rest of the batch is kept
+    private void flushEach(List<AuditEvent> batch) {
+        int dropped = 0;
+        RuntimeException lastError = null;
+        for (AuditEvent event : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> auditEventRepository.insertBatch(List.of(event)));
+                auditRollups.record(event);
+                flushedCounter.increment();
+            } catch (RuntimeException e) {
+                dropped++;
+                lastError = e;
+            }
+        }
+        if (dropped > 0) {
+            failedCounter.increment(dropped);
+            log.error("Dropped {} of {} audit events that could not be written: {}", dropped, batch.size(),
+                    lastError.getMessage(), lastError);
+        }
+    }
+
+    private static AuditEvent toEntity(CreateAuditEventRequest request, long id, LocalDateTime timestamp) {
+        return AuditEvent.builder()
+                .id(id)
+                .eventType(request.getEventType())
+                .serviceName(request.getServiceName())
+                .correlationId(request.getCorrelationId())
+                .traceId(request.getTraceId())
+                .userId(request.getUserId())
+                .username(request.getUsername())
+                .userRole(request.getUserRole())
+                .httpMethod(request.getHttpMethod())
+                .requestPath(request.getRequestPath())
+                .clientIp(request.getClientIp())
+                .userAgent(request.getUserAgent())
+                .requestBody(request.getRequestBody())
+                .responseBody(request.getResponseBody())
+                .responseStatus(request.getResponseStatus())
+                .durationMs(request.getDurationMs())
+                .entityType(request.getEntityType())
+                .entityId(request.getEntityId())
+                .action(request.getAction())
+                .previousValue(request.getPreviousValue())
+                .newValue(request.getNewValue())
+                .errorMessage(request.getErrorMessage())
+                .stackTrace(request.getStackTrace())
+                .metadata(request.getMetadata())
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.ims.audit.ingest;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer, over a power-of-two
+ * array of slots.
+ *
+ * Producers claim a position by advancing the tail with a CAS, provided it is less than one
+ * lap ahead of the head, and then publish the element into the slot. The consumer takes
+ * published elements in position order, clears their slots and advances the head. A slot
+ * claimed but not yet published stops the drain until the producer finishes writing it.
+ */
+final class MpscRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // Written only by the consumer
+    private volatile long head;
+
+    MpscRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of two: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Adds the element unless the buffer is full. Safe to call from any thread.
+     */
+    boolean offer(E element) {
+        long position;
+        do {
+            position = tail.get();
+            if (position - head > mask) {
+                return false;
+            }
+        } while (!tail.compareAndSet(position, position + 1));
+        slots.setRelease((int) position & mask, element);
+        return true;
+    }
+
+    /**
+     * Moves up to {@code max} elements into {@code target}, oldest first. Consumer thread only.
+     */
+    int drainTo(Collection<? super E> target, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) position & mask;
+            E element = slots.getAcquire(index);
+            if (element == null) {
+                break;
+            }
+            slots.setRelease(index, null);
+            target.add(element);
+            position++;
+            drained++;
+        }
+        // Publishes the cleared slots to producers
+        head = position;
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,21 @@
+package com.ims.audit.repository;
+
+import com.ims.audit.entity.AuditEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface AuditEventBatchRepository {
+
+    /**
+     * Inserts the events, ids already assigned, with one JDBC batch statement.
+     */
+    void insertBatch(List<AuditEvent> events);
+
+    /**
+     * Streams the events with timestamps in [from, to) that are not yet in a segment file to
+     * the action in timestamp and id order, without holding them in a persistence context.
+     */
+    void forEachInWindow(LocalDateTime from, LocalDateTime to, Consumer<AuditEvent> action);
+}
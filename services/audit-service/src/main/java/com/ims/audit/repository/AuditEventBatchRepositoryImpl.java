@@ -0,0 +1,90 @@
+package com.ims.audit.repository;
+
+import com.ims.audit.entity.AuditEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class AuditEventBatchRepositoryImpl implements AuditEventBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO audit_events (id, event_type, service_name, correlation_id, " +
+            "trace_id, user_id, username, user_role, http_method, request_path, client_ip, user_agent, request_body, " +
+            "response_body, response_status, duration_ms, entity_type, entity_id, action, previous_value, " +
+            "new_value, error_message, stack_trace, metadata, timestamp) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String WINDOW_SQL = "SELECT id, event_type, service_name, correlation_id, trace_id, user_id, " +
+            "username, user_role, http_method, request_path, client_ip, user_agent, request_body, response_body, " +
+            "response_status, duration_ms, entity_type, entity_id, action, previous_value, new_value, error_message, " +
+            "stack_trace, metadata, timestamp FROM audit_events WHERE timestamp >= ? AND timestamp < ? " +
+            "AND sealed_generation IS NULL ORDER BY timestamp, id";
+
+    private static final int WINDOW_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertBatch(List<AuditEvent> events) {
+        List<Object[]> args = new ArrayList<>(events.size());
+        for (AuditEvent event : events) {
+            args.add(new Object[]{event.getId(), event.getEventType(), event.getServiceName(), event.getCorrelationId(),
+                    event.getTraceId(), event.getUserId(), event.getUsername(), event.getUserRole(),
+                    event.getHttpMethod(), event.getRequestPath(), event.getClientIp(), event.getUserAgent(),
+                    event.getRequestBody(), event.getResponseBody(), event.getResponseStatus(),
+                    event.getDurationMs(), event.getEntityType(), event.getEntityId(), event.getAction(),
+                    event.getPreviousValue(), event.getNewValue(), event.getErrorMessage(), event.getStackTrace(),
+                    event.getMetadata(), event.getTimestamp()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+
+    @Override
+    public void forEachInWindow(LocalDateTime from, LocalDateTime to, Consumer<AuditEvent> action) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(WINDOW_SQL);
+            statement.setFetchSize(WINDOW_FETCH_SIZE);
+            statement.setObject(1, from);
+            statement.setObject(2, to);
+            return statement;
+        }, (RowCallbackHandler) rs -> action.accept(mapRow(rs)));
+    }
+
+    private static AuditEvent mapRow(ResultSet rs) throws SQLException {
+        return AuditEvent.builder()
+                .id(rs.getLong("id"))
+                .eventType(rs.getString("event_type"))
+                .serviceName(rs.getString("service_name"))
+                .correlationId(rs.getString("correlation_id"))
+                .traceId(rs.getString("trace_id"))
+                .userId(rs.getObject("user_id", Long.class))
+                .username(rs.getString("username"))
+                .userRole(rs.getString("user_role"))
+                .httpMethod(rs.getString("http_method"))
+                .requestPath(rs.getString("request_path"))
+                .clientIp(rs.getString("client_ip"))
+                .userAgent(rs.getString("user_agent"))
+                .requestBody(rs.getString("request_body"))
+                .responseBody(rs.getString("response_body"))
+                .responseStatus(rs.getObject("response_status", Integer.class))
+                .durationMs(rs.getObject("duration_ms", Long.class))
+                .entityType(rs.getString("entity_type"))
+                .entityId(rs.getObject("entity_id", Long.class))
+                .action(rs.getString("action"))
+                .previousValue(rs.getString("previous_value"))
+                .newValue(rs.getString("new_value"))
+                .errorMessage(rs.getString("error_message"))
+                .stackTrace(rs.getString("stack_trace"))
+                .metadata(rs.getString("metadata"))
+                .timestamp(rs.getObject("timestamp", LocalDateTime.class))
+                .build();
+    }
+}
@@ -4,28 +4,22 @@ import com.ims.audit.entity.AuditEvent;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface AuditEventRepository extends JpaRepository<AuditEvent, Long> {
+public interface AuditEventRepository extends JpaRepository<AuditEvent, Long>, AuditEventBatchRepository {
     
     List<AuditEvent> findByCorrelationId(String correlationId);
     
-    Page<AuditEvent> findByUserId(Long userId, Pageable pageable);
-    
     Page<AuditEvent> findByUsername(String username, Pageable pageable);
     
-    Page<AuditEvent> findByServiceName(String serviceName, Pageable pageable);
-    
-    Page<AuditEvent> findByEventType(String eventType, Pageable pageable);
-    
-    Page<AuditEvent> findByEntityTypeAndEntityId(String entityType, Long entityId, Pageable pageable);
-    
     Page<AuditEvent> findByTimestampBetween(LocalDateTime start, LocalDateTime end, Pageable pageable);
     
     @Query("SELECT a FROM AuditEvent a WHERE " +
@@ -37,7 +31,8 @@ public interface AuditEventRepository extends JpaRepository<AuditEvent, Long> {
            "(:entityId IS NULL OR a.entityId = :entityId) AND " +
            "(:action IS NULL OR a.action = :action) AND " +
            "(:startDate IS NULL OR a.timestamp >= :startDate) AND " +
-           "(:endDate IS NULL OR a.timestamp <= :endDate)")
+           "(:endDate IS NULL OR a.timestamp <= :endDate) AND " +
+           "(a.sealedGeneration IS NULL OR a.sealedGeneration > :sealedGeneration)")
     Page<AuditEvent> searchAuditEvents(
         @Param("serviceName") String serviceName,
         @Param("eventType") String eventType,
@@ -48,35 +43,59 @@ public interface AuditEventRepository extends JpaRepository<AuditEvent, Long> {
         @Param("action") String action,
         @Param("startDate") LocalDateTime startDate,
         @Param("endDate") LocalDateTime endDate,
+        @Param("sealedGeneration") long sealedGeneration,
         Pageable pageable
     );
     
-    @Query("SELECT a.eventType, COUNT(a) FROM AuditEvent a " +
-           "WHERE a.timestamp >= :since GROUP BY a.eventType ORDER BY COUNT(a) DESC")
-    List<Object[]> countByEventTypeSince(@Param("since") LocalDateTime since);
+    @Query("SELECT a FROM AuditEvent a WHERE a.responseStatus >= 400 AND a.timestamp >= :since AND " +
+           "(a.sealedGeneration IS NULL OR a.sealedGeneration > :sealedGeneration) ORDER BY a.timestamp DESC, a.id DESC")
+    Page<AuditEvent> findErrorsSince(@Param("since") LocalDateTime since,
+                                     @Param("sealedGeneration") long sealedGeneration, Pageable pageable);
     
-    @Query("SELECT a.serviceName, COUNT(a) FROM AuditEvent a " +
-           "WHERE a.timestamp >= :since GROUP BY a.serviceName ORDER BY COUNT(a) DESC")
-    List<Object[]> countByServiceSince(@Param("since") LocalDateTime since);
+    // Exact dashboard activity, used when audit.sketches.enabled is false
     
     @Query("SELECT a.username, COUNT(a) FROM AuditEvent a " +
-           "WHERE a.timestamp >= :since AND a.username IS NOT NULL " +
-           "GROUP BY a.username ORDER BY COUNT(a) DESC")
-    List<Object[]> countByUserSince(@Param("since") LocalDateTime since);
+           "WHERE a.timestamp >= :since AND a.username IS NOT NULL AND " +
+           "(a.sealedGeneration IS NULL OR a.sealedGeneration > :sealedGeneration) GROUP BY a.username")
+    List<Object[]> countByUserSince(@Param("since") LocalDateTime since,
+                                  @Param("sealedGeneration") long sealedGeneration);
+    
+    @Query("SELECT a.requestPath, COUNT(a) FROM AuditEvent a " +
+           "WHERE a.timestamp >= :since AND a.requestPath IS NOT NULL AND " +
+           "(a.sealedGeneration IS NULL OR a.sealedGeneration > :sealedGeneration) GROUP BY a.requestPath")
+    List<Object[]> countByRequestPathSince(@Param("since") LocalDateTime since,
+                                  @Param("sealedGeneration") long sealedGeneration);
+    
+    @Query("SELECT a.clientIp, COUNT(a) FROM AuditEvent a " +
+           "WHERE a.timestamp >= :since AND a.clientIp IS NOT NULL AND " +
+           "(a.sealedGeneration IS NULL OR a.sealedGeneration > :sealedGeneration) GROUP BY a.clientIp")
+    List<Object[]> countByClientIpSince(@Param("since") LocalDateTime since,
+                                  @Param("sealedGeneration") long sealedGeneration);
     
     @Query("SELECT a.action, COUNT(a) FROM AuditEvent a " +
-           "WHERE a.timestamp >= :since AND a.action IS NOT NULL " +
-           "GROUP BY a.action ORDER BY COUNT(a) DESC")
-    List<Object[]> countByActionSince(@Param("since") LocalDateTime since);
-    
-    @Query("SELECT a FROM AuditEvent a WHERE a.responseStatus >= 400 AND a.timestamp >= :since ORDER BY a.timestamp DESC")
-    Page<AuditEvent> findErrorsSince(@Param("since") LocalDateTime since, Pageable pageable);
-    
-    @Query("SELECT DATE(a.timestamp), COUNT(a) FROM AuditEvent a " +
-           "WHERE a.timestamp >= :since GROUP BY DATE(a.timestamp) ORDER BY DATE(a.timestamp)")
-    List<Object[]> countByDateSince(@Param("since") LocalDateTime since);
-    
-    Long countByTimestampAfter(LocalDateTime since);
-    
-    Long countByResponseStatusGreaterThanEqualAndTimestampAfter(Integer status, LocalDateTime since);
+           "WHERE a.timestamp >= :since AND a.action IS NOT NULL AND " +
+           "(a.sealedGeneration IS NULL OR a.sealedGeneration > :sealedGeneration) GROUP BY a.action")
+    List<Object[]> countByActionSince(@Param("since") LocalDateTime since,
+                                  @Param("sealedGeneration") long sealedGeneration);
+    
+    @Query("SELECT MIN(a.timestamp) FROM AuditEvent a WHERE a.sealedGeneration IS NULL AND " +
+           "(:from IS NULL OR a.timestamp >= :from) AND a.timestamp < :before")
+    LocalDateTime findOldestUnsealedBetween(@Param("from") LocalDateTime from, @Param("before") LocalDateTime before);
+    
+    long countByIdBetween(long minId, long maxId);
+    
+    // Marks rows copied into a segment file; they stay visible to readers of older catalogs
+    @Modifying
+    @Query("UPDATE AuditEvent a SET a.sealedGeneration = :generation WHERE a.id IN :ids")
+    int markSealed(@Param("ids") Collection<Long> ids, @Param("generation") long generation);
+    
+    // Removes the rows of segment files published up to the given generation
+    @Modifying
+    @Query("DELETE FROM AuditEvent a WHERE a.sealedGeneration <= :generation")
+    int deleteSealed(@Param("generation") long generation);
+    
+    // Generations only mean something to the process that assigned them
+    @Modifying
+    @Query("UPDATE AuditEvent a SET a.sealedGeneration = NULL WHERE a.sealedGeneration IS NOT NULL")
+    int clearSealedGenerations();
 }
@@ -0,0 +1,13 @@
+package com.ims.audit.repository;
+
+import com.ims.audit.entity.AuditMinuteRollup;
+
+import java.util.List;
+
+public interface AuditMinuteRollupBatchRepository {
+
+    /**
+     * Inserts the rollup rows with one JDBC batch statement.
+     */
+    void insertBatch(List<AuditMinuteRollup> rollups);
+}
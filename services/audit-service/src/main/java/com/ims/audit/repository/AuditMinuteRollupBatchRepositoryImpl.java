@@ -0,0 +1,27 @@
+package com.ims.audit.repository;
+
+import com.ims.audit.entity.AuditMinuteRollup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class AuditMinuteRollupBatchRepositoryImpl implements AuditMinuteRollupBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO audit_minute_rollups (rollup_minute, dimension, dimension_key, " +
+            "event_count) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertBatch(List<AuditMinuteRollup> rollups) {
+        List<Object[]> args = new ArrayList<>(rollups.size());
+        for (AuditMinuteRollup rollup : rollups) {
+            args.add(new Object[]{rollup.getMinute(), rollup.getDimension().name(), rollup.getDimensionKey(),
+                    rollup.getEventCount()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+}
@@ -0,0 +1,26 @@
+package com.ims.audit.repository;
+
+import com.ims.audit.entity.AuditMinuteRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AuditMinuteRollupRepository extends JpaRepository<AuditMinuteRollup, Long>, AuditMinuteRollupBatchRepository {
+    
+    List<AuditMinuteRollup> findByMinuteGreaterThanEqual(LocalDateTime since);
+    
+    @Modifying
+    @Query("DELETE FROM AuditMinuteRollup r WHERE r.minute IN :minutes")
+    int deleteByMinuteIn(@Param("minutes") Collection<LocalDateTime> minutes);
+    
+    @Modifying
+    @Query("DELETE FROM AuditMinuteRollup r WHERE r.minute < :before")
+    int deleteByMinuteBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,26 @@
+package com.ims.audit.repository;
+
+import com.ims.audit.entity.AuditSketchBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AuditSketchBucketRepository extends JpaRepository<AuditSketchBucket, Long> {
+    
+    List<AuditSketchBucket> findByBucketStartGreaterThanEqual(LocalDateTime since);
+    
+    @Modifying
+    @Query("DELETE FROM AuditSketchBucket b WHERE b.bucketStart IN :bucketStarts")
+    int deleteByBucketStartIn(@Param("bucketStarts") Collection<LocalDateTime> bucketStarts);
+    
+    @Modifying
+    @Query("DELETE FROM AuditSketchBucket b WHERE b.bucketStart < :before")
+    int deleteByBucketStartBefore(@Param("before") LocalDateTime before);
+}
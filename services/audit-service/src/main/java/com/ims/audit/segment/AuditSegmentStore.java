@@ -0,0 +1,408 @@
+package com.ims.audit.segment;
+
+import com.ims.audit.entity.AuditEvent;
+import com.ims.audit.ingest.AuditIdAllocator;
+import com.ims.audit.repository.AuditEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Time-partitioned storage for audit events. The audit_events table is the hot segment: it
+ * takes every insert. Once a partition ({@code partition}, hourly by default) has been over
+ * for {@code seal-delay}, its rows are sealed into a compressed file on local disk (see
+ * {@link SegmentFormat}) and removed from the table. Files whose events are all older than
+ * {@code retention} are deleted.
+ *
+ * Sealing marks the rows it copied with a generation before publishing the file, and a
+ * {@link Catalog} holds every row up to its {@link Catalog#sealedGeneration()}: queries read
+ * its files plus the table rows that are unmarked or of a later generation, both through the
+ * same catalog. Rows stay in the table until the run after their file is published, so
+ * readers holding the previous catalog still find them. Queries with a time window open only
+ * the files that overlap it, and inside a file only the row groups that do.
+ *
+ * Events flushed to the table after their partition was sealed stay visible from the table
+ * until the next run seals them into another file for that partition. Generations live only
+ * as long as the process; at startup the store removes rows a previous run sealed but did
+ * not delete, by the ids in its files, and moves the id sequence past every sealed id.
+ */
+@Component
+@Slf4j
+public class AuditSegmentStore {
+
+    public static final Comparator<AuditEvent> NEWEST_FIRST = Comparator.comparing(AuditEvent::getTimestamp)
+            .thenComparing(AuditEvent::getId)
+            .reversed();
+
+    // Ids per statement when marking or deleting rows by id
+    private static final int ID_CHUNK_SIZE = 1000;
+
+    private final AuditEventRepository auditEventRepository;
+    private final AuditIdAllocator idAllocator;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Path directory;
+    private final Duration partition;
+    private final Duration sealDelay;
+    private final Duration retention;
+    private final int rowGroupSize;
+
+    private final Counter sealedCounter;
+    private final Counter expiredCounter;
+    private final Counter scannedCounter;
+    private final Timer sealTimer;
+
+    private volatile Catalog catalog = new Catalog(List.of(), 0);
+
+    public AuditSegmentStore(AuditEventRepository auditEventRepository, AuditIdAllocator idAllocator,
+                             TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                             @Value("${audit.segments.enabled:true}") boolean enabled,
+                             @Value("${audit.segments.directory:data/audit-segments}") String directory,
+                             @Value("${audit.segments.partition:1h}") Duration partition,
+                             @Value("${audit.segments.seal-delay:10m}") Duration sealDelay,
+                             @Value("${audit.segments.retention:30d}") Duration retention,
+                             @Value("${audit.segments.row-group-size:10000}") int rowGroupSize) {
+        if (partition.isZero() || partition.isNegative() || Duration.ofDays(1).toNanos() % partition.toNanos() != 0) {
+            throw new IllegalArgumentException("audit.segments.partition must divide a day evenly: " + partition);
+        }
+        this.auditEventRepository = auditEventRepository;
+        this.idAllocator = idAllocator;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.partition = partition;
+        this.sealDelay = sealDelay;
+        this.retention = retention;
+        this.rowGroupSize = rowGroupSize;
+
+        Gauge.builder("audit.segments.files", this, store -> store.catalog.files.size())
+                .description("Sealed audit segment files on disk")
+                .register(meterRegistry);
+        Gauge.builder("audit.segments.size", this,
+                        store -> store.catalog.files.stream().mapToLong(SegmentFile::sizeBytes).sum())
+                .description("Bytes of sealed audit segment files on disk")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.sealedCounter = Counter.builder("audit.segments.sealed")
+                .description("Audit events moved from the table into segment files")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("audit.segments.expired")
+                .description("Segment files deleted past retention")
+                .register(meterRegistry);
+        this.scannedCounter = Counter.builder("audit.segments.scanned")
+                .description("Segment files opened by queries")
+                .register(meterRegistry);
+        this.sealTimer = Timer.builder("audit.segments.seal")
+                .description("Time to seal one partition into a segment file")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Segment files and the last generation of table rows they hold. An unchanging view: the
+     * store publishes a new one after each change.
+     */
+    public record Catalog(List<SegmentFile> files, long sealedGeneration) {
+
+        /**
+         * Whether a table row is read from the table rather than from this catalog's files.
+         */
+        public boolean isUnsealed(AuditEvent event) {
+            return event.getSealedGeneration() == null || event.getSealedGeneration() > sealedGeneration;
+        }
+    }
+
+    /**
+     * Events of one query page, newest first, and how many events match in total.
+     */
+    public record Matches(List<AuditEvent> events, long total) {}
+
+    public Catalog catalog() {
+        return catalog;
+    }
+
+    // ==================== Sealing ====================
+
+    @PostConstruct
+    public void load() throws IOException {
+        Files.createDirectories(directory);
+        List<SegmentFile> files = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path path : entries) {
+                String name = path.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    // Left by a run that did not finish
+                    Files.deleteIfExists(path);
+                } else if (name.endsWith(SegmentFormat.EXTENSION)) {
+                    try {
+                        files.add(SegmentReader.readFooter(path));
+                    } catch (IOException e) {
+                        log.error("Skipping unreadable audit segment {}: {}", path, e.getMessage());
+                    }
+                }
+            }
+        }
+        publish(files, 0);
+        if (!files.isEmpty()) {
+            idAllocator.advancePast(files.stream().mapToLong(SegmentFile::maxId).max().getAsLong());
+        }
+        removeRowsSealedBefore(files);
+        log.info("Audit segments loaded: files={}, directory={}", files.size(), directory.toAbsolutePath());
+    }
+
+    // A previous run may have stopped after sealing a partition but before removing its rows
+    private void removeRowsSealedBefore(List<SegmentFile> files) throws IOException {
+        for (SegmentFile file : files) {
+            if (auditEventRepository.countByIdBetween(file.minId(), file.maxId()) == 0) {
+                continue;
+            }
+            List<Long> ids = new ArrayList<>();
+            SegmentReader.scan(file, null, null, event -> ids.add(event.getId()));
+            int deleted = 0;
+            for (List<Long> chunk : chunks(ids)) {
+                deleted += transactionTemplate.execute(status -> {
+                    auditEventRepository.deleteAllByIdInBatch(chunk);
+                    return chunk.size();
+                });
+            }
+            log.info("Removed up to {} leftover rows of audit segment {}", deleted, file.path().getFileName());
+        }
+        transactionTemplate.executeWithoutResult(status -> auditEventRepository.clearSealedGenerations());
+    }
+
+    @Scheduled(fixedDelayString = "${audit.segments.seal-interval-ms:60000}",
+               initialDelayString = "${audit.segments.seal-interval-ms:60000}")
+    public synchronized void seal() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long published = catalog.sealedGeneration;
+            int deleted = transactionTemplate.execute(status -> auditEventRepository.deleteSealed(published));
+            log.debug("Removed {} sealed rows up to generation {}", deleted, published);
+            // Each partition is sealed at most once per run; rows flushed meanwhile wait for the next
+            LocalDateTime cutoff = windowStart(LocalDateTime.now().minus(sealDelay));
+            LocalDateTime after = null;
+            LocalDateTime oldest;
+            while ((oldest = auditEventRepository.findOldestUnsealedBetween(after, cutoff)) != null) {
+                LocalDateTime windowStart = windowStart(oldest);
+                sealWindow(windowStart);
+                after = windowStart.plus(partition);
+            }
+            expire();
+        } catch (IOException | RuntimeException e) {
+            log.error("Sealing audit segments failed, retrying next run: {}", e.getMessage(), e);
+        }
+    }
+
+    private void sealWindow(LocalDateTime windowStart) throws IOException {
+        long started = System.nanoTime();
+        SegmentWriter writer = new SegmentWriter(directory, windowStart, rowGroupSize);
+        List<Long> ids = new ArrayList<>();
+        SegmentFile file;
+        try {
+            auditEventRepository.forEachInWindow(windowStart, windowStart.plus(partition), event -> {
+                try {
+                    writer.append(event);
+                    ids.add(event.getId());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            file = writer.finish();
+        } catch (UncheckedIOException e) {
+            writer.abort();
+            throw e.getCause();
+        } catch (IOException | RuntimeException e) {
+            writer.abort();
+            throw e;
+        }
+
+        // Marked rows stay visible to the current catalog, which does not have the file yet
+        long generation = catalog.sealedGeneration + 1;
+        transactionTemplate.executeWithoutResult(status -> {
+            for (List<Long> chunk : chunks(ids)) {
+                auditEventRepository.markSealed(chunk, generation);
+            }
+        });
+        List<SegmentFile> files = new ArrayList<>(catalog.files);
+        files.add(file);
+        publish(files, generation);
+        sealTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        sealedCounter.increment(file.rows());
+        log.info("Sealed audit segment {}: events={}, rowGroups={}, bytes={}", file.path().getFileName(),
+                file.rows(), file.rowGroups(), file.sizeBytes());
+    }
+
+    private void expire() throws IOException {
+        LocalDateTime limit = LocalDateTime.now().minus(retention);
+        List<SegmentFile> kept = new ArrayList<>();
+        List<SegmentFile> expired = new ArrayList<>();
+        for (SegmentFile file : catalog.files) {
+            (file.maxTimestamp().isBefore(limit) ? expired : kept).add(file);
+        }
+        if (expired.isEmpty()) {
+            return;
+        }
+        publish(kept, catalog.sealedGeneration);
+        for (SegmentFile file : expired) {
+            Files.deleteIfExists(file.path());
+        }
+        expiredCounter.increment(expired.size());
+        log.info("Deleted {} audit segments older than {}", expired.size(), limit);
+    }
+
+    private void publish(List<SegmentFile> files, long sealedGeneration) {
+        files.sort(Comparator.comparing(SegmentFile::windowStart).thenComparing(SegmentFile::minId));
+        catalog = new Catalog(Collections.unmodifiableList(files), sealedGeneration);
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + ID_CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+
+    // Partitions are aligned to midnight, reading the local date-time as UTC
+    private LocalDateTime windowStart(LocalDateTime timestamp) {
+        long nanos = SegmentFormat.toNanos(timestamp);
+        return SegmentFormat.fromNanos(nanos - Math.floorMod(nanos, partition.toNanos()));
+    }
+
+    // ==================== Queries ====================
+
+    /**
+     * Finds sealed events in [from, to), null bounds open, that pass the filter (null matches
+     * all), newest first. Returns at most {@code limit} of them after skipping {@code skip},
+     * along with the total number of matches.
+     */
+    public Matches find(Catalog catalog, LocalDateTime from, LocalDateTime to, Predicate<AuditEvent> filter,
+                        long skip, int limit) {
+        List<AuditEvent> events = new ArrayList<>();
+        long total = 0;
+        long end = skip + limit;
+        for (List<SegmentFile> window : overlappingWindowsNewestFirst(catalog, from, to)) {
+            SegmentFile single = window.size() == 1 ? window.get(0) : null;
+            if (filter == null && single != null && single.within(from, to)) {
+                // Counted from the footer; only row groups holding the requested rows are read
+                long rows = single.rows();
+                long wantFrom = Math.max(skip, total);
+                long wantTo = Math.min(end, total + rows);
+                if (wantFrom < wantTo) {
+                    List<AuditEvent> part = new ArrayList<>();
+                    read(single, rows - (wantTo - total), rows - (wantFrom - total), part::add);
+                    Collections.reverse(part);
+                    events.addAll(part);
+                }
+                total += rows;
+                continue;
+            }
+            List<AuditEvent> matches = new ArrayList<>();
+            for (SegmentFile file : window) {
+                scan(file, from, to, event -> {
+                    if (filter == null || filter.test(event)) {
+                        matches.add(event);
+                    }
+                });
+            }
+            matches.sort(NEWEST_FIRST);
+            for (AuditEvent event : matches) {
+                if (total >= skip && total < end) {
+                    events.add(event);
+                }
+                total++;
+            }
+        }
+        return new Matches(events, total);
+    }
+
+    /**
+     * Passes every sealed event in [from, to), null bounds open, to the action, in no
+     * particular order.
+     */
+    public void forEach(Catalog catalog, LocalDateTime from, LocalDateTime to, Consumer<AuditEvent> action) {
+        for (SegmentFile file : catalog.files) {
+            if (file.overlaps(from, to)) {
+                scan(file, from, to, action);
+            }
+        }
+    }
+
+    public Optional<AuditEvent> findById(Catalog catalog, long id) {
+        List<AuditEvent> found = new ArrayList<>(1);
+        for (SegmentFile file : catalog.files) {
+            if (id >= file.minId() && id <= file.maxId()) {
+                scan(file, null, null, event -> {
+                    if (event.getId() == id) {
+                        found.add(event);
+                    }
+                });
+                if (!found.isEmpty()) {
+                    return Optional.of(found.get(0));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private List<List<SegmentFile>> overlappingWindowsNewestFirst(Catalog catalog, LocalDateTime from,
+                                                                  LocalDateTime to) {
+        TreeMap<LocalDateTime, List<SegmentFile>> windows = new TreeMap<>(Comparator.reverseOrder());
+        for (SegmentFile file : catalog.files) {
+            if (file.overlaps(from, to)) {
+                windows.computeIfAbsent(file.windowStart(), start -> new ArrayList<>()).add(file);
+            }
+        }
+        return new ArrayList<>(windows.values());
+    }
+
+    // A file deleted past retention while a query held the old catalog has nothing left to match
+    private void scan(SegmentFile file, LocalDateTime from, LocalDateTime to, Consumer<AuditEvent> action) {
+        scannedCounter.increment();
+        try {
+            SegmentReader.scan(file, from, to, action);
+        } catch (NoSuchFileException e) {
+            log.debug("Audit segment {} expired during a query", file.path().getFileName());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Reading audit segment " + file.path() + " failed", e);
+        }
+    }
+
+    private void read(SegmentFile file, long fromRow, long toRow, Consumer<AuditEvent> action) {
+        scannedCounter.increment();
+        try {
+            SegmentReader.read(file, fromRow, toRow, action);
+        } catch (NoSuchFileException e) {
+            log.debug("Audit segment {} expired during a query", file.path().getFileName());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Reading audit segment " + file.path() + " failed", e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.ims.audit.segment;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * A sealed segment on disk, described by its footer.
+ *
+ * @param windowStart start of the partition the events belong to
+ * @param minTimestamp oldest event timestamp in the file
+ * @param maxTimestamp newest event timestamp in the file
+ */
+public record SegmentFile(Path path, LocalDateTime windowStart, LocalDateTime minTimestamp,
+                          LocalDateTime maxTimestamp, long minId, long maxId, long rows, int rowGroups,
+                          long sizeBytes) {
+
+    /**
+     * Whether any event may fall in [from, to); null bounds are open.
+     */
+    boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        return (from == null || !maxTimestamp.isBefore(from)) && (to == null || minTimestamp.isBefore(to));
+    }
+
+    /**
+     * Whether every event falls in [from, to); null bounds are open.
+     */
+    boolean within(LocalDateTime from, LocalDateTime to) {
+        return (from == null || !minTimestamp.isBefore(from)) && (to == null || maxTimestamp.isBefore(to));
+    }
+}
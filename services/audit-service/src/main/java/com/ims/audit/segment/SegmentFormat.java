@@ -0,0 +1,163 @@
+package com.ims.audit.segment;
+
+import com.ims.audit.entity.AuditEvent;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * On-disk layout of a sealed audit segment:
+ *
+ * <pre>
+ * magic
+ * row group*:  rows:int  minTimestamp:long  maxTimestamp:long  length:int  deflated columns[length]
+ * footer:      windowStart minTimestamp maxTimestamp minId maxId rows:long  rowGroups:int  magic
+ * </pre>
+ *
+ * Rows are in timestamp order. Inside a row group each column is written for all rows before
+ * the next, so similar values sit together and compress well: ids and timestamps as deltas,
+ * text as length-prefixed UTF-8. Row group headers carry the timestamp range and row count,
+ * so readers skip groups outside a query without inflating them. Timestamps are nanoseconds
+ * since the epoch, reading the local date-time as UTC.
+ */
+final class SegmentFormat {
+
+    static final long MAGIC = 0x494D534155445347L; // "IMSAUDSG"
+    static final int FOOTER_SIZE = 6 * Long.BYTES + Integer.BYTES + Long.BYTES;
+    static final String EXTENSION = ".seg";
+
+    private static final int NULL_LENGTH = -1;
+
+    private static final List<Column<String>> TEXT_COLUMNS = List.of(
+            new Column<>(AuditEvent::getEventType, AuditEvent::setEventType),
+            new Column<>(AuditEvent::getServiceName, AuditEvent::setServiceName),
+            new Column<>(AuditEvent::getCorrelationId, AuditEvent::setCorrelationId),
+            new Column<>(AuditEvent::getTraceId, AuditEvent::setTraceId),
+            new Column<>(AuditEvent::getUsername, AuditEvent::setUsername),
+            new Column<>(AuditEvent::getUserRole, AuditEvent::setUserRole),
+            new Column<>(AuditEvent::getHttpMethod, AuditEvent::setHttpMethod),
+            new Column<>(AuditEvent::getRequestPath, AuditEvent::setRequestPath),
+            new Column<>(AuditEvent::getClientIp, AuditEvent::setClientIp),
+            new Column<>(AuditEvent::getUserAgent, AuditEvent::setUserAgent),
+            new Column<>(AuditEvent::getRequestBody, AuditEvent::setRequestBody),
+            new Column<>(AuditEvent::getResponseBody, AuditEvent::setResponseBody),
+            new Column<>(AuditEvent::getEntityType, AuditEvent::setEntityType),
+            new Column<>(AuditEvent::getAction, AuditEvent::setAction),
+            new Column<>(AuditEvent::getPreviousValue, AuditEvent::setPreviousValue),
+            new Column<>(AuditEvent::getNewValue, AuditEvent::setNewValue),
+            new Column<>(AuditEvent::getErrorMessage, AuditEvent::setErrorMessage),
+            new Column<>(AuditEvent::getStackTrace, AuditEvent::setStackTrace),
+            new Column<>(AuditEvent::getMetadata, AuditEvent::setMetadata));
+
+    private static final List<Column<Long>> NUMBER_COLUMNS = List.of(
+            new Column<>(AuditEvent::getUserId, AuditEvent::setUserId),
+            new Column<>(AuditEvent::getDurationMs, AuditEvent::setDurationMs),
+            new Column<>(AuditEvent::getEntityId, AuditEvent::setEntityId),
+            new Column<>(event -> event.getResponseStatus() == null ? null : event.getResponseStatus().longValue(),
+                    (event, status) -> event.setResponseStatus(status == null ? null : status.intValue())));
+
+    private SegmentFormat() {
+    }
+
+    static long toNanos(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + timestamp.getNano();
+    }
+
+    static LocalDateTime fromNanos(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    static byte[] encodeRowGroup(List<AuditEvent> events) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(bytes)))) {
+            long previous = 0;
+            for (AuditEvent event : events) {
+                out.writeLong(event.getId() - previous);
+                previous = event.getId();
+            }
+            previous = 0;
+            for (AuditEvent event : events) {
+                long nanos = toNanos(event.getTimestamp());
+                out.writeLong(nanos - previous);
+                previous = nanos;
+            }
+            for (Column<String> column : TEXT_COLUMNS) {
+                for (AuditEvent event : events) {
+                    writeText(out, column.getter.apply(event));
+                }
+            }
+            for (Column<Long> column : NUMBER_COLUMNS) {
+                for (AuditEvent event : events) {
+                    Long value = column.getter.apply(event);
+                    out.writeBoolean(value != null);
+                    if (value != null) {
+                        out.writeLong(value);
+                    }
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    static List<AuditEvent> decodeRowGroup(byte[] deflated, int rows) throws IOException {
+        List<AuditEvent> events = new ArrayList<>(rows);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new InflaterInputStream(new ByteArrayInputStream(deflated))))) {
+            long value = 0;
+            for (int i = 0; i < rows; i++) {
+                AuditEvent event = new AuditEvent();
+                value += in.readLong();
+                event.setId(value);
+                events.add(event);
+            }
+            value = 0;
+            for (AuditEvent event : events) {
+                value += in.readLong();
+                event.setTimestamp(fromNanos(value));
+            }
+            for (Column<String> column : TEXT_COLUMNS) {
+                for (AuditEvent event : events) {
+                    column.setter.accept(event, readText(in));
+                }
+            }
+            for (Column<Long> column : NUMBER_COLUMNS) {
+                for (AuditEvent event : events) {
+                    column.setter.accept(event, in.readBoolean() ? in.readLong() : null);
+                }
+            }
+        }
+        return events;
+    }
+
+    private static void writeText(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readText(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        return length == NULL_LENGTH ? null : new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private record Column<T>(Function<AuditEvent, T> getter, BiConsumer<AuditEvent, T> setter) {}
+}
@@ -0,0 +1,103 @@
+package com.ims.audit.segment;
+
+import com.ims.audit.entity.AuditEvent;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads sealed segment files, inflating only the row groups a query needs.
+ */
+final class SegmentReader {
+
+    private SegmentReader() {
+    }
+
+    static SegmentFile readFooter(Path path) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+            long size = file.length();
+            if (size < Long.BYTES + SegmentFormat.FOOTER_SIZE) {
+                throw new IOException("Segment file is truncated: " + path);
+            }
+            file.seek(size - SegmentFormat.FOOTER_SIZE);
+            LocalDateTime windowStart = SegmentFormat.fromNanos(file.readLong());
+            LocalDateTime minTimestamp = SegmentFormat.fromNanos(file.readLong());
+            LocalDateTime maxTimestamp = SegmentFormat.fromNanos(file.readLong());
+            long minId = file.readLong();
+            long maxId = file.readLong();
+            long rows = file.readLong();
+            int rowGroups = file.readInt();
+            if (file.readLong() != SegmentFormat.MAGIC) {
+                throw new IOException("Not a segment file: " + path);
+            }
+            return new SegmentFile(path, windowStart, minTimestamp, maxTimestamp, minId, maxId, rows, rowGroups, size);
+        }
+    }
+
+    /**
+     * Passes the events with timestamps in [from, to) to the action in timestamp order; null
+     * bounds are open.
+     */
+    static void scan(SegmentFile segment, LocalDateTime from, LocalDateTime to, Consumer<AuditEvent> action)
+            throws IOException {
+        long fromNanos = from == null ? Long.MIN_VALUE : SegmentFormat.toNanos(from);
+        long toNanos = to == null ? Long.MAX_VALUE : SegmentFormat.toNanos(to);
+        try (DataInputStream in = open(segment)) {
+            for (int group = 0; group < segment.rowGroups(); group++) {
+                int rows = in.readInt();
+                long minNanos = in.readLong();
+                long maxNanos = in.readLong();
+                int length = in.readInt();
+                if (maxNanos < fromNanos || minNanos >= toNanos) {
+                    in.skipNBytes(length);
+                    continue;
+                }
+                for (AuditEvent event : SegmentFormat.decodeRowGroup(in.readNBytes(length), rows)) {
+                    long nanos = SegmentFormat.toNanos(event.getTimestamp());
+                    if (nanos >= fromNanos && nanos < toNanos) {
+                        action.accept(event);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Passes the events at positions [fromRow, toRow) of the file to the action in order.
+     */
+    static void read(SegmentFile segment, long fromRow, long toRow, Consumer<AuditEvent> action) throws IOException {
+        try (DataInputStream in = open(segment)) {
+            long offset = 0;
+            for (int group = 0; group < segment.rowGroups() && offset < toRow; group++) {
+                int rows = in.readInt();
+                in.skipNBytes(2 * Long.BYTES);
+                int length = in.readInt();
+                if (offset + rows <= fromRow) {
+                    in.skipNBytes(length);
+                } else {
+                    List<AuditEvent> events = SegmentFormat.decodeRowGroup(in.readNBytes(length), rows);
+                    int from = (int) Math.max(0, fromRow - offset);
+                    int to = (int) Math.min(rows, toRow - offset);
+                    events.subList(from, to).forEach(action);
+                }
+                offset += rows;
+            }
+        }
+    }
+
+    private static DataInputStream open(SegmentFile segment) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment.path()), 64 * 1024));
+        if (in.readLong() != SegmentFormat.MAGIC) {
+            in.close();
+            throw new IOException("Not a segment file: " + segment.path());
+        }
+        return in;
+    }
+}
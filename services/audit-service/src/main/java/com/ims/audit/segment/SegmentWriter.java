@@ -0,0 +1,119 @@
+package com.ims.audit.segment;
+
+import com.ims.audit.entity.AuditEvent;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the events of one partition, in timestamp order, to a temporary file and moves it
+ * into place once complete, so a segment file is either whole or absent.
+ */
+final class SegmentWriter {
+
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmm");
+
+    private final Path directory;
+    private final Path temporary;
+    private final LocalDateTime windowStart;
+    private final int rowGroupSize;
+    private final FileChannel channel;
+    private final DataOutputStream out;
+    private final List<AuditEvent> rowGroup;
+
+    private long minId = Long.MAX_VALUE;
+    private long maxId = Long.MIN_VALUE;
+    private LocalDateTime minTimestamp;
+    private LocalDateTime maxTimestamp;
+    private long rows;
+    private int rowGroups;
+
+    SegmentWriter(Path directory, LocalDateTime windowStart, int rowGroupSize) throws IOException {
+        this.directory = directory;
+        this.temporary = Files.createTempFile(directory, "segment-", ".tmp");
+        this.windowStart = windowStart;
+        this.rowGroupSize = rowGroupSize;
+        this.channel = FileChannel.open(temporary, StandardOpenOption.WRITE);
+        OutputStream stream = Channels.newOutputStream(channel);
+        this.out = new DataOutputStream(new BufferedOutputStream(stream, 64 * 1024));
+        this.rowGroup = new ArrayList<>(rowGroupSize);
+        out.writeLong(SegmentFormat.MAGIC);
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    void append(AuditEvent event) throws IOException {
+        rowGroup.add(event);
+        minId = Math.min(minId, event.getId());
+        maxId = Math.max(maxId, event.getId());
+        if (minTimestamp == null) {
+            minTimestamp = event.getTimestamp();
+        }
+        maxTimestamp = event.getTimestamp();
+        rows++;
+        if (rowGroup.size() == rowGroupSize) {
+            writeRowGroup();
+        }
+    }
+
+    /**
+     * Completes the file and moves it into the segment directory.
+     */
+    SegmentFile finish() throws IOException {
+        if (!rowGroup.isEmpty()) {
+            writeRowGroup();
+        }
+        out.writeLong(SegmentFormat.toNanos(windowStart));
+        out.writeLong(SegmentFormat.toNanos(minTimestamp));
+        out.writeLong(SegmentFormat.toNanos(maxTimestamp));
+        out.writeLong(minId);
+        out.writeLong(maxId);
+        out.writeLong(rows);
+        out.writeInt(rowGroups);
+        out.writeLong(SegmentFormat.MAGIC);
+        out.flush();
+        channel.force(true);
+        out.close();
+
+        // Ids are unique, so the first one names the file apart from others of the same window
+        Path target = directory.resolve("audit-" + NAME_FORMAT.format(windowStart) + "-" + minId
+                + SegmentFormat.EXTENSION);
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        return new SegmentFile(target, windowStart, minTimestamp, maxTimestamp, minId, maxId, rows, rowGroups,
+                Files.size(target));
+    }
+
+    void abort() {
+        try {
+            out.close();
+            Files.deleteIfExists(temporary);
+        } catch (IOException ignored) {
+            // Leftover temporary files are removed when the store starts
+        }
+    }
+
+    private void writeRowGroup() throws IOException {
+        byte[] deflated = SegmentFormat.encodeRowGroup(rowGroup);
+        out.writeInt(rowGroup.size());
+        out.writeLong(SegmentFormat.toNanos(rowGroup.get(0).getTimestamp()));
+        out.writeLong(SegmentFormat.toNanos(rowGroup.get(rowGroup.size() - 1).getTimestamp()));
+        out.writeInt(deflated.length);
+        out.write(deflated);
+        rowGroup.clear();
+        rowGroups++;
+    }
+}
@@ -0,0 +1,257 @@
+package com.ims.audit.service;
+
+import com.ims.audit.entity.AuditEvent;
+import com.ims.audit.entity.AuditMinuteRollup;
+import com.ims.audit.entity.AuditMinuteRollup.Dimension;
+import com.ims.audit.entity.AuditSketchBucket;
+import com.ims.audit.repository.AuditEventRepository;
+import com.ims.audit.repository.AuditMinuteRollupRepository;
+import com.ims.audit.repository.AuditSketchBucketRepository;
+import com.ims.audit.segment.AuditSegmentStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-minute counts of stored audit events by event type, service and response status class,
+ * kept in memory for the dashboard. Events are counted once they are written, and a
+ * dashboard window merges its minutes instead of scanning the events; the window's first
+ * minute is counted whole. Users, request paths, client IPs and actions have too many values
+ * to count per minute and go to the {@link AuditSketches} instead.
+ *
+ * Minutes and sketch buckets that changed are persisted to audit_minute_rollups and
+ * audit_sketch_buckets in one transaction every {@code persist-interval-ms} and on shutdown.
+ * At startup both are loaded and anything stored since the start of the sketch bucket holding
+ * the last persisted minute is recounted from the events, so counts survive a restart.
+ * Minutes older than {@code retention} are dropped.
+ */
+@Component
+@Slf4j
+public class AuditRollups {
+
+    private static final String NO_STATUS = "none";
+
+    private final AuditMinuteRollupRepository rollupRepository;
+    private final AuditSketchBucketRepository sketchRepository;
+    private final AuditSketches auditSketches;
+    private final AuditEventRepository auditEventRepository;
+    private final AuditSegmentStore segmentStore;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+
+    // Keyed by minutes since the epoch, reading the local date-time as UTC
+    private final ConcurrentSkipListMap<Long, Minute> minutes = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListSet<Long> changedMinutes = new ConcurrentSkipListSet<>();
+
+    public AuditRollups(AuditMinuteRollupRepository rollupRepository, AuditSketchBucketRepository sketchRepository,
+                        AuditSketches auditSketches, AuditEventRepository auditEventRepository,
+                        AuditSegmentStore segmentStore, TransactionTemplate transactionTemplate,
+                        MeterRegistry meterRegistry,
+                        @Value("${audit.rollups.retention:30d}") Duration retention) {
+        this.rollupRepository = rollupRepository;
+        this.sketchRepository = sketchRepository;
+        this.auditSketches = auditSketches;
+        this.auditEventRepository = auditEventRepository;
+        this.segmentStore = segmentStore;
+        this.transactionTemplate = transactionTemplate;
+        this.retention = retention;
+
+        Gauge.builder("audit.rollups.minutes", minutes, Map::size)
+                .description("Minutes of audit dashboard rollups held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Dashboard counts since the given time, to the minute.
+     */
+    public record Summary(long total, long errors, Map<String, Long> byEventType, Map<String, Long> byService,
+                          Map<LocalDate, Long> byDate) {}
+
+    public void record(AuditEvent event) {
+        long minute = minuteOf(event.getTimestamp());
+        minutes.computeIfAbsent(minute, key -> new Minute()).add(event);
+        changedMinutes.add(minute);
+        auditSketches.record(event);
+    }
+
+    public void record(Collection<AuditEvent> events) {
+        events.forEach(this::record);
+    }
+
+    public Summary summarize(LocalDateTime since) {
+        Map<Dimension, Map<String, Long>> counts = new EnumMap<>(Dimension.class);
+        for (Dimension dimension : Dimension.values()) {
+            counts.put(dimension, new HashMap<>());
+        }
+        Map<LocalDate, Long> byDate = new TreeMap<>();
+        minutes.tailMap(minuteOf(since)).forEach((minute, rollup) -> {
+            long total = 0;
+            for (Dimension dimension : Dimension.values()) {
+                Map<String, Long> merged = counts.get(dimension);
+                for (Map.Entry<String, LongAdder> entry : rollup.counts.get(dimension).entrySet()) {
+                    long count = entry.getValue().sum();
+                    merged.merge(entry.getKey(), count, Long::sum);
+                    if (dimension == Dimension.STATUS_CLASS) {
+                        total += count;
+                    }
+                }
+            }
+            if (total > 0) {
+                byDate.merge(toTimestamp(minute).toLocalDate(), total, Long::sum);
+            }
+        });
+
+        long total = 0;
+        long errors = 0;
+        for (Map.Entry<String, Long> entry : counts.get(Dimension.STATUS_CLASS).entrySet()) {
+            total += entry.getValue();
+            if (!NO_STATUS.equals(entry.getKey()) && entry.getKey().charAt(0) >= '4') {
+                errors += entry.getValue();
+            }
+        }
+        return new Summary(total, errors, counts.get(Dimension.EVENT_TYPE), counts.get(Dimension.SERVICE),
+                byDate);
+    }
+
+    // ==================== Persistence ====================
+
+    @PostConstruct
+    public void load() {
+        LocalDateTime horizon = LocalDateTime.now().minus(retention);
+        List<AuditMinuteRollup> persisted = rollupRepository.findByMinuteGreaterThanEqual(horizon);
+        long lastPersisted = Long.MIN_VALUE;
+        for (AuditMinuteRollup row : persisted) {
+            long minute = minuteOf(row.getMinute());
+            minutes.computeIfAbsent(minute, key -> new Minute())
+                    .counts.get(row.getDimension())
+                    .computeIfAbsent(row.getDimensionKey(), key -> new LongAdder())
+                    .add(row.getEventCount());
+            lastPersisted = Math.max(lastPersisted, minute);
+        }
+
+        List<AuditSketchBucket> persistedSketches = sketchRepository.findByBucketStartGreaterThanEqual(
+                auditSketches.bucketStart(horizon));
+        persistedSketches.forEach(auditSketches::load);
+
+        // Events stored after the last persist are counted again, starting over at the sketch
+        // bucket holding that minute, which also covers the minute itself
+        LocalDateTime from = auditSketches.bucketStart(lastPersisted == Long.MIN_VALUE ? horizon : toTimestamp(lastPersisted));
+        minutes.tailMap(minuteOf(from)).clear();
+        auditSketches.clearFrom(from);
+        AuditSegmentStore.Catalog catalog = segmentStore.catalog();
+        segmentStore.forEach(catalog, from, null, this::record);
+        auditEventRepository.forEachInWindow(from, LocalDateTime.now().plusMinutes(1), this::record);
+        log.info("Audit rollups loaded: minutes={}, persisted rows={}, sketch buckets={}, recounted from {}",
+                minutes.size(), persisted.size(), persistedSketches.size(), from);
+    }
+
+    @Scheduled(fixedDelayString = "${audit.rollups.persist-interval-ms:60000}",
+               initialDelayString = "${audit.rollups.persist-interval-ms:60000}")
+    public synchronized void persist() {
+        long horizon = minuteOf(LocalDateTime.now().minus(retention));
+        minutes.headMap(horizon).clear();
+        changedMinutes.headSet(horizon).clear();
+        auditSketches.expire(toTimestamp(horizon));
+
+        // Taken off the set before being read, so a minute that changes meanwhile is written again next time
+        List<Long> changed = new ArrayList<>();
+        Long minute;
+        while ((minute = changedMinutes.pollFirst()) != null) {
+            changed.add(minute);
+        }
+        List<AuditMinuteRollup> rows = new ArrayList<>();
+        for (long changedMinute : changed) {
+            Minute rollup = minutes.get(changedMinute);
+            rollup.counts.forEach((dimension, counts) -> counts.forEach((key, count) -> rows.add(
+                    AuditMinuteRollup.builder()
+                            .minute(toTimestamp(changedMinute))
+                            .dimension(dimension)
+                            .dimensionKey(key)
+                            .eventCount(count.sum())
+                            .build())));
+        }
+        List<AuditSketchBucket> sketches = auditSketches.takeChanged();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!changed.isEmpty()) {
+                    rollupRepository.deleteByMinuteIn(changed.stream().map(AuditRollups::toTimestamp).toList());
+                    rollupRepository.insertBatch(rows);
+                }
+                rollupRepository.deleteByMinuteBefore(toTimestamp(horizon));
+                if (!sketches.isEmpty()) {
+                    sketchRepository.deleteByBucketStartIn(sketches.stream().map(AuditSketchBucket::getBucketStart).toList());
+                    sketchRepository.saveAll(sketches);
+                }
+                sketchRepository.deleteByBucketStartBefore(auditSketches.bucketStart(toTimestamp(horizon)));
+            });
+            log.debug("Persisted audit rollups: minutes={}, rows={}, sketch buckets={}", changed.size(), rows.size(),
+                    sketches.size());
+        } catch (RuntimeException e) {
+            changedMinutes.addAll(changed);
+            auditSketches.restoreChanged(sketches);
+            log.error("Persisting audit rollups failed, retrying next run: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        persist();
+    }
+
+    private static long minuteOf(LocalDateTime timestamp) {
+        return Math.floorDiv(timestamp.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static LocalDateTime toTimestamp(long minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+    }
+
+    private static String statusClass(Integer status) {
+        return status == null ? NO_STATUS : status / 100 + "xx";
+    }
+
+    private static final class Minute {
+
+        private final Map<Dimension, Map<String, LongAdder>> counts = new EnumMap<>(Dimension.class);
+
+        private Minute() {
+            for (Dimension dimension : Dimension.values()) {
+                counts.put(dimension, new ConcurrentHashMap<>());
+            }
+        }
+
+        private void add(AuditEvent event) {
+            increment(Dimension.EVENT_TYPE, event.getEventType());
+            increment(Dimension.SERVICE, event.getServiceName());
+            increment(Dimension.STATUS_CLASS, statusClass(event.getResponseStatus()));
+        }
+
+        private void increment(Dimension dimension, String key) {
+            if (key != null) {
+                counts.get(dimension).computeIfAbsent(key, k -> new LongAdder()).increment();
+            }
+        }
+    }
+}
@@ -3,9 +3,13 @@ package com.ims.audit.service;
 import com.ims.audit.dto.*;
 import com.ims.audit.entity.AuditEvent;
 import com.ims.audit.repository.AuditEventRepository;
+import com.ims.audit.segment.AuditSegmentStore;
+import com.ims.audit.segment.AuditSegmentStore.Catalog;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -13,7 +17,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,94 +30,79 @@ import java.util.stream.Collectors;
 public class AuditService {
     
     private final AuditEventRepository auditEventRepository;
+    private final AuditSegmentStore segmentStore;
+    private final AuditRollups auditRollups;
+    private final AuditSketches auditSketches;
     
-    @Transactional
-    public AuditEventResponse createAuditEvent(CreateAuditEventRequest request) {
-        log.debug("Creating audit event: type={}, service={}, action={}", 
-                request.getEventType(), request.getServiceName(), request.getAction());
-        
-        AuditEvent event = AuditEvent.builder()
-                .eventType(request.getEventType())
-                .serviceName(request.getServiceName())
-                .correlationId(request.getCorrelationId())
-                .traceId(request.getTraceId())
-                .userId(request.getUserId())
-                .username(request.getUsername())
-                .userRole(request.getUserRole())
-                .httpMethod(request.getHttpMethod())
-                .requestPath(request.getRequestPath())
-                .clientIp(request.getClientIp())
-                .userAgent(request.getUserAgent())
-                .requestBody(request.getRequestBody())
-                .responseBody(request.getResponseBody())
-                .responseStatus(request.getResponseStatus())
-                .durationMs(request.getDurationMs())
-                .entityType(request.getEntityType())
-                .entityId(request.getEntityId())
-                .action(request.getAction())
-                .previousValue(request.getPreviousValue())
-                .newValue(request.getNewValue())
-                .errorMessage(request.getErrorMessage())
-                .stackTrace(request.getStackTrace())
-                .metadata(request.getMetadata())
-                .timestamp(LocalDateTime.now())
-                .build();
-        
-        AuditEvent saved = auditEventRepository.save(event);
-        log.info("Audit event created: id={}, type={}, service={}", saved.getId(), saved.getEventType(), saved.getServiceName());
-        
-        return mapToResponse(saved);
-    }
+    @Value("${audit.dashboard.top-n:10}")
+    private int topN;
+    
+    // Every query reads the segment files of one catalog plus the table rows that catalog does
+    // not hold yet; rows flushed after their partition was sealed can be older than sealed ones
     
     @Transactional(readOnly = true)
     public AuditEventResponse getAuditEvent(Long id) {
+        Catalog catalog = segmentStore.catalog();
         return auditEventRepository.findById(id)
+                .filter(catalog::isUnsealed)
+                .or(() -> segmentStore.findById(catalog, id))
                 .map(this::mapToResponse)
                 .orElseThrow(() -> new RuntimeException("Audit event not found: " + id));
     }
     
     @Transactional(readOnly = true)
     public List<AuditEventResponse> getByCorrelationId(String correlationId) {
-        return auditEventRepository.findByCorrelationId(correlationId).stream()
+        Catalog catalog = segmentStore.catalog();
+        List<AuditEvent> events = auditEventRepository.findByCorrelationId(correlationId).stream()
+                .filter(catalog::isUnsealed)
+                .collect(Collectors.toCollection(ArrayList::new));
+        // Correlation ids give no time window, so every segment is read
+        segmentStore.forEach(catalog, null, null, event -> {
+            if (correlationId.equals(event.getCorrelationId())) {
+                events.add(event);
+            }
+        });
+        return events.stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
     
     @Transactional(readOnly = true)
     public Page<AuditEventResponse> getAllAuditEvents(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "timestamp"));
-        return auditEventRepository.findAll(pageable).map(this::mapToResponse);
+        return searchAuditEvents(AuditSearchCriteria.builder().page(page).size(size).build());
     }
     
     @Transactional(readOnly = true)
     public Page<AuditEventResponse> getByUserId(Long userId, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "timestamp"));
-        return auditEventRepository.findByUserId(userId, pageable).map(this::mapToResponse);
+        return searchAuditEvents(AuditSearchCriteria.builder().userId(userId).page(page).size(size).build());
     }
     
     @Transactional(readOnly = true)
     public Page<AuditEventResponse> getByServiceName(String serviceName, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "timestamp"));
-        return auditEventRepository.findByServiceName(serviceName, pageable).map(this::mapToResponse);
+        return searchAuditEvents(AuditSearchCriteria.builder().serviceName(serviceName).page(page).size(size).build());
     }
     
     @Transactional(readOnly = true)
     public Page<AuditEventResponse> getByEventType(String eventType, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "timestamp"));
-        return auditEventRepository.findByEventType(eventType, pageable).map(this::mapToResponse);
+        return searchAuditEvents(AuditSearchCriteria.builder().eventType(eventType).page(page).size(size).build());
     }
     
     @Transactional(readOnly = true)
     public Page<AuditEventResponse> getByEntity(String entityType, Long entityId, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "timestamp"));
-        return auditEventRepository.findByEntityTypeAndEntityId(entityType, entityId, pageable).map(this::mapToResponse);
+        return searchAuditEvents(AuditSearchCriteria.builder()
+                .entityType(entityType)
+                .entityId(entityId)
+                .page(page)
+                .size(size)
+                .build());
     }
     
     @Transactional(readOnly = true)
     public Page<AuditEventResponse> searchAuditEvents(AuditSearchCriteria criteria) {
-        Pageable pageable = PageRequest.of(criteria.getPage(), criteria.getSize(), Sort.by(Sort.Direction.DESC, "timestamp"));
+        Pageable pageable = PageRequest.of(criteria.getPage(), criteria.getSize());
+        Catalog catalog = segmentStore.catalog();
         
-        return auditEventRepository.searchAuditEvents(
+        Page<AuditEvent> unsealed = auditEventRepository.searchAuditEvents(
                 criteria.getServiceName(),
                 criteria.getEventType(),
                 criteria.getUserId(),
@@ -119,70 +112,187 @@ public class AuditService {
                 criteria.getAction(),
                 criteria.getStartDate(),
                 criteria.getEndDate(),
-                pageable
-        ).map(this::mapToResponse);
+                catalog.sealedGeneration(),
+                throughPage(pageable, Sort.by(Sort.Direction.DESC, "timestamp", "id"))
+        );
+        // The end date is inclusive
+        LocalDateTime sealedTo = criteria.getEndDate() == null ? null : criteria.getEndDate().plusNanos(1);
+        return withSealed(pageable, unsealed, catalog, criteria.getStartDate(), sealedTo, matching(criteria));
     }
     
     @Transactional(readOnly = true)
     public Page<AuditEventResponse> getErrors(int hours, int page, int size) {
         LocalDateTime since = LocalDateTime.now().minusHours(hours);
         Pageable pageable = PageRequest.of(page, size);
-        return auditEventRepository.findErrorsSince(since, pageable).map(this::mapToResponse);
+        Catalog catalog = segmentStore.catalog();
+        Page<AuditEvent> unsealed = auditEventRepository.findErrorsSince(since, catalog.sealedGeneration(),
+                throughPage(pageable, Sort.unsorted()));
+        return withSealed(pageable, unsealed, catalog, since, null, AuditService::isError);
     }
     
     @Transactional(readOnly = true)
     public AuditDashboardResponse getDashboard(int hours) {
         LocalDateTime since = LocalDateTime.now().minusHours(hours);
+        AuditRollups.Summary summary = auditRollups.summarize(since);
+        AuditSketches.Activity activity = auditSketches.isEnabled() ? auditSketches.summarize(since) : countActivity(since);
         
-        Long totalEvents = auditEventRepository.countByTimestampAfter(since);
-        Long errorCount = auditEventRepository.countByResponseStatusGreaterThanEqualAndTimestampAfter(400, since);
+        List<AuditDashboardResponse.EventTypeStat> eventTypeStats = mostFrequent(summary.byEventType()).stream()
+                .map(entry -> AuditDashboardResponse.EventTypeStat.builder()
+                        .eventType(entry.getKey())
+                        .count(entry.getValue())
+                        .build())
+                .collect(Collectors.toList());
         
-        List<AuditDashboardResponse.EventTypeStat> eventTypeStats = auditEventRepository.countByEventTypeSince(since).stream()
-                .map(row -> AuditDashboardResponse.EventTypeStat.builder()
-                        .eventType((String) row[0])
-                        .count((Long) row[1])
+        List<AuditDashboardResponse.ServiceStat> serviceStats = mostFrequent(summary.byService()).stream()
+                .map(entry -> AuditDashboardResponse.ServiceStat.builder()
+                        .serviceName(entry.getKey())
+                        .count(entry.getValue())
                         .build())
                 .collect(Collectors.toList());
         
-        List<AuditDashboardResponse.ServiceStat> serviceStats = auditEventRepository.countByServiceSince(since).stream()
-                .map(row -> AuditDashboardResponse.ServiceStat.builder()
-                        .serviceName((String) row[0])
-                        .count((Long) row[1])
+        List<AuditDashboardResponse.UserActivityStat> userActivityStats = mostFrequent(activity.byUser()).stream()
+                .limit(topN)
+                .map(entry -> AuditDashboardResponse.UserActivityStat.builder()
+                        .username(entry.getKey())
+                        .count(entry.getValue())
                         .build())
                 .collect(Collectors.toList());
         
-        List<AuditDashboardResponse.UserActivityStat> userActivityStats = auditEventRepository.countByUserSince(since).stream()
-                .map(row -> AuditDashboardResponse.UserActivityStat.builder()
-                        .username((String) row[0])
-                        .count((Long) row[1])
+        List<AuditDashboardResponse.ActionStat> actionStats = mostFrequent(activity.byAction()).stream()
+                .limit(topN)
+                .map(entry -> AuditDashboardResponse.ActionStat.builder()
+                        .action(entry.getKey())
+                        .count(entry.getValue())
                         .build())
                 .collect(Collectors.toList());
         
-        List<AuditDashboardResponse.ActionStat> actionStats = auditEventRepository.countByActionSince(since).stream()
-                .map(row -> AuditDashboardResponse.ActionStat.builder()
-                        .action((String) row[0])
-                        .count((Long) row[1])
+        List<AuditDashboardResponse.RequestPathStat> requestPathStats = mostFrequent(activity.byRequestPath()).stream()
+                .limit(topN)
+                .map(entry -> AuditDashboardResponse.RequestPathStat.builder()
+                        .requestPath(entry.getKey())
+                        .count(entry.getValue())
                         .build())
                 .collect(Collectors.toList());
         
-        List<AuditDashboardResponse.DailyActivityStat> dailyActivityStats = auditEventRepository.countByDateSince(since).stream()
-                .map(row -> AuditDashboardResponse.DailyActivityStat.builder()
-                        .date(row[0].toString())
-                        .count((Long) row[1])
+        List<AuditDashboardResponse.ClientIpStat> clientIpStats = mostFrequent(activity.byClientIp()).stream()
+                .limit(topN)
+                .map(entry -> AuditDashboardResponse.ClientIpStat.builder()
+                        .clientIp(entry.getKey())
+                        .count(entry.getValue())
+                        .build())
+                .collect(Collectors.toList());
+        
+        List<AuditDashboardResponse.DailyActivityStat> dailyActivityStats = summary.byDate().entrySet().stream()
+                .map(entry -> AuditDashboardResponse.DailyActivityStat.builder()
+                        .date(entry.getKey().toString())
+                        .count(entry.getValue())
                         .build())
                 .collect(Collectors.toList());
         
         return AuditDashboardResponse.builder()
-                .totalEvents(totalEvents)
-                .errorCount(errorCount)
+                .totalEvents(summary.total())
+                .errorCount(summary.errors())
                 .eventTypeStats(eventTypeStats)
                 .serviceStats(serviceStats)
                 .userActivityStats(userActivityStats)
                 .actionStats(actionStats)
+                .requestPathStats(requestPathStats)
+                .clientIpStats(clientIpStats)
+                .distinctUsers(activity.distinctUsers())
+                .approximate(auditSketches.isEnabled())
                 .dailyActivityStats(dailyActivityStats)
                 .build();
     }
     
+    // Exact activity when sketches are disabled: GROUP BY over the table plus a scan of the sealed segments
+    private AuditSketches.Activity countActivity(LocalDateTime since) {
+        Catalog catalog = segmentStore.catalog();
+        long sealedGeneration = catalog.sealedGeneration();
+        Map<String, Long> byUser = toCounts(auditEventRepository.countByUserSince(since, sealedGeneration));
+        Map<String, Long> byRequestPath = toCounts(auditEventRepository.countByRequestPathSince(since, sealedGeneration));
+        Map<String, Long> byClientIp = toCounts(auditEventRepository.countByClientIpSince(since, sealedGeneration));
+        Map<String, Long> byAction = toCounts(auditEventRepository.countByActionSince(since, sealedGeneration));
+        segmentStore.forEach(catalog, since, null, event -> {
+            countValue(byUser, event.getUsername());
+            countValue(byRequestPath, event.getRequestPath());
+            countValue(byClientIp, event.getClientIp());
+            countValue(byAction, event.getAction());
+        });
+        return new AuditSketches.Activity(byUser, byRequestPath, byClientIp, byAction, byUser.size());
+    }
+    
+    private static Map<String, Long> toCounts(List<Object[]> rows) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((String) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+    
+    private static void countValue(Map<String, Long> counts, String value) {
+        if (value != null) {
+            counts.merge(value, 1L, Long::sum);
+        }
+    }
+    
+    // ==================== Sealed segments ====================
+    
+    // Everything newest-first up to the end of the requested page, to merge with sealed events
+    private static Pageable throughPage(Pageable pageable, Sort sort) {
+        return PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize(), sort);
+    }
+    
+    // Merges the table rows up to the end of the page with as many sealed events, newest first
+    private Page<AuditEventResponse> withSealed(Pageable pageable, Page<AuditEvent> unsealed, Catalog catalog,
+                                                LocalDateTime from, LocalDateTime to, Predicate<AuditEvent> filter) {
+        AuditSegmentStore.Matches sealed = segmentStore.find(catalog, from, to, filter, 0, unsealed.getSize());
+        
+        List<AuditEvent> merged = new ArrayList<>(unsealed.getContent());
+        merged.addAll(sealed.events());
+        merged.sort(AuditSegmentStore.NEWEST_FIRST);
+        int fromIndex = (int) Math.min(pageable.getOffset(), merged.size());
+        int toIndex = Math.min(fromIndex + pageable.getPageSize(), merged.size());
+        return new PageImpl<>(merged.subList(fromIndex, toIndex), pageable, unsealed.getTotalElements() + sealed.total())
+                .map(this::mapToResponse);
+    }
+    
+    // Mirrors the searchAuditEvents query; null when every event matches
+    private static Predicate<AuditEvent> matching(AuditSearchCriteria criteria) {
+        List<Predicate<AuditEvent>> predicates = new ArrayList<>();
+        if (criteria.getServiceName() != null) {
+            predicates.add(event -> criteria.getServiceName().equals(event.getServiceName()));
+        }
+        if (criteria.getEventType() != null) {
+            predicates.add(event -> criteria.getEventType().equals(event.getEventType()));
+        }
+        if (criteria.getUserId() != null) {
+            predicates.add(event -> criteria.getUserId().equals(event.getUserId()));
+        }
+        if (criteria.getUsername() != null) {
+            predicates.add(event -> event.getUsername() != null && event.getUsername().contains(criteria.getUsername()));
+        }
+        if (criteria.getEntityType() != null) {
+            predicates.add(event -> criteria.getEntityType().equals(event.getEntityType()));
+        }
+        if (criteria.getEntityId() != null) {
+            predicates.add(event -> criteria.getEntityId().equals(event.getEntityId()));
+        }
+        if (criteria.getAction() != null) {
+            predicates.add(event -> criteria.getAction().equals(event.getAction()));
+        }
+        return predicates.stream().reduce(Predicate::and).orElse(null);
+    }
+    
+    private static boolean isError(AuditEvent event) {
+        return event.getResponseStatus() != null && event.getResponseStatus() >= 400;
+    }
+    
+    private static List<Map.Entry<String, Long>> mostFrequent(Map<String, Long> counts) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .collect(Collectors.toList());
+    }
+    
     private AuditEventResponse mapToResponse(AuditEvent event) {
         return AuditEventResponse.builder()
                 .id(event.getId())
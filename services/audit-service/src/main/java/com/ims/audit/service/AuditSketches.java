@@ -0,0 +1,253 @@
+package com.ims.audit.service;
+
+import com.ims.audit.entity.AuditEvent;
+import com.ims.audit.entity.AuditSketchBucket;
+import com.ims.audit.sketch.HyperLogLog;
+import com.ims.audit.sketch.SpaceSavingSketch;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Approximate dashboard activity in constant memory per time bucket: Space-Saving top-k
+ * sketches of usernames, request paths, client IPs and actions, and a HyperLogLog of
+ * distinct usernames. A dashboard window merges the sketches of its buckets, counting the
+ * window's first bucket whole. Top counts are exact while a bucket has seen no more than
+ * {@code capacity} distinct values and otherwise overestimate by at most the bucket's
+ * smallest tracked count; distinct users are within a few percent.
+ *
+ * With {@code enabled} false nothing is kept and the dashboard counts exactly instead.
+ * {@link AuditRollups} feeds, persists and loads the buckets along with its minutes.
+ */
+@Component
+@Slf4j
+public class AuditSketches {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final boolean enabled;
+    private final long bucketMinutes;
+    private final int capacity;
+    private final int precision;
+
+    // Keyed by the bucket's first minute since the epoch, reading the local date-time as UTC
+    private final ConcurrentSkipListMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListSet<Long> changedBuckets = new ConcurrentSkipListSet<>();
+
+    public AuditSketches(MeterRegistry meterRegistry,
+                         @Value("${audit.sketches.enabled:true}") boolean enabled,
+                         @Value("${audit.sketches.bucket:1h}") Duration bucket,
+                         @Value("${audit.sketches.capacity:256}") int capacity,
+                         @Value("${audit.sketches.hll-precision:12}") int precision) {
+        if (bucket.toSeconds() < 60 || bucket.toSeconds() % 60 != 0 || Duration.ofDays(1).toMinutes() % bucket.toMinutes() != 0) {
+            throw new IllegalArgumentException("audit.sketches.bucket must be whole minutes dividing a day: " + bucket);
+        }
+        this.enabled = enabled;
+        this.bucketMinutes = bucket.toMinutes();
+        this.capacity = capacity;
+        this.precision = precision;
+        // Validates the settings at startup rather than on the first event
+        new Bucket(capacity, precision);
+
+        Gauge.builder("audit.sketches.buckets", buckets, Map::size)
+                .description("Time buckets of audit activity sketches held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Estimated activity since the given time: candidate counts per value, most frequent
+     * first, and the number of distinct users.
+     */
+    public record Activity(Map<String, Long> byUser, Map<String, Long> byRequestPath, Map<String, Long> byClientIp,
+                           Map<String, Long> byAction, long distinctUsers) {}
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void record(AuditEvent event) {
+        if (!enabled) {
+            return;
+        }
+        long bucket = bucketOf(minuteOf(event.getTimestamp()));
+        buckets.computeIfAbsent(bucket, key -> new Bucket(capacity, precision)).add(event);
+        changedBuckets.add(bucket);
+    }
+
+    public Activity summarize(LocalDateTime since) {
+        Bucket merged = new Bucket(capacity, precision);
+        for (Bucket bucket : buckets.tailMap(bucketOf(minuteOf(since))).values()) {
+            merged.merge(bucket);
+        }
+        return new Activity(merged.users.counts(), merged.requestPaths.counts(), merged.clientIps.counts(),
+                merged.actions.counts(), merged.distinctUsers.estimate());
+    }
+
+    // ==================== Persistence, driven by AuditRollups ====================
+
+    /**
+     * Start of the bucket holding the given time.
+     */
+    LocalDateTime bucketStart(LocalDateTime timestamp) {
+        return toTimestamp(bucketOf(minuteOf(timestamp)));
+    }
+
+    void load(AuditSketchBucket row) {
+        Bucket bucket = Bucket.deserialize(row.getPayload());
+        // Distinct counters only merge at one precision
+        if (bucket.distinctUsers.precision() != precision) {
+            log.warn("Skipping audit sketches of {} persisted with HyperLogLog precision {}, configured {}",
+                    row.getBucketStart(), bucket.distinctUsers.precision(), precision);
+            return;
+        }
+        buckets.put(minuteOf(row.getBucketStart()), bucket);
+    }
+
+    /**
+     * Drops the buckets from the given bucket start on, so their events can be counted again.
+     */
+    void clearFrom(LocalDateTime from) {
+        buckets.tailMap(minuteOf(from)).clear();
+    }
+
+    void expire(LocalDateTime horizon) {
+        long bucket = bucketOf(minuteOf(horizon));
+        buckets.headMap(bucket).clear();
+        changedBuckets.headSet(bucket).clear();
+    }
+
+    /**
+     * Serializes the buckets changed since the last call. Taken off the changed set before
+     * being read, so a bucket that changes meanwhile is returned again next time.
+     */
+    List<AuditSketchBucket> takeChanged() {
+        List<AuditSketchBucket> rows = new ArrayList<>();
+        Long bucket;
+        while ((bucket = changedBuckets.pollFirst()) != null) {
+            Bucket sketches = buckets.get(bucket);
+            if (sketches != null) {
+                rows.add(AuditSketchBucket.builder()
+                        .bucketStart(toTimestamp(bucket))
+                        .payload(sketches.serialize())
+                        .build());
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Marks buckets taken by {@link #takeChanged} as changed again after they failed to persist.
+     */
+    void restoreChanged(Collection<AuditSketchBucket> rows) {
+        rows.forEach(row -> changedBuckets.add(minuteOf(row.getBucketStart())));
+    }
+
+    private long bucketOf(long minute) {
+        return Math.floorDiv(minute, bucketMinutes) * bucketMinutes;
+    }
+
+    private static long minuteOf(LocalDateTime timestamp) {
+        return Math.floorDiv(timestamp.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static LocalDateTime toTimestamp(long minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+    }
+
+    // The sketches are not thread-safe, so a bucket is updated and read under its own lock
+    private static final class Bucket {
+
+        private SpaceSavingSketch users;
+        private SpaceSavingSketch requestPaths;
+        private SpaceSavingSketch clientIps;
+        private SpaceSavingSketch actions;
+        private final HyperLogLog distinctUsers;
+
+        private Bucket(int capacity, int precision) {
+            this(new SpaceSavingSketch(capacity), new SpaceSavingSketch(capacity), new SpaceSavingSketch(capacity),
+                    new SpaceSavingSketch(capacity), new HyperLogLog(precision));
+        }
+
+        private Bucket(SpaceSavingSketch users, SpaceSavingSketch requestPaths, SpaceSavingSketch clientIps,
+                       SpaceSavingSketch actions, HyperLogLog distinctUsers) {
+            this.users = users;
+            this.requestPaths = requestPaths;
+            this.clientIps = clientIps;
+            this.actions = actions;
+            this.distinctUsers = distinctUsers;
+        }
+
+        // Events without a value are left out of that value's sketch
+        private synchronized void add(AuditEvent event) {
+            if (event.getUsername() != null) {
+                users.add(event.getUsername());
+                distinctUsers.add(event.getUsername());
+            }
+            if (event.getRequestPath() != null) {
+                requestPaths.add(event.getRequestPath());
+            }
+            if (event.getClientIp() != null) {
+                clientIps.add(event.getClientIp());
+            }
+            if (event.getAction() != null) {
+                actions.add(event.getAction());
+            }
+        }
+
+        private void merge(Bucket other) {
+            synchronized (other) {
+                users = SpaceSavingSketch.merge(users, other.users);
+                requestPaths = SpaceSavingSketch.merge(requestPaths, other.requestPaths);
+                clientIps = SpaceSavingSketch.merge(clientIps, other.clientIps);
+                actions = SpaceSavingSketch.merge(actions, other.actions);
+                distinctUsers.merge(other.distinctUsers);
+            }
+        }
+
+        private synchronized byte[] serialize() {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeByte(FORMAT_VERSION);
+                users.writeTo(out);
+                requestPaths.writeTo(out);
+                clientIps.writeTo(out);
+                actions.writeTo(out);
+                distinctUsers.writeTo(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return bytes.toByteArray();
+        }
+
+        private static Bucket deserialize(byte[] payload) {
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+                int version = in.readByte();
+                if (version != FORMAT_VERSION) {
+                    throw new IllegalStateException("Unsupported audit sketch format version: " + version);
+                }
+                return new Bucket(SpaceSavingSketch.readFrom(in), SpaceSavingSketch.readFrom(in),
+                        SpaceSavingSketch.readFrom(in), SpaceSavingSketch.readFrom(in), HyperLogLog.readFrom(in));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
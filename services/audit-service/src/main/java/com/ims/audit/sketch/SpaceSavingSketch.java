@@ -0,0 +1,186 @@
+package com.ims.audit.sketch;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving top-k sketch: approximate counts of the most frequent keys in a stream, in
+ * memory for at most {@code capacity} keys. A key that is not tracked when the sketch is
+ * full takes over the counter of the least frequent one. Every reported count is an upper
+ * bound that overestimates by at most the smallest count, and any key occurring more often
+ * than that is reported. While fewer than {@code capacity} distinct keys have been seen,
+ * counts are exact.
+ *
+ * Not thread-safe.
+ */
+public final class SpaceSavingSketch {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    // Min-heap on count, so the counter to take over is at the root
+    private final Counter[] heap;
+    private int size;
+
+    public SpaceSavingSketch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+        this.heap = new Counter[capacity];
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public void add(String key) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count++;
+            siftDown(counter.index);
+        } else if (size < capacity) {
+            insert(key, 1, 0);
+        } else {
+            Counter min = heap[0];
+            counters.remove(min.key);
+            min.key = key;
+            min.error = min.count;
+            min.count++;
+            counters.put(key, min);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Count every untracked key may have had: the smallest count once the sketch is full.
+     */
+    public long minCount() {
+        return size < capacity ? 0 : heap[0].count;
+    }
+
+    /**
+     * Tracked keys with their estimated counts, most frequent first.
+     */
+    public Map<String, Long> counts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        sortedCounters().forEach(counter -> counts.put(counter.key, counter.count));
+        return counts;
+    }
+
+    /**
+     * Combines two sketches into a new one with the first one's capacity. A key missing from
+     * a full sketch is taken to have that sketch's smallest count, so counts stay upper bounds.
+     */
+    public static SpaceSavingSketch merge(SpaceSavingSketch first, SpaceSavingSketch second) {
+        Map<String, long[]> combined = new HashMap<>();
+        for (SpaceSavingSketch sketch : List.of(first, second)) {
+            SpaceSavingSketch other = sketch == first ? second : first;
+            for (Counter counter : sketch.counters.values()) {
+                combined.computeIfAbsent(counter.key, key -> {
+                    Counter elsewhere = other.counters.get(key);
+                    long count = elsewhere != null ? elsewhere.count : other.minCount();
+                    long error = elsewhere != null ? elsewhere.error : other.minCount();
+                    return new long[]{counter.count + count, counter.error + error};
+                });
+            }
+        }
+        SpaceSavingSketch merged = new SpaceSavingSketch(first.capacity);
+        combined.entrySet().stream()
+                .sorted(Map.Entry.<String, long[]>comparingByValue(Comparator.comparingLong(value -> value[0])).reversed())
+                .limit(merged.capacity)
+                .forEach(entry -> merged.insert(entry.getKey(), entry.getValue()[0], entry.getValue()[1]));
+        return merged;
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(capacity);
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeUTF(heap[i].key);
+            out.writeLong(heap[i].count);
+            out.writeLong(heap[i].error);
+        }
+    }
+
+    public static SpaceSavingSketch readFrom(DataInputStream in) throws IOException {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(in.readInt());
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            sketch.insert(in.readUTF(), in.readLong(), in.readLong());
+        }
+        return sketch;
+    }
+
+    private List<Counter> sortedCounters() {
+        List<Counter> sorted = new ArrayList<>(counters.values());
+        sorted.sort(Comparator.comparingLong((Counter counter) -> counter.count).reversed());
+        return sorted;
+    }
+
+    private void insert(String key, long count, long error) {
+        Counter counter = new Counter(key, count, error, size);
+        heap[size++] = counter;
+        counters.put(key, counter);
+        siftUp(counter.index);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (heap[parent].count <= heap[index].count) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && heap[left].count < heap[smallest].count) {
+                smallest = left;
+            }
+            if (right < size && heap[right].count < heap[smallest].count) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        Counter counter = heap[i];
+        heap[i] = heap[j];
+        heap[j] = counter;
+        heap[i].index = i;
+        heap[j].index = j;
+    }
+
+    private static final class Counter {
+        private String key;
+        private long count;
+        private long error;
+        private int index;
+
+        private Counter(String key, long count, long error, int index) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.ims.benchmarks;
+
+import com.ims.catalog.CatalogServiceApplication;
+import com.ims.catalog.entity.Category;
+import com.ims.catalog.entity.Item;
+import com.ims.catalog.entity.Supplier;
+import com.ims.catalog.repository.CategoryRepository;
+import com.ims.catalog.repository.ItemRepository;
+import com.ims.catalog.repository.SupplierRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Boots the catalog service against its embedded H2 database and seeds it with a given number
+ * of items carrying realistic, several-hundred-character descriptions.
+ */
+public final class CatalogContext {
+
+    private static final int SEED_CHUNK = 1_000;
+    private static final String[] WORDS = {
+            "steel", "heavy-duty", "wireless", "ergonomic", "compact", "industrial", "premium", "portable",
+            "reinforced", "adjustable", "waterproof", "certified", "warehouse", "shipping", "rechargeable",
+            "modular", "replacement", "standard", "kit", "assembly", "cable", "bracket", "panel", "sensor"
+    };
+
+    private CatalogContext() {
+    }
+
+    public static ConfigurableApplicationContext start(int items) {
+        // The shaded jar only carries the inventory application.yml
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(CatalogServiceApplication.class)
+                .run(
+                        "--spring.config.name=catalog-benchmark",
+                        "--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.ims=WARN");
+        seed(context, items);
+        return context;
+    }
+
+    private static void seed(ConfigurableApplicationContext context, int items) {
+        List<Category> categories = context.getBean(CategoryRepository.class).findAll();
+        List<Supplier> suppliers = context.getBean(SupplierRepository.class).findAll();
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+        Random random = new Random(42);
+        long started = System.nanoTime();
+
+        for (int seeded = 0; seeded < items; seeded += SEED_CHUNK) {
+            int size = Math.min(SEED_CHUNK, items - seeded);
+            List<Item> chunk = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                chunk.add(Item.builder()
+                        .sku(String.format("BENCH-%07d", seeded + i))
+                        .name(words(random, 3 + random.nextInt(3), 0))
+                        .description(words(random, 60 + random.nextInt(60), 1000))
+                        .category(categories.get(random.nextInt(categories.size())))
+                        .supplier(suppliers.get(random.nextInt(suppliers.size())))
+                        .unitPrice(BigDecimal.valueOf(100 + random.nextInt(100_000), 2))
+                        .build());
+            }
+            transactionTemplate.executeWithoutResult(status -> itemRepository.saveAll(chunk));
+        }
+        System.out.printf("Seeded %d items in %d ms%n", items, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static String words(Random random, int count, int maxLength) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (maxLength > 0 && text.length() + word.length() + 1 > maxLength) {
+                break;
+            }
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(word);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,114 @@
+package com.ims.benchmarks;
+
+import com.ims.catalog.dto.ItemResponse;
+import com.ims.catalog.entity.Item;
+import com.ims.catalog.repository.ItemRepository;
+import com.ims.catalog.service.ItemService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Tuple;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.Temporal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GraphQL item pages read as whole entities versus column projections of the selected fields.
+ * Run with {@code -prof gc} to see the bytes allocated per page next to the column bytes
+ * printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx2g"})
+public class CatalogProjectionBenchmark {
+
+    private static final int ITEMS = 20_000;
+    private static final List<String> SKU_AND_NAME = List.of("sku", "name");
+    private static final List<String> ALL_FIELDS = List.of("id", "sku", "name", "description", "category",
+            "supplier", "unitPrice", "minStockLevel", "maxStockLevel", "reorderPoint", "unitOfMeasure", "active",
+            "createdAt", "updatedAt");
+    // Item attributes read for the field lists above; the id is always read
+    private static final List<String> SKU_AND_NAME_ATTRIBUTES = List.of("id", "sku", "name");
+    private static final List<String> ALL_ATTRIBUTES = List.of("id", "sku", "name", "description", "category.id",
+            "supplier.id", "unitPrice", "minStockLevel", "maxStockLevel", "reorderPoint", "unitOfMeasure", "active",
+            "createdAt", "updatedAt");
+
+    @Param({"100", "1000"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private EntityManagerFactory entityManagerFactory;
+    private int page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = CatalogContext.start(ITEMS);
+        itemService = context.getBean(ItemService.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        // A page from the middle of the catalog, past the seeded sample items
+        page = ITEMS / pageSize / 2;
+
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        Pageable pageable = PageRequest.of(page, pageSize, Sort.by("name").ascending());
+        long allBytes = columnBytes(itemRepository.findActiveProjected(ALL_ATTRIBUTES, pageable));
+        long narrowBytes = columnBytes(itemRepository.findActiveProjected(SKU_AND_NAME_ATTRIBUTES, pageable));
+        System.out.printf("Page of %d items: %d column bytes for all fields, %d for id, sku and name (%.1fx less)%n",
+                pageSize, allBytes, narrowBytes, (double) allBytes / narrowBytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /** What the items query did before projections: whole entities, mapped afterwards. */
+    @Benchmark
+    public List<Item> entityPage() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery("SELECT i FROM Item i WHERE i.active = true ORDER BY i.name", Item.class)
+                    .setFirstResult(page * pageSize)
+                    .setMaxResults(pageSize)
+                    .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public List<ItemResponse> allFieldsProjection() {
+        return itemService.getItemProjections(page, pageSize, ALL_FIELDS);
+    }
+
+    @Benchmark
+    public List<ItemResponse> skuAndNameProjection() {
+        return itemService.getItemProjections(page, pageSize, SKU_AND_NAME);
+    }
+
+    // Approximate bytes of column data read: UTF-8 text, eight bytes per number or timestamp
+    private static long columnBytes(List<Tuple> rows) {
+        long bytes = 0;
+        for (Tuple row : rows) {
+            for (Object value : row.toArray()) {
+                if (value instanceof String text) {
+                    bytes += text.getBytes(StandardCharsets.UTF_8).length;
+                } else if (value instanceof Number || value instanceof Temporal) {
+                    bytes += 8;
+                } else if (value != null) {
+                    bytes += 1;
+                }
+            }
+        }
+        return bytes;
+    }
+}
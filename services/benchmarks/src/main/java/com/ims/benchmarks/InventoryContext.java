@@ -0,0 +1,97 @@
+package com.ims.benchmarks;
+
+import com.ims.inventory.InventoryServiceApplication;
+import com.ims.inventory.entity.StockLevel;
+import com.ims.inventory.entity.StockMovement;
+import com.ims.inventory.repository.StockLevelRepository;
+import com.ims.inventory.repository.StockMovementRepository;
+import com.ims.inventory.service.DashboardCounters;
+import com.ims.inventory.service.MovementRollupService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Boots the inventory service against its embedded H2 database, with any extra properties
+ * given as {@code name=value}, and seeds it with a given number of stock movements spread
+ * over the sample stock levels and the last year.
+ */
+public final class InventoryContext {
+
+    private static final int SEED_CHUNK = 10_000;
+    private static final StockMovement.MovementType[] SEED_TYPES = {
+            StockMovement.MovementType.GOODS_RECEIPT,
+            StockMovement.MovementType.STOCK_ISSUE,
+            StockMovement.MovementType.TRANSFER_IN,
+            StockMovement.MovementType.TRANSFER_OUT,
+            StockMovement.MovementType.RETURN
+    };
+
+    private InventoryContext() {
+    }
+
+    public static ConfigurableApplicationContext start(int movements, String... properties) {
+        // Passed as arguments so they take precedence over application.yml
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.ims=WARN",
+                // Background jobs are run explicitly after seeding, not during measurement
+                "--inventory.rollup.lag-ms=0",
+                "--inventory.rollup.interval-ms=86400000",
+                "--inventory.dashboard.reconcile-interval-ms=86400000",
+                "--inventory.catalog-feed.enabled=false",
+                "--inventory.prices.refresh-enabled=false"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(InventoryServiceApplication.class)
+                .run(args.toArray(String[]::new));
+        seed(context, movements);
+        return context;
+    }
+
+    private static void seed(ConfigurableApplicationContext context, int movements) {
+        List<StockLevel> stockLevels = context.getBean(StockLevelRepository.class).findAll();
+        StockMovementRepository movementRepository = context.getBean(StockMovementRepository.class);
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        long started = System.nanoTime();
+
+        for (int seeded = 0; seeded < movements; seeded += SEED_CHUNK) {
+            int size = Math.min(SEED_CHUNK, movements - seeded);
+            List<StockMovement> chunk = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                StockLevel stock = stockLevels.get(random.nextInt(stockLevels.size()));
+                chunk.add(StockMovement.builder()
+                        .warehouseId(stock.getWarehouseId())
+                        .itemId(stock.getItemId())
+                        .itemSku(stock.getItemSku())
+                        .movementType(SEED_TYPES[random.nextInt(SEED_TYPES.length)])
+                        .quantity(1 + random.nextInt(50))
+                        .unitPrice(BigDecimal.valueOf(100 + random.nextInt(100_000), 2))
+                        .referenceNumber("BENCH-" + (seeded + i))
+                        .referenceType("BENCHMARK")
+                        .createdBy(1L)
+                        .createdByEmail("bench@ims.com")
+                        .createdAt(now.minusSeconds(random.nextInt(365 * 24 * 3600)))
+                        .build());
+            }
+            transactionTemplate.executeWithoutResult(status -> movementRepository.insertBatch(chunk));
+        }
+
+        long seeded = System.nanoTime();
+        context.getBean(MovementRollupService.class).compact();
+        context.getBean(DashboardCounters.class).reconcile();
+        System.out.printf("Seeded %d movements in %d ms, rollup compaction took %d ms%n", movements,
+                (seeded - started) / 1_000_000, (System.nanoTime() - seeded) / 1_000_000);
+    }
+}
@@ -0,0 +1,101 @@
+package com.ims.benchmarks;
+
+import com.ims.inventory.dto.DashboardResponse;
+import com.ims.inventory.entity.StockMovement;
+import com.ims.inventory.repository.StockMovementRepository;
+import com.ims.inventory.service.StockService;
+import com.ims.inventory.soap.InventoryReportEndpoint;
+import com.ims.inventory.soap.SoapTypes;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Database-backed read paths at increasing movement history sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class InventoryQueryBenchmark {
+
+    private static final Long WAREHOUSE_ID = 1L;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "100000", "1000000"})
+    public int movements;
+
+    private ConfigurableApplicationContext context;
+    private StockService stockService;
+    private StockMovementRepository movementRepository;
+    private InventoryReportEndpoint reportEndpoint;
+
+    private Pageable deepPage;
+    private LocalDateTime deepCreatedAt;
+    private Long deepId;
+    private SoapTypes.GetStockReportRequest reportRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = InventoryContext.start(movements);
+        stockService = context.getBean(StockService.class);
+        movementRepository = context.getBean(StockMovementRepository.class);
+        reportEndpoint = context.getBean(InventoryReportEndpoint.class);
+
+        // Roughly the middle of warehouse 1's history, for offset vs keyset comparison
+        long warehouseMovements = movementRepository.searchMovements(WAREHOUSE_ID, null, null, null,
+                PageRequest.of(0, 1)).getTotalElements();
+        deepPage = PageRequest.of((int) (warehouseMovements / 2 / PAGE_SIZE), PAGE_SIZE,
+                Sort.by("createdAt").descending().and(Sort.by("id").descending()));
+        StockMovement deepFirst = movementRepository.searchMovements(WAREHOUSE_ID, null, null, null, deepPage)
+                .getContent().get(0);
+        deepCreatedAt = deepFirst.getCreatedAt();
+        deepId = deepFirst.getId();
+
+        reportRequest = new SoapTypes.GetStockReportRequest();
+        reportRequest.setWarehouseId(WAREHOUSE_ID);
+        reportRequest.setFromDate(LocalDate.now().minusDays(90));
+        reportRequest.setToDate(LocalDate.now());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public DashboardResponse dashboard() {
+        return stockService.getDashboard(null);
+    }
+
+    @Benchmark
+    public Page<StockMovement> searchMovementsFirstPage() {
+        return movementRepository.searchMovements(WAREHOUSE_ID, null, null, null,
+                PageRequest.of(0, PAGE_SIZE, Sort.by("createdAt").descending()));
+    }
+
+    @Benchmark
+    public Page<StockMovement> searchMovementsDeepPage() {
+        return movementRepository.searchMovements(WAREHOUSE_ID, null, null, null, deepPage);
+    }
+
+    @Benchmark
+    public List<StockMovement> seekMovementsDeepPage() {
+        return movementRepository.seekMovements(WAREHOUSE_ID, null, null, null, deepCreatedAt, deepId, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public SoapTypes.GetStockReportResponse stockReport() {
+        return reportEndpoint.getStockReport(reportRequest);
+    }
+}
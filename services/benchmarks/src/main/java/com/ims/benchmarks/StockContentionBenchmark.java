@@ -0,0 +1,102 @@
+package com.ims.benchmarks;
+
+import com.ims.inventory.dto.CreateMovementRequest;
+import com.ims.inventory.entity.StockLevel;
+import com.ims.inventory.entity.StockMovement;
+import com.ims.inventory.repository.StockLevelRepository;
+import com.ims.inventory.service.StockService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Many threads posting movements against one stock row, through the conditional UPDATE or the
+ * in-memory ledger. Throughput is movements per second; at teardown the row's quantity must
+ * equal its starting quantity plus every applied delta, or the trial fails.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx2g"})
+public class StockContentionBenchmark {
+
+    // Far above what the issues can take, so no movement is rejected for insufficient stock
+    private static final int STARTING_STOCK = 100_000_000;
+    private static final int MAX_QUANTITY = 10;
+
+    @Param({"false", "true"})
+    public boolean ledger;
+
+    private ConfigurableApplicationContext context;
+    private StockService stockService;
+    private StockLevel hotRow;
+    private int startingQuantity;
+    private final LongAdder appliedDelta = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = InventoryContext.start(0, "inventory.ledger.enabled=" + ledger);
+        stockService = context.getBean(StockService.class);
+        hotRow = context.getBean(StockLevelRepository.class).findAll().get(0);
+        stockService.createMovement(movement(StockMovement.MovementType.GOODS_RECEIPT, STARTING_STOCK), 1L, "bench@ims.com");
+        startingQuantity = currentQuantity();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        try {
+            long expected = startingQuantity + appliedDelta.sum();
+            int actual = currentQuantity();
+            double retries = context.getBean(MeterRegistry.class).find("inventory.stock.contention")
+                    .counters().stream()
+                    .mapToDouble(Counter::count)
+                    .sum();
+            System.out.printf("%nLedger %s: %d movements applied, %.0f retries, quantity %d (expected %d)%n",
+                    ledger, applied.sum(), retries, actual, expected);
+            if (actual != expected) {
+                throw new IllegalStateException("Lost updates on the hot row: quantity " + actual
+                        + ", expected " + expected);
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Long postMovement() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int quantity = 1 + random.nextInt(MAX_QUANTITY);
+        boolean receipt = random.nextBoolean();
+        Long movementId = stockService.createMovement(movement(receipt
+                        ? StockMovement.MovementType.GOODS_RECEIPT
+                        : StockMovement.MovementType.STOCK_ISSUE, quantity), 1L, "bench@ims.com").getId();
+        // Counted once the movement has committed; a failed movement throws and fails the run
+        appliedDelta.add(receipt ? quantity : -quantity);
+        applied.increment();
+        return movementId;
+    }
+
+    private CreateMovementRequest movement(StockMovement.MovementType type, int quantity) {
+        CreateMovementRequest request = new CreateMovementRequest();
+        request.setWarehouseId(hotRow.getWarehouseId());
+        request.setItemId(hotRow.getItemId());
+        request.setItemSku(hotRow.getItemSku());
+        request.setMovementType(type);
+        request.setQuantity(quantity);
+        request.setReferenceType("BENCHMARK");
+        return request;
+    }
+
+    private int currentQuantity() {
+        return stockService.getStockForItem(hotRow.getWarehouseId(), hotRow.getItemId()).getQuantity();
+    }
+}
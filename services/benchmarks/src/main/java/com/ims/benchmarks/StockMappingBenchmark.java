@@ -0,0 +1,81 @@
+package com.ims.benchmarks;
+
+import com.ims.inventory.dto.MovementFeedResponse;
+import com.ims.inventory.dto.StockLevelResponse;
+import com.ims.inventory.entity.StockLevel;
+import com.ims.inventory.entity.StockMovement;
+import com.ims.inventory.repository.StockLevelRepository;
+import com.ims.inventory.repository.StockMovementRepository;
+import com.ims.inventory.service.StockService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quantity arithmetic and response mapping in {@link StockService}, measured through its public
+ * read paths. Each read is paired with the repository query it wraps, so the mapping cost is
+ * the difference between the two.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StockMappingBenchmark {
+
+    private static final Long WAREHOUSE_ID = 1L;
+    private static final int FEED_PAGE_SIZE = 1000;
+
+    private ConfigurableApplicationContext context;
+    private StockService stockService;
+    private StockLevelRepository stockLevelRepository;
+    private StockMovementRepository movementRepository;
+    private int current = 120;
+    private int quantity = 7;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = InventoryContext.start(10_000);
+        stockService = context.getBean(StockService.class);
+        stockLevelRepository = context.getBean(StockLevelRepository.class);
+        movementRepository = context.getBean(StockMovementRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void calculateNewQuantity(Blackhole blackhole) {
+        for (StockMovement.MovementType type : StockMovement.MovementType.values()) {
+            blackhole.consume(StockService.calculateNewQuantity(current, type, quantity));
+        }
+    }
+
+    @Benchmark
+    public List<StockLevelResponse> stockByWarehouse() {
+        return stockService.getStockByWarehouse(WAREHOUSE_ID);
+    }
+
+    @Benchmark
+    public List<StockLevel> stockByWarehouseQueryOnly() {
+        return stockLevelRepository.findByWarehouseId(WAREHOUSE_ID);
+    }
+
+    @Benchmark
+    public MovementFeedResponse movementFeedPage() {
+        return stockService.getMovementFeed(WAREHOUSE_ID, null, null, null, null, FEED_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<StockMovement> movementFeedPageQueryOnly() {
+        // The feed reads one extra row to tell whether another page follows
+        return movementRepository.seekMovements(WAREHOUSE_ID, null, null, null, null, null, FEED_PAGE_SIZE + 1);
+    }
+}
@@ -0,0 +1,141 @@
+package com.ims.catalog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache with W-TinyLFU eviction whose entries carry a version. Writers
+ * bump the version once their transaction commits. A reader captures the version before
+ * loading, so a load that raced with a write is stored under the old version and treated as
+ * a miss: a slow reader cannot put back data a writer has just replaced.
+ *
+ * Versions are kept per stripe of keys rather than per key, so they take fixed memory however
+ * many keys are written. A write also turns the entries of the other keys in its stripe into
+ * misses, which only costs a reload.
+ */
+public class NearCache<K, V> {
+
+    private static final int MIN_VERSION_STRIPES = 16;
+    private static final int MAX_VERSION_STRIPES = 1 << 16;
+
+    private final Cache<K, Versioned<V>> entries;
+    private final AtomicLongArray versions;
+    private final Counter hits;
+    private final Counter misses;
+
+    public NearCache(String name, long maximumSize, MeterRegistry meterRegistry) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+        // About one stripe per entry, as a power of two for masking
+        this.versions = new AtomicLongArray(Integer.highestOneBit(
+                (int) Math.max(MIN_VERSION_STRIPES, Math.min(maximumSize, MAX_VERSION_STRIPES))));
+        this.hits = Counter.builder("catalog.cache.gets")
+                .description("Near-cache lookups by result")
+                .tags("cache", name, "result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("catalog.cache.gets")
+                .description("Near-cache lookups by result")
+                .tags("cache", name, "result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("catalog.cache.size", entries, Cache::estimatedSize)
+                .description("Entries held in the near-cache")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The cached value, or the loader's result when absent or stale. A null result is not
+     * cached.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long version = version(key);
+        Versioned<V> entry = entries.getIfPresent(key);
+        if (entry != null && entry.version() == version) {
+            hits.increment();
+            return entry.value();
+        }
+        misses.increment();
+        V value = loader.apply(key);
+        if (value != null) {
+            entries.put(key, new Versioned<>(version, value));
+        }
+        return value;
+    }
+
+    /**
+     * Cached values for the keys, loading every miss with one loader call. Keys the loader
+     * does not return are absent from the result.
+     */
+    public Map<K, V> getAll(Collection<? extends K> keys, Function<Set<K>, Map<K, V>> loader) {
+        Map<K, V> found = new HashMap<>();
+        Map<K, Long> missing = new HashMap<>();
+        for (K key : keys) {
+            long version = version(key);
+            Versioned<V> entry = entries.getIfPresent(key);
+            if (entry != null && entry.version() == version) {
+                found.put(key, entry.value());
+            } else {
+                missing.put(key, version);
+            }
+        }
+        hits.increment(found.size());
+        misses.increment(missing.size());
+        if (!missing.isEmpty()) {
+            loader.apply(missing.keySet()).forEach((key, value) -> {
+                Long version = missing.get(key);
+                if (version != null && value != null) {
+                    found.put(key, value);
+                    entries.put(key, new Versioned<>(version, value));
+                }
+            });
+        }
+        return found;
+    }
+
+    /**
+     * Bumps the key's version and drops its entry once the current transaction commits, or
+     * right away outside a transaction.
+     */
+    public void invalidateAfterCommit(K key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(key);
+            }
+        });
+    }
+
+    public void invalidate(K key) {
+        versions.incrementAndGet(stripe(key));
+        entries.invalidate(key);
+    }
+
+    private long version(K key) {
+        return versions.get(stripe(key));
+    }
+
+    private int stripe(K key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (versions.length() - 1);
+    }
+
+    private record Versioned<V>(long version, V value) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.ims.catalog.config;
+
+import com.ims.catalog.cache.NearCache;
+import com.ims.catalog.dto.CategoryResponse;
+import com.ims.catalog.dto.ItemResponse;
+import com.ims.catalog.dto.SupplierResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    // Item summaries without category and supplier, which are cached on their own
+    @Bean
+    public NearCache<Long, ItemResponse> itemCache(@Value("${catalog.cache.items.max-size:50000}") long maxSize,
+                                                   MeterRegistry meterRegistry) {
+        return new NearCache<>("items", maxSize, meterRegistry);
+    }
+
+    // SKUs cannot change, so this mapping is never invalidated
+    @Bean
+    public NearCache<String, Long> itemIdBySkuCache(@Value("${catalog.cache.items.max-size:50000}") long maxSize,
+                                                    MeterRegistry meterRegistry) {
+        return new NearCache<>("item-skus", maxSize, meterRegistry);
+    }
+
+    @Bean
+    public NearCache<Long, CategoryResponse> categoryCache(@Value("${catalog.cache.categories.max-size:1000}") long maxSize,
+                                                           MeterRegistry meterRegistry) {
+        return new NearCache<>("categories", maxSize, meterRegistry);
+    }
+
+    @Bean
+    public NearCache<Long, SupplierResponse> supplierCache(@Value("${catalog.cache.suppliers.max-size:1000}") long maxSize,
+                                                           MeterRegistry meterRegistry) {
+        return new NearCache<>("suppliers", maxSize, meterRegistry);
+    }
+}
@@ -6,6 +6,7 @@ import com.ims.catalog.entity.Supplier;
 import com.ims.catalog.repository.CategoryRepository;
 import com.ims.catalog.repository.ItemRepository;
 import com.ims.catalog.repository.SupplierRepository;
+import com.ims.catalog.service.CategoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -21,6 +22,7 @@ import java.util.List;
 public class DataInitializer implements CommandLineRunner {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryService categoryService;
     private final SupplierRepository supplierRepository;
     private final ItemRepository itemRepository;
 
@@ -32,6 +34,8 @@ public class DataInitializer implements CommandLineRunner {
         Category packaging = createCategory("Packaging", "Packaging materials and supplies");
         Category tools = createCategory("Tools", "Hand tools and power tools");
         Category safety = createCategory("Safety", "Safety equipment and PPE");
+        Category ppe = createCategory("PPE", "Personal protective equipment", safety);
+        Category gloves = createCategory("Gloves", "Work and protective gloves", ppe);
 
         // Create Suppliers
         Supplier techSupply = createSupplier("TechSupply Inc", "John Smith", "john@techsupply.com", "+1-555-0101", "123 Tech Street, Silicon Valley, CA");
@@ -55,11 +59,11 @@ public class DataInitializer implements CommandLineRunner {
             createItem("SKU-BUBBLE-001", "Bubble Wrap Roll", "Bubble wrap 12\" x 175'", packaging, packagingPro, new BigDecimal("24.99"), 30, 200, 50, "ROLL"),
             createItem("SKU-DRILL-001", "Cordless Drill Kit", "18V cordless drill with battery", tools, globalParts, new BigDecimal("149.99"), 10, 50, 15, "SET"),
             createItem("SKU-TOOL-001", "Tool Set 150pc", "Comprehensive mechanic tool set", tools, globalParts, new BigDecimal("199.99"), 5, 30, 10, "SET"),
-            createItem("SKU-HELMET-001", "Safety Helmet", "OSHA-approved hard hat", safety, safetyFirst, new BigDecimal("29.99"), 30, 200, 50, "UNIT"),
-            createItem("SKU-VEST-001", "High-Vis Safety Vest", "Reflective safety vest Class 3", safety, safetyFirst, new BigDecimal("19.99"), 50, 300, 75, "UNIT"),
-            createItem("SKU-GLOVES-001", "Work Gloves", "Cut-resistant work gloves", safety, safetyFirst, new BigDecimal("14.99"), 100, 500, 150, "PAIR"),
-            createItem("SKU-GLASSES-001", "Safety Glasses", "Anti-fog safety glasses", safety, safetyFirst, new BigDecimal("9.99"), 100, 500, 150, "UNIT"),
-            createItem("SKU-EARPLUG-001", "Ear Plugs Box", "Disposable ear plugs - box of 200", safety, safetyFirst, new BigDecimal("34.99"), 20, 100, 30, "BOX"),
+            createItem("SKU-HELMET-001", "Safety Helmet", "OSHA-approved hard hat", ppe, safetyFirst, new BigDecimal("29.99"), 30, 200, 50, "UNIT"),
+            createItem("SKU-VEST-001", "High-Vis Safety Vest", "Reflective safety vest Class 3", ppe, safetyFirst, new BigDecimal("19.99"), 50, 300, 75, "UNIT"),
+            createItem("SKU-GLOVES-001", "Work Gloves", "Cut-resistant work gloves", gloves, safetyFirst, new BigDecimal("14.99"), 100, 500, 150, "PAIR"),
+            createItem("SKU-GLASSES-001", "Safety Glasses", "Anti-fog safety glasses", ppe, safetyFirst, new BigDecimal("9.99"), 100, 500, 150, "UNIT"),
+            createItem("SKU-EARPLUG-001", "Ear Plugs Box", "Disposable ear plugs - box of 200", ppe, safetyFirst, new BigDecimal("34.99"), 20, 100, 30, "BOX"),
             createItem("SKU-FIRSTAID-001", "First Aid Kit", "OSHA-compliant first aid kit", safety, safetyFirst, new BigDecimal("49.99"), 10, 50, 15, "KIT")
         );
 
@@ -68,11 +72,14 @@ public class DataInitializer implements CommandLineRunner {
     }
 
     private Category createCategory(String name, String description) {
+        return createCategory(name, description, null);
+    }
+
+    // Through the category service, which maintains the closure table
+    private Category createCategory(String name, String description, Category parent) {
         return categoryRepository.findByName(name)
-                .orElseGet(() -> categoryRepository.save(Category.builder()
-                        .name(name)
-                        .description(description)
-                        .build()));
+                .orElseGet(() -> categoryService.addCategory(name, description,
+                        parent != null ? parent.getId() : null));
     }
 
     private Supplier createSupplier(String name, String contactPerson, String email, String phone, String address) {
@@ -0,0 +1,16 @@
+package com.ims.catalog.config;
+
+import com.ims.catalog.graphql.PersistedQueryRegistry;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class GraphQlConfig {
+
+    // Instrumentation beans are picked up by Spring Boot; the document provider has to be set here
+    @Bean
+    public GraphQlSourceBuilderCustomizer persistedQueryCustomizer(PersistedQueryRegistry persistedQueryRegistry) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(persistedQueryRegistry));
+    }
+}
@@ -2,6 +2,8 @@ package com.ims.catalog.controller;
 
 import com.ims.catalog.dto.CategoryResponse;
 import com.ims.catalog.dto.CreateCategoryRequest;
+import com.ims.catalog.dto.MoveCategoryRequest;
+import com.ims.catalog.dto.UpdateCategoryRequest;
 import com.ims.catalog.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -46,10 +48,18 @@ public class CategoryController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Update category (Admin only)")
     public ResponseEntity<CategoryResponse> updateCategory(@PathVariable Long id,
-                                                           @Valid @RequestBody CreateCategoryRequest request) {
+                                                           @Valid @RequestBody UpdateCategoryRequest request) {
         return ResponseEntity.ok(categoryService.updateCategory(id, request));
     }
 
+    @PutMapping("/{id}/parent")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Move category with its subcategories under another parent (Admin only)")
+    public ResponseEntity<CategoryResponse> moveCategory(@PathVariable Long id,
+                                                         @RequestBody MoveCategoryRequest request) {
+        return ResponseEntity.ok(categoryService.moveCategory(id, request));
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Delete category (Admin only)")
@@ -0,0 +1,53 @@
+package com.ims.catalog.controller;
+
+import com.ims.catalog.dto.ImportJobResponse;
+import com.ims.catalog.service.ItemImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/catalog/imports")
+@RequiredArgsConstructor
+@Tag(name = "Imports", description = "Bulk catalog import endpoints")
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("hasRole('ADMIN')")
+public class ImportController {
+
+    private final ItemImportService importService;
+
+    @PostMapping(consumes = {"text/csv", "application/x-ndjson", MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Start importing items from a CSV (with header) or NDJSON body; poll the job it returns (Admin only)")
+    public ResponseEntity<ImportJobResponse> importItems(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                         InputStream body) {
+        ItemImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? ItemImportService.Format.CSV
+                : ItemImportService.Format.NDJSON;
+        ImportJobResponse job = importService.startImport(body, format);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/catalog/imports/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping
+    @Operation(summary = "Recent import jobs (Admin only)")
+    public ResponseEntity<List<ImportJobResponse>> getJobs() {
+        return ResponseEntity.ok(importService.getJobs());
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Import job progress (Admin only)")
+    public ResponseEntity<ImportJobResponse> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(importService.getJob(id));
+    }
+}
@@ -0,0 +1,30 @@
+package com.ims.catalog.controller;
+
+import com.ims.catalog.dto.ItemChangeFeedResponse;
+import com.ims.catalog.service.ItemChangeFeed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/catalog/changes")
+@RequiredArgsConstructor
+@Tag(name = "Item changes", description = "Item change feed for services that copy item fields")
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("hasAnyRole('ADMIN', 'SERVICE')")
+public class ItemChangeController {
+
+    private final ItemChangeFeed changeFeed;
+
+    @GetMapping
+    @Operation(summary = "Item changes after the given change id, oldest first (Admin or service only)")
+    public ResponseEntity<ItemChangeFeedResponse> getChanges(
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(changeFeed.getChanges(after, limit));
+    }
+}
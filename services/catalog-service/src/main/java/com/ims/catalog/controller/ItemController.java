@@ -45,6 +45,27 @@ public class ItemController {
         return ResponseEntity.ok(itemService.getItemBySku(sku));
     }
 
+    @GetMapping("/by-ids")
+    @Operation(summary = "Get up to 500 items by ID, in request order")
+    public ResponseEntity<List<ItemResponse>> getItemsByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(itemService.getItemsByIds(ids));
+    }
+
+    @GetMapping("/by-skus")
+    @Operation(summary = "Get up to 500 items by SKU, in request order")
+    public ResponseEntity<List<ItemResponse>> getItemsBySkus(@RequestParam List<String> skus) {
+        return ResponseEntity.ok(itemService.getItemsBySkus(skus));
+    }
+
+    @GetMapping("/prices")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SERVICE')")
+    @Operation(summary = "Unit prices in cents of items after the given id, by id (Admin or service only)")
+    public ResponseEntity<ItemPricePageResponse> getPrices(
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(defaultValue = "5000") int limit) {
+        return ResponseEntity.ok(itemService.getPrices(after, limit));
+    }
+
     @GetMapping("/search")
     @Operation(summary = "Search items by text")
     public ResponseEntity<Page<ItemResponse>> searchItems(
@@ -54,6 +75,14 @@ public class ItemController {
         return ResponseEntity.ok(itemService.searchByText(search, page, size));
     }
 
+    @GetMapping("/suggest")
+    @Operation(summary = "Typeahead suggestions by SKU or name prefix, most viewed first")
+    public ResponseEntity<List<ItemSuggestionResponse>> suggestItems(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(itemService.suggestItems(prefix, limit));
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Create new item (Admin only)")
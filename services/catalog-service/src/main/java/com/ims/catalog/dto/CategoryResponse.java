@@ -13,4 +13,5 @@ public class CategoryResponse {
     private Long id;
     private String name;
     private String description;
+    private Long parentId;
 }
@@ -8,4 +8,5 @@ public class CreateCategoryRequest {
     @NotBlank(message = "Name is required")
     private String name;
     private String description;
+    private Long parentId; // Null for a top-level category
 }
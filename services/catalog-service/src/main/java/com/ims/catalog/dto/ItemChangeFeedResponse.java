@@ -0,0 +1,18 @@
+package com.ims.catalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemChangeFeedResponse {
+    private List<ItemChangeResponse> changes;
+    private boolean hasMore;
+    private Long lastId; // Pass back as ?after= to continue
+}
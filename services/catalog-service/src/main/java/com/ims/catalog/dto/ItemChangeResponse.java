@@ -0,0 +1,25 @@
+package com.ims.catalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemChangeResponse {
+    private Long id;
+    private Long itemId;
+    private String sku;
+    private String name;
+    private BigDecimal unitPrice;
+    private Integer minStockLevel;
+    private Integer maxStockLevel;
+    private boolean active;
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,42 @@
+package com.ims.catalog.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * One item in a bulk import, read from a CSV row (by header name) or an NDJSON line.
+ * Category and supplier are given by name. Optional fields left empty keep their current
+ * value when the SKU already exists.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ItemImportRow {
+    @NotBlank(message = "SKU is required")
+    @Size(max = 50, message = "SKU must be at most 50 characters")
+    private String sku;
+
+    @NotBlank(message = "Name is required")
+    private String name;
+
+    @Size(max = 1000, message = "Description must be at most 1000 characters")
+    private String description;
+
+    private String category;
+
+    private String supplier;
+
+    @NotNull(message = "Unit price is required")
+    @Positive(message = "Unit price must be positive")
+    private BigDecimal unitPrice;
+
+    private Integer minStockLevel;
+    private Integer maxStockLevel;
+    private Integer reorderPoint;
+    private String unitOfMeasure;
+}
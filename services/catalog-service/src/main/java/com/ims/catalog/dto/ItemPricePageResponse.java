@@ -0,0 +1,17 @@
+package com.ims.catalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemPricePageResponse {
+    private long[] itemIds; // Ascending
+    private long[] unitPriceCents; // Parallel to itemIds
+    private boolean hasMore;
+    private Long lastId; // Pass back as ?after= to continue
+}
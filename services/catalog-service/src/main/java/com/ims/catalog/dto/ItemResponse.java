@@ -1,5 +1,6 @@
 package com.ims.catalog.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,7 +10,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ItemResponse {
@@ -19,6 +20,11 @@ public class ItemResponse {
     private String description;
     private CategoryResponse category;
     private SupplierResponse supplier;
+    // Foreign keys for GraphQL batch loading of category and supplier
+    @JsonIgnore
+    private Long categoryId;
+    @JsonIgnore
+    private Long supplierId;
     private BigDecimal unitPrice;
     private Integer minStockLevel;
     private Integer maxStockLevel;
@@ -0,0 +1,16 @@
+package com.ims.catalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemSuggestionResponse {
+    private Long id;
+    private String sku;
+    private String name;
+}
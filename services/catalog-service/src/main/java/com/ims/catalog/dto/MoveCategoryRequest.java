@@ -0,0 +1,8 @@
+package com.ims.catalog.dto;
+
+import lombok.Data;
+
+@Data
+public class MoveCategoryRequest {
+    private Long parentId; // Null moves the category to the top level
+}
@@ -0,0 +1,11 @@
+package com.ims.catalog.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class UpdateCategoryRequest {
+    @NotBlank(message = "Name is required")
+    private String name;
+    private String description;
+}
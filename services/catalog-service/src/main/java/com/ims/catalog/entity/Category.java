@@ -5,8 +5,14 @@ import lombok.*;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * A node of the category tree. The tree is also kept as a closure table
+ * ({@link CategoryClosure}) by the category service for subtree queries.
+ */
 @Entity
-@Table(name = "categories")
+@Table(name = "categories", indexes = {
+        @Index(name = "idx_categories_parent", columnList = "parent_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,6 +27,10 @@ public class Category {
 
     private String description;
 
+    // Null for a top-level category
+    @Column(name = "parent_id")
+    private Long parentId;
+
     @OneToMany(mappedBy = "category", fetch = FetchType.LAZY)
     @Builder.Default
     private List<Item> items = new ArrayList<>();
@@ -0,0 +1,35 @@
+package com.ims.catalog.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One ancestor-descendant pair of the category tree, including each category paired with
+ * itself at depth 0. A subtree is then the rows of one ancestor, read from the unique index
+ * with no recursion.
+ */
+@Entity
+@Table(name = "category_closure", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_category_closure", columnNames = {"ancestor_id", "descendant_id"})
+}, indexes = {
+        @Index(name = "idx_category_closure_descendant", columnList = "descendant_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryClosure {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ancestor_id", nullable = false)
+    private Long ancestorId;
+
+    @Column(name = "descendant_id", nullable = false)
+    private Long descendantId;
+
+    // Edges between them; 1 for a direct child
+    @Column(nullable = false)
+    private Integer depth;
+}
@@ -0,0 +1,54 @@
+package com.ims.catalog.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row for the item change feed, written in the same transaction as the change. It
+ * carries the fields other services copy from the item, as they stood after the change.
+ * The feed sequence is given out after the row has committed.
+ */
+@Entity
+@Table(name = "item_changes", indexes = {
+        @Index(name = "idx_item_changes_created", columnList = "created_at"),
+        @Index(name = "idx_item_changes_sequence", columnList = "feed_sequence", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(nullable = false, length = 50)
+    private String sku;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "unit_price", precision = 12, scale = 2)
+    private BigDecimal unitPrice;
+
+    @Column(name = "min_stock_level")
+    private Integer minStockLevel;
+
+    @Column(name = "max_stock_level")
+    private Integer maxStockLevel;
+
+    @Column(nullable = false)
+    private boolean active;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "feed_sequence")
+    private Long sequence;
+}
@@ -4,10 +4,12 @@ import com.ims.catalog.dto.*;
 import com.ims.catalog.service.CategoryService;
 import com.ims.catalog.service.ItemService;
 import com.ims.catalog.service.SupplierService;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,6 +19,8 @@ import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Controller
 @RequiredArgsConstructor
@@ -30,39 +34,50 @@ public class CatalogGraphQLController {
     // ==================== Queries ====================
 
     @QueryMapping
-    public Map<String, Object> items(@Argument Integer page, @Argument Integer size) {
+    public Map<String, Object> items(@Argument Integer page, @Argument Integer size,
+                                     DataFetchingFieldSelectionSet selectionSet) {
         int pageNum = page != null ? page : 0;
         int pageSize = size != null ? size : 20;
         
-        Page<ItemResponse> itemPage = itemService.getAllItems(pageNum, pageSize);
-        
+        // Only query what was selected: the item columns in content, and the count for totals
         Map<String, Object> result = new HashMap<>();
-        result.put("content", itemPage.getContent());
-        result.put("totalElements", itemPage.getTotalElements());
-        result.put("totalPages", itemPage.getTotalPages());
-        result.put("number", itemPage.getNumber());
-        result.put("size", itemPage.getSize());
+        if (selectionSet.contains("content")) {
+            result.put("content", itemService.getItemProjections(pageNum, pageSize, selectedFields(selectionSet, "content/*")));
+        }
+        if (selectionSet.containsAnyOf("totalElements", "totalPages")) {
+            long totalElements = itemService.countActiveItems();
+            result.put("totalElements", totalElements);
+            result.put("totalPages", pageSize == 0 ? 1 : (int) Math.ceil((double) totalElements / pageSize));
+        }
+        result.put("number", pageNum);
+        result.put("size", pageSize);
         
         return result;
     }
 
     @QueryMapping
     public ItemResponse item(@Argument Long id) {
-        return itemService.getItemById(id);
+        return itemService.getItemSummaryById(id);
     }
 
     @QueryMapping
     public ItemResponse itemBySku(@Argument String sku) {
-        return itemService.getItemBySku(sku);
+        return itemService.getItemSummaryBySku(sku);
     }
 
     @QueryMapping
     public List<ItemResponse> searchItems(@Argument String text, 
                                           @Argument Long categoryId,
                                           @Argument Integer minStock,
-                                          @Argument Integer maxStock) {
+                                          @Argument Integer maxStock,
+                                          DataFetchingFieldSelectionSet selectionSet) {
         log.info("GraphQL searchItems: text={}, categoryId={}", text, categoryId);
-        return itemService.searchItems(text, categoryId);
+        return itemService.searchItemProjections(text, categoryId, selectedFields(selectionSet, "*"));
+    }
+
+    @QueryMapping
+    public List<ItemSuggestionResponse> suggestItems(@Argument String prefix, @Argument Integer limit) {
+        return itemService.suggestItems(prefix, limit != null ? limit : 10);
     }
 
     @QueryMapping
@@ -85,6 +100,24 @@ public class CatalogGraphQLController {
         return supplierService.getSupplierById(id);
     }
 
+    private static Set<String> selectedFields(DataFetchingFieldSelectionSet selectionSet, String glob) {
+        return selectionSet.getFields(glob).stream()
+                .map(SelectedField::getName)
+                .collect(Collectors.toSet());
+    }
+
+    // ==================== Item associations ====================
+
+    @BatchMapping(typeName = "Item")
+    public List<CategoryResponse> category(List<ItemResponse> items) {
+        return itemService.getCategoriesOf(items);
+    }
+
+    @BatchMapping(typeName = "Item")
+    public List<SupplierResponse> supplier(List<ItemResponse> items) {
+        return itemService.getSuppliersOf(items);
+    }
+
     // ==================== Mutations ====================
 
     @MutationMapping
@@ -146,6 +179,7 @@ public class CatalogGraphQLController {
         CreateCategoryRequest request = new CreateCategoryRequest();
         request.setName(input.getName());
         request.setDescription(input.getDescription());
+        request.setParentId(input.getParentId());
         return categoryService.createCategory(request);
     }
 
@@ -195,6 +229,7 @@ public class CatalogGraphQLController {
     public static class CreateCategoryInput {
         private String name;
         private String description;
+        private Long parentId;
     }
 
     @lombok.Data
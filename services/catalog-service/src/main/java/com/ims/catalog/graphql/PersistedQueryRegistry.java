@@ -0,0 +1,132 @@
+package com.ims.catalog.graphql;
+
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.PersistedQueryError;
+import graphql.execution.preparsed.persisted.PersistedQueryIdInvalid;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Parsed and validated GraphQL documents keyed by the SHA-256 hash of their query text, so a
+ * query is parsed and validated once rather than on every request.
+ *
+ * Clients can also use Apollo-style persisted queries: send
+ * {@code extensions.persistedQuery.sha256Hash} with the full query once, then only the hash
+ * with {@code "query": "PersistedQueryMarker"} (a query text is always required). Unknown
+ * hashes get a PERSISTED_QUERY_NOT_FOUND error and the client resends the full query.
+ * The least recently used documents are evicted beyond the configured size.
+ */
+@Component
+@Slf4j
+public class PersistedQueryRegistry implements PreparsedDocumentProvider {
+
+    private final Map<String, PreparsedDocumentEntry> documents;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter notFound;
+    private final Counter invalid;
+
+    public PersistedQueryRegistry(@Value("${catalog.graphql.document-cache-size:1000}") int maxDocuments,
+                                  MeterRegistry meterRegistry) {
+        this.documents = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparsedDocumentEntry> eldest) {
+                return size() > maxDocuments;
+            }
+        });
+        this.hits = documentCounter(meterRegistry, "hit");
+        this.misses = documentCounter(meterRegistry, "miss");
+        this.notFound = documentCounter(meterRegistry, "not_found");
+        this.invalid = documentCounter(meterRegistry, "invalid");
+        Gauge.builder("catalog.graphql.documents.cached", documents, Map::size)
+                .description("Parsed GraphQL documents held in the registry")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+                                              Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        String query = executionInput.getQuery();
+        String clientHash = persistedQueryHash(executionInput);
+
+        if (query == null || query.isBlank() || PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query)) {
+            if (clientHash == null) {
+                return parseAndValidateFunction.apply(executionInput);
+            }
+            PreparsedDocumentEntry entry = documents.get(clientHash.toLowerCase());
+            if (entry == null) {
+                notFound.increment();
+                return errorEntry(new PersistedQueryNotFound(clientHash), clientHash);
+            }
+            hits.increment();
+            return entry;
+        }
+
+        String hash = sha256(query);
+        if (clientHash != null && !clientHash.equalsIgnoreCase(hash)) {
+            invalid.increment();
+            return errorEntry(new PersistedQueryIdInvalid(clientHash), clientHash);
+        }
+        PreparsedDocumentEntry entry = documents.get(hash);
+        if (entry != null) {
+            hits.increment();
+            return entry;
+        }
+        misses.increment();
+        entry = parseAndValidateFunction.apply(executionInput);
+        documents.put(hash, entry);
+        return entry;
+    }
+
+    private static String persistedQueryHash(ExecutionInput executionInput) {
+        Map<String, Object> extensions = executionInput.getExtensions();
+        if (extensions != null && extensions.get("persistedQuery") instanceof Map<?, ?> persistedQuery
+                && persistedQuery.get("sha256Hash") instanceof String hash && !hash.isBlank()) {
+            return hash;
+        }
+        return null;
+    }
+
+    // Apollo clients match on the message (PersistedQueryNotFound / PersistedQueryIdInvalid)
+    private static PreparsedDocumentEntry errorEntry(PersistedQueryError error, String hash) {
+        return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError()
+                .errorType(error)
+                .message(error.getMessage())
+                .extensions(Map.of("persistedQueryId", hash))
+                .build());
+    }
+
+    private static String sha256(String query) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Counter documentCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("catalog.graphql.documents")
+                .description("GraphQL document lookups by result; hit / (hit + miss) is the cache hit rate")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
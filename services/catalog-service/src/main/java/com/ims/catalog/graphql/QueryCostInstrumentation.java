@@ -0,0 +1,136 @@
+package com.ims.catalog.graphql;
+
+import graphql.ExecutionResult;
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.analysis.QueryComplexityCalculator;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLTypeUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Static cost and depth limits checked before a query executes. Every field costs 1 plus
+ * its selections; a list field multiplies its selections by the expected list length, taken
+ * from a {@code size} or {@code limit} argument on the field or its parent (so
+ * {@code items(size: 500) { content { ... } }} counts 500 items) and otherwise a default.
+ * Introspection fields are neither multiplied nor counted towards depth.
+ */
+@Component
+@Slf4j
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    private final int maxCost;
+    private final int maxDepth;
+    private final int defaultListSize;
+    private final DistributionSummary costs;
+    private final DistributionSummary depths;
+    private final Counter rejectedByCost;
+    private final Counter rejectedByDepth;
+
+    public QueryCostInstrumentation(@Value("${catalog.graphql.max-cost:10000}") int maxCost,
+                                    @Value("${catalog.graphql.max-depth:10}") int maxDepth,
+                                    @Value("${catalog.graphql.default-list-size:100}") int defaultListSize,
+                                    MeterRegistry meterRegistry) {
+        this.maxCost = maxCost;
+        this.maxDepth = maxDepth;
+        this.defaultListSize = defaultListSize;
+        this.costs = DistributionSummary.builder("catalog.graphql.query.cost")
+                .description("Static cost of GraphQL operations")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.depths = DistributionSummary.builder("catalog.graphql.query.depth")
+                .description("Selection depth of GraphQL operations")
+                .register(meterRegistry);
+        this.rejectedByCost = rejectedCounter(meterRegistry, "cost");
+        this.rejectedByDepth = rejectedCounter(meterRegistry, "depth");
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        ExecutionContext context = parameters.getExecutionContext();
+        int[] depth = {0};
+        int cost = QueryComplexityCalculator.newCalculator()
+                .fieldComplexityCalculator((env, childCost) -> fieldCost(env, childCost, depth))
+                .schema(context.getGraphQLSchema())
+                .document(context.getDocument())
+                .operationName(context.getExecutionInput().getOperationName())
+                .variables(context.getCoercedVariables())
+                .build()
+                .calculate();
+        costs.record(cost);
+        depths.record(depth[0]);
+
+        if (cost > maxCost) {
+            rejectedByCost.increment();
+            log.warn("Rejected GraphQL operation {} with cost {} (limit {})",
+                    context.getExecutionInput().getOperationName(), cost, maxCost);
+            throw new AbortExecutionException("Query cost " + cost + " exceeds the limit of " + maxCost
+                    + "; request fewer items or fields");
+        }
+        if (depth[0] > maxDepth) {
+            rejectedByDepth.increment();
+            throw new AbortExecutionException("Query depth " + depth[0] + " exceeds the limit of " + maxDepth);
+        }
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    private int fieldCost(FieldComplexityEnvironment env, int childCost, int[] depth) {
+        if (isIntrospection(env)) {
+            return 1 + childCost;
+        }
+        int fieldDepth = 0;
+        for (FieldComplexityEnvironment e = env; e != null; e = e.getParentEnvironment()) {
+            fieldDepth++;
+        }
+        depth[0] = Math.max(depth[0], fieldDepth);
+
+        boolean list = GraphQLTypeUtil.unwrapNonNull(env.getFieldDefinition().getType()) instanceof GraphQLList;
+        if (!list) {
+            return 1 + childCost;
+        }
+        long cost = 1 + (long) Math.max(childCost, 1) * expectedListSize(env);
+        return (int) Math.min(cost, Integer.MAX_VALUE);
+    }
+
+    private int expectedListSize(FieldComplexityEnvironment env) {
+        Integer size = sizeArgument(env.getArguments());
+        if (size == null && env.getParentEnvironment() != null) {
+            size = sizeArgument(env.getParentEnvironment().getArguments());
+        }
+        return size != null ? Math.max(size, 0) : defaultListSize;
+    }
+
+    private static Integer sizeArgument(Map<String, Object> arguments) {
+        Object size = arguments.get("size");
+        if (size == null) {
+            size = arguments.get("limit");
+        }
+        return size instanceof Number number ? number.intValue() : null;
+    }
+
+    private static boolean isIntrospection(FieldComplexityEnvironment env) {
+        return env.getField().getName().startsWith("__") || env.getParentType().getName().startsWith("__");
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("catalog.graphql.query.rejected")
+                .description("GraphQL operations rejected before execution")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.ims.catalog.repository;
+
+import com.ims.catalog.entity.CategoryClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, Long> {
+
+    // The category itself and all of its descendants
+    @Query("SELECT c.descendantId FROM CategoryClosure c WHERE c.ancestorId = :ancestorId ORDER BY c.descendantId")
+    List<Long> findSubtreeIds(@Param("ancestorId") Long ancestorId);
+
+    List<CategoryClosure> findByAncestorId(Long ancestorId);
+
+    List<CategoryClosure> findByDescendantId(Long descendantId);
+
+    boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+
+    /**
+     * Detaches the subtree under the given category from the ancestors above it, keeping the
+     * links within the subtree.
+     */
+    @Modifying
+    @Query("DELETE FROM CategoryClosure c WHERE " +
+           "c.descendantId IN (SELECT s.descendantId FROM CategoryClosure s WHERE s.ancestorId = :categoryId) " +
+           "AND c.ancestorId NOT IN (SELECT s.descendantId FROM CategoryClosure s WHERE s.ancestorId = :categoryId)")
+    int detachSubtree(@Param("categoryId") Long categoryId);
+
+    @Modifying
+    @Query("DELETE FROM CategoryClosure c WHERE c.descendantId = :categoryId")
+    int deleteByDescendant(@Param("categoryId") Long categoryId);
+}
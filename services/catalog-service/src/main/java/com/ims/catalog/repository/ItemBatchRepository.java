@@ -0,0 +1,14 @@
+package com.ims.catalog.repository;
+
+import com.ims.catalog.entity.Item;
+
+import java.util.List;
+
+public interface ItemBatchRepository {
+
+    /**
+     * Updates the items whose SKU exists and inserts the rest, with JDBC batches. Unset
+     * optional columns keep their current value on update. Returns how many were inserted.
+     */
+    int upsertBatch(List<Item> items);
+}
@@ -0,0 +1,64 @@
+package com.ims.catalog.repository;
+
+import com.ims.catalog.entity.Item;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ItemBatchRepositoryImpl implements ItemBatchRepository {
+
+    private static final String UPDATE_SQL = "UPDATE items SET name = ?, description = COALESCE(?, description), " +
+            "category_id = COALESCE(?, category_id), supplier_id = COALESCE(?, supplier_id), unit_price = ?, " +
+            "min_stock_level = COALESCE(?, min_stock_level), max_stock_level = COALESCE(?, max_stock_level), " +
+            "reorder_point = COALESCE(?, reorder_point), unit_of_measure = COALESCE(?, unit_of_measure), " +
+            "updated_at = ? WHERE sku = ?";
+
+    private static final String INSERT_SQL = "INSERT INTO items (name, description, category_id, supplier_id, " +
+            "unit_price, min_stock_level, max_stock_level, reorder_point, unit_of_measure, updated_at, sku, " +
+            "active, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, TRUE, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int upsertBatch(List<Item> items) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> args = new ArrayList<>(items.size());
+        for (Item item : items) {
+            args.add(new Object[]{item.getName(), item.getDescription(),
+                    item.getCategory() != null ? item.getCategory().getId() : null,
+                    item.getSupplier() != null ? item.getSupplier().getId() : null,
+                    item.getUnitPrice(), item.getMinStockLevel(), item.getMaxStockLevel(), item.getReorderPoint(),
+                    item.getUnitOfMeasure(), now, item.getSku()});
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, args);
+        List<Object[]> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                Item item = items.get(i);
+                Object[] insert = args.get(i).clone();
+                // New items get the entity defaults for columns the import left empty
+                insert[5] = item.getMinStockLevel() != null ? item.getMinStockLevel() : 10;
+                insert[6] = item.getMaxStockLevel() != null ? item.getMaxStockLevel() : 1000;
+                insert[7] = item.getReorderPoint() != null ? item.getReorderPoint() : 20;
+                insert[8] = item.getUnitOfMeasure() != null ? item.getUnitOfMeasure() : "UNIT";
+                missing.add(append(insert, now));
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, missing);
+        }
+        return missing.size();
+    }
+
+    private static Object[] append(Object[] args, Object value) {
+        Object[] extended = new Object[args.length + 1];
+        System.arraycopy(args, 0, extended, 0, args.length);
+        extended[args.length] = value;
+        return extended;
+    }
+}
@@ -0,0 +1,23 @@
+package com.ims.catalog.repository;
+
+import com.ims.catalog.entity.ItemChange;
+
+import java.util.List;
+
+public interface ItemChangeBatchRepository {
+
+    /**
+     * Inserts the changes with one JDBC batch statement.
+     */
+    void insertBatch(List<ItemChange> changes);
+
+    /**
+     * Ids of committed changes without a feed sequence yet, oldest first.
+     */
+    List<Long> findUnsequencedIds(int limit);
+
+    /**
+     * Numbers the changes with consecutive feed sequences from {@code firstSequence}, in list order.
+     */
+    void assignSequences(List<Long> ids, long firstSequence);
+}
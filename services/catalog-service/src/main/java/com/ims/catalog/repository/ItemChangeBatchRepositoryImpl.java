@@ -0,0 +1,46 @@
+package com.ims.catalog.repository;
+
+import com.ims.catalog.entity.ItemChange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ItemChangeBatchRepositoryImpl implements ItemChangeBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO item_changes (item_id, sku, name, unit_price, " +
+            "min_stock_level, max_stock_level, active, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UNSEQUENCED_SQL =
+            "SELECT id FROM item_changes WHERE feed_sequence IS NULL ORDER BY id LIMIT ?";
+
+    private static final String SEQUENCE_SQL = "UPDATE item_changes SET feed_sequence = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertBatch(List<ItemChange> changes) {
+        List<Object[]> args = new ArrayList<>(changes.size());
+        for (ItemChange change : changes) {
+            args.add(new Object[]{change.getItemId(), change.getSku(), change.getName(), change.getUnitPrice(),
+                    change.getMinStockLevel(), change.getMaxStockLevel(), change.isActive(), change.getCreatedAt()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+
+    @Override
+    public List<Long> findUnsequencedIds(int limit) {
+        return jdbcTemplate.queryForList(UNSEQUENCED_SQL, Long.class, limit);
+    }
+
+    @Override
+    public void assignSequences(List<Long> ids, long firstSequence) {
+        List<Object[]> args = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            args.add(new Object[]{firstSequence + i, ids.get(i)});
+        }
+        jdbcTemplate.batchUpdate(SEQUENCE_SQL, args);
+    }
+}
@@ -0,0 +1,26 @@
+package com.ims.catalog.repository;
+
+import com.ims.catalog.entity.ItemChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ItemChangeRepository extends JpaRepository<ItemChange, Long>, ItemChangeBatchRepository {
+
+    @Query("SELECT c FROM ItemChange c WHERE c.sequence > :afterSequence ORDER BY c.sequence")
+    List<ItemChange> findChangesAfter(@Param("afterSequence") Long afterSequence, Pageable pageable);
+
+    @Query("SELECT MAX(c.sequence) FROM ItemChange c")
+    Long findMaxSequence();
+
+    @Modifying
+    @Query("DELETE FROM ItemChange c WHERE c.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,19 @@
+package com.ims.catalog.repository;
+
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Item reads that select only the given attributes instead of whole entities. Attributes are
+ * entity paths such as {@code "sku"} or {@code "category.id"}; each tuple element is aliased
+ * with its path.
+ */
+public interface ItemProjectionRepository {
+
+    List<Tuple> findActiveProjected(List<String> attributes, Pageable pageable);
+
+    List<Tuple> findProjectedByIds(List<String> attributes, Collection<Long> ids);
+}
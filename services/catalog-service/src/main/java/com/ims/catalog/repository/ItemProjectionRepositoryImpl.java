@@ -0,0 +1,61 @@
+package com.ims.catalog.repository;
+
+import com.ims.catalog.entity.Item;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ItemProjectionRepositoryImpl implements ItemProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Tuple> findActiveProjected(List<String> attributes, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Item> item = query.from(Item.class);
+        query.multiselect(selections(item, attributes))
+                .where(cb.isTrue(item.get("active")))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), item, cb));
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public List<Tuple> findProjectedByIds(List<String> attributes, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        CriteriaQuery<Tuple> query = entityManager.getCriteriaBuilder().createTupleQuery();
+        Root<Item> item = query.from(Item.class);
+        query.multiselect(selections(item, attributes))
+                .where(item.get("id").in(ids));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    // Association ids such as "category.id" read the foreign key column without a join
+    private static List<Selection<?>> selections(Root<Item> item, List<String> attributes) {
+        return attributes.stream()
+                .<Selection<?>>map(attribute -> {
+                    Path<?> path = item;
+                    for (String part : attribute.split("\\.")) {
+                        path = path.get(part);
+                    }
+                    return path.alias(attribute);
+                })
+                .toList();
+    }
+}
@@ -8,31 +8,58 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemProjectionRepository,
+        ItemBatchRepository {
     Optional<Item> findBySku(String sku);
+
+    List<Item> findBySkuIn(Collection<String> skus);
+
+    @Query("SELECT i.sku AS sku, i.id AS id FROM Item i WHERE i.sku IN :skus")
+    List<SkuId> findIdsBySkuIn(@Param("skus") Collection<String> skus);
     
     boolean existsBySku(String sku);
     
     List<Item> findByActiveTrue();
     
     Page<Item> findByActiveTrue(Pageable pageable);
+
+    long countByActiveTrue();
     
     List<Item> findByCategoryId(Long categoryId);
     
     List<Item> findBySupplierId(Long supplierId);
     
+    // The category filter covers its whole subtree through the closure table
     @Query("SELECT i FROM Item i WHERE " +
            "(:text IS NULL OR LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
            "OR LOWER(i.sku) LIKE LOWER(CONCAT('%', :text, '%')) " +
            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%'))) " +
-           "AND (:categoryId IS NULL OR i.category.id = :categoryId) " +
+           "AND (:categoryId IS NULL OR i.category.id IN " +
+           "(SELECT c.descendantId FROM CategoryClosure c WHERE c.ancestorId = :categoryId)) " +
            "AND i.active = true")
     List<Item> searchItems(@Param("text") String text, @Param("categoryId") Long categoryId);
     
     @Query("SELECT i FROM Item i WHERE i.name LIKE %:search% OR i.sku LIKE %:search% OR i.description LIKE %:search%")
     Page<Item> searchByText(@Param("search") String search, Pageable pageable);
+
+    @Query("SELECT i.id AS id, i.unitPrice AS unitPrice FROM Item i WHERE i.id > :afterId ORDER BY i.id")
+    List<IdPrice> findPricesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    interface SkuId {
+        String getSku();
+
+        Long getId();
+    }
+
+    interface IdPrice {
+        Long getId();
+
+        BigDecimal getUnitPrice();
+    }
 }
@@ -0,0 +1,541 @@
+package com.ims.catalog.search;
+
+import com.ims.catalog.entity.Item;
+import com.ims.catalog.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over item name, SKU and description.
+ *
+ * Each indexed version of an item is a document with a sequential id; postings per term are
+ * appended in document order and carry a mask of the fields the term occurs in. Re-indexing
+ * an item retires its old document and appends a new one, and retired documents are dropped
+ * by compaction once they outnumber the live ones.
+ *
+ * A query term matches terms equal to it, terms starting with it, and (from three characters)
+ * terms containing it, found through a trigram index over the vocabulary. All query terms
+ * must match; documents are ranked by field and match kind.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSearchIndex {
+
+    private static final int NAME = 1;
+    private static final int SKU = 2;
+    private static final int DESCRIPTION = 4;
+    private static final int FIELD_BITS = 3;
+
+    private static final float EXACT = 1.0f;
+    private static final float PREFIX = 0.6f;
+    private static final float INFIX = 0.3f;
+    private static final float WHOLE_SKU_BONUS = 100f;
+    private static final int MAX_QUERY_TERMS = 8;
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final ItemRepository itemRepository;
+
+    @Value("${catalog.search.max-expansions:64}")
+    private int maxExpansions;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, IntList> postings = new TreeMap<>();
+    private final Map<String, List<String>> trigramTerms = new HashMap<>();
+    private final Map<Long, Integer> docByItem = new HashMap<>();
+    private final Map<String, Integer> docBySku = new HashMap<>();
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    private long[] itemIds = new long[1024];
+    private long[] categoryIds = new long[1024];
+    private final BitSet live = new BitSet();
+    private final BitSet active = new BitSet();
+    private int docCount;
+    private int deadCount;
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.currentTimeMillis();
+        Page<Item> page;
+        int pageNumber = 0;
+        do {
+            page = itemRepository.findAll(PageRequest.of(pageNumber++, LOAD_PAGE_SIZE, Sort.by("id")));
+            lock.writeLock().lock();
+            try {
+                for (Item item : page) {
+                    // Items indexed by a commit during the load are already newer than this page
+                    if (!docByItem.containsKey(item.getId())) {
+                        addDocument(item);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } while (page.hasNext());
+        ready = true;
+        log.info("Item search index built: {} items, {} terms in {} ms",
+                docByItem.size(), postings.size(), System.currentTimeMillis() - started);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // ==================== Updates ====================
+
+    public void index(Item item) {
+        lock.writeLock().lock();
+        try {
+            retire(item.getId());
+            addDocument(item);
+            if (deadCount > 10_000 && deadCount > docByItem.size()) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addDocument(Item item) {
+        int doc = docCount++;
+        if (doc == itemIds.length) {
+            itemIds = Arrays.copyOf(itemIds, doc * 2);
+            categoryIds = Arrays.copyOf(categoryIds, doc * 2);
+        }
+        itemIds[doc] = item.getId();
+        categoryIds[doc] = item.getCategory() != null ? item.getCategory().getId() : 0L;
+        live.set(doc);
+        active.set(doc, item.isActive());
+        docByItem.put(item.getId(), doc);
+
+        Map<String, Integer> fields = new HashMap<>();
+        tokenize(item.getName(), NAME, fields);
+        tokenize(item.getSku(), SKU, fields);
+        tokenize(item.getDescription(), DESCRIPTION, fields);
+        if (item.getSku() != null) {
+            docBySku.put(item.getSku().toLowerCase(Locale.ROOT), doc);
+        }
+        fields.forEach((term, mask) -> postingsFor(term).add(doc << FIELD_BITS | mask));
+    }
+
+    private void retire(Long itemId) {
+        Integer doc = docByItem.remove(itemId);
+        if (doc != null) {
+            live.clear(doc);
+            deadCount++;
+        }
+    }
+
+    private IntList postingsFor(String term) {
+        IntList list = postings.get(term);
+        if (list == null) {
+            list = new IntList();
+            postings.put(term, list);
+            addTrigrams(term);
+        }
+        return list;
+    }
+
+    private void addTrigrams(String term) {
+        for (String gram : trigrams(term)) {
+            trigramTerms.computeIfAbsent(gram, g -> new ArrayList<>()).add(term);
+        }
+    }
+
+    /**
+     * Renumbers live documents densely and rewrites postings without retired documents.
+     */
+    private void compact() {
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            remap[doc] = live.get(doc) ? next++ : -1;
+        }
+
+        long[] newItemIds = new long[Math.max(1024, next * 2)];
+        long[] newCategoryIds = new long[newItemIds.length];
+        BitSet newActive = new BitSet();
+        for (int doc = 0; doc < docCount; doc++) {
+            int target = remap[doc];
+            if (target >= 0) {
+                newItemIds[target] = itemIds[doc];
+                newCategoryIds[target] = categoryIds[doc];
+                newActive.set(target, active.get(doc));
+                docByItem.put(itemIds[doc], target);
+            }
+        }
+        docBySku.replaceAll((sku, doc) -> remap[doc]);
+        docBySku.values().removeIf(doc -> doc < 0);
+
+        for (Iterator<IntList> it = postings.values().iterator(); it.hasNext(); ) {
+            IntList list = it.next();
+            int size = 0;
+            for (int i = 0; i < list.size; i++) {
+                int target = remap[list.data[i] >>> FIELD_BITS];
+                if (target >= 0) {
+                    list.data[size++] = target << FIELD_BITS | (list.data[i] & (1 << FIELD_BITS) - 1);
+                }
+            }
+            list.size = size;
+            if (size == 0) {
+                it.remove();
+            }
+        }
+        trigramTerms.clear();
+        postings.keySet().forEach(this::addTrigrams);
+
+        itemIds = newItemIds;
+        categoryIds = newCategoryIds;
+        active.clear();
+        active.or(newActive);
+        live.clear();
+        live.set(0, next);
+        log.info("Item search index compacted: {} -> {} documents", docCount, next);
+        docCount = next;
+        deadCount = 0;
+    }
+
+    // ==================== Search ====================
+
+    /**
+     * Returns item ids matching every term of {@code text}, best first, skipping {@code offset}
+     * hits and returning at most {@code limit}.
+     *
+     * @param categoryFilter ascending ids of the categories to match, such as a subtree, or null for any
+     */
+    public SearchResult search(String text, long[] categoryFilter, boolean activeOnly, int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokens(text)));
+        if (terms.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+        if (terms.size() > MAX_QUERY_TERMS) {
+            terms = terms.subList(0, MAX_QUERY_TERMS);
+        }
+
+        lock.readLock().lock();
+        try {
+            List<List<Expansion>> expansions = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                List<Expansion> termExpansions = expand(term);
+                if (termExpansions.isEmpty()) {
+                    return new SearchResult(List.of(), 0);
+                }
+                expansions.add(termExpansions);
+            }
+            // Rarest term first keeps the candidate set small
+            expansions.sort(Comparator.comparingLong(ItemSearchIndex::postingCount));
+
+            Scratch work = scratch.get().prepare(docCount);
+            float[] scores = work.scores;
+            byte[] matched = work.matched;
+            IntList candidates = work.candidates;
+            for (int t = 0; t < expansions.size(); t++) {
+                if (t > 0 && candidates.size * (long) expansions.get(t).size() * 16 < postingCount(expansions.get(t))) {
+                    probe(expansions.get(t), t, candidates, scores, matched);
+                    continue;
+                }
+                for (Expansion expansion : expansions.get(t)) {
+                    IntList list = expansion.postings();
+                    for (int i = 0; i < list.size; i++) {
+                        int doc = list.data[i] >>> FIELD_BITS;
+                        // Expansions are ordered best first, so the first hit per term counts
+                        if (matched[doc] == t) {
+                            matched[doc] = (byte) (t + 1);
+                            scores[doc] += fieldWeight(list.data[i]) * expansion.factor();
+                            if (t == 0) {
+                                candidates.add(doc);
+                            }
+                        }
+                    }
+                }
+            }
+
+            Integer wholeSku = docBySku.get(text.trim().toLowerCase(Locale.ROOT));
+            if (wholeSku != null && live.get(wholeSku)) {
+                scores[wholeSku] += WHOLE_SKU_BONUS;
+            }
+
+            try {
+                return collect(candidates, scores, matched, expansions.size(), categoryFilter, activeOnly, offset, limit);
+            } finally {
+                work.reset(wholeSku);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Matches a later query term by binary-searching each remaining candidate in the term's
+     * postings, for when the candidates are far fewer than the postings.
+     */
+    private static void probe(List<Expansion> expansions, int t, IntList candidates, float[] scores, byte[] matched) {
+        for (int i = 0; i < candidates.size; i++) {
+            int doc = candidates.data[i];
+            if (matched[doc] != t) {
+                continue;
+            }
+            for (Expansion expansion : expansions) {
+                int posting = expansion.postings().find(doc);
+                if (posting >= 0) {
+                    matched[doc] = (byte) (t + 1);
+                    scores[doc] += fieldWeight(posting) * expansion.factor();
+                    break;
+                }
+            }
+        }
+    }
+
+    private List<Expansion> expand(String term) {
+        List<Expansion> expansions = new ArrayList<>();
+        IntList exact = postings.get(term);
+        if (exact != null) {
+            expansions.add(new Expansion(exact, EXACT));
+        }
+
+        int budget = maxExpansions;
+        for (Map.Entry<String, IntList> entry : postings.subMap(term, false, term + Character.MAX_VALUE, false).entrySet()) {
+            if (budget-- == 0) {
+                break;
+            }
+            expansions.add(new Expansion(entry.getValue(), PREFIX));
+        }
+
+        if (term.length() >= 3) {
+            List<String> smallest = null;
+            for (String gram : trigrams(term)) {
+                List<String> withGram = trigramTerms.get(gram);
+                if (withGram == null) {
+                    return expansions;
+                }
+                if (smallest == null || withGram.size() < smallest.size()) {
+                    smallest = withGram;
+                }
+            }
+            budget = maxExpansions;
+            int scanned = 0;
+            for (String candidate : smallest) {
+                // Bounded so very common trigrams cannot turn a keystroke into a vocabulary scan
+                if (budget == 0 || scanned++ == maxExpansions * 16) {
+                    break;
+                }
+                if (!candidate.startsWith(term) && candidate.contains(term)) {
+                    expansions.add(new Expansion(postings.get(candidate), INFIX));
+                    budget--;
+                }
+            }
+        }
+        return expansions;
+    }
+
+    private SearchResult collect(IntList candidates, float[] scores, byte[] matched, int termCount,
+                                 long[] categoryFilter, boolean activeOnly, int offset, int limit) {
+        int wanted = offset + limit;
+        // Min-heap of the best documents so far, worst at the root
+        int[] heap = new int[Math.max(1, wanted)];
+        int heapSize = 0;
+        long total = 0;
+        for (int i = 0; i < candidates.size; i++) {
+            int doc = candidates.data[i];
+            if (matched[doc] != termCount || !live.get(doc)
+                    || (activeOnly && !active.get(doc))
+                    || (categoryFilter != null && Arrays.binarySearch(categoryFilter, categoryIds[doc]) < 0)) {
+                continue;
+            }
+            total++;
+            if (heapSize < wanted) {
+                heap[heapSize] = doc;
+                siftUp(heap, heapSize++, scores);
+            } else if (wanted > 0 && ranksAbove(doc, heap[0], scores)) {
+                heap[0] = doc;
+                siftDown(heap, heapSize, scores);
+            }
+        }
+
+        Long[] ranked = new Long[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            ranked[i] = itemIds[heap[0]];
+            heap[0] = heap[i];
+            siftDown(heap, i, scores);
+        }
+        List<Long> page = Arrays.asList(ranked);
+        return new SearchResult(page.subList(Math.min(offset, page.size()), page.size()), total);
+    }
+
+    private boolean ranksAbove(int doc, int other, float[] scores) {
+        if (scores[doc] != scores[other]) {
+            return scores[doc] > scores[other];
+        }
+        return itemIds[doc] < itemIds[other];
+    }
+
+    private void siftUp(int[] heap, int index, float[] scores) {
+        int doc = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksAbove(heap[parent], doc, scores)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = doc;
+    }
+
+    private void siftDown(int[] heap, int size, float[] scores) {
+        int doc = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && ranksAbove(heap[child], heap[child + 1], scores)) {
+                child++;
+            }
+            if (!ranksAbove(doc, heap[child], scores)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = doc;
+    }
+
+    private static float fieldWeight(int posting) {
+        float weight = 0;
+        if ((posting & NAME) != 0) weight += 10;
+        if ((posting & SKU) != 0) weight += 8;
+        if ((posting & DESCRIPTION) != 0) weight += 3;
+        return weight;
+    }
+
+    private static long postingCount(List<Expansion> expansions) {
+        long count = 0;
+        for (Expansion expansion : expansions) {
+            count += expansion.postings().size;
+        }
+        return count;
+    }
+
+    // ==================== Tokenizing ====================
+
+    private static void tokenize(String text, int field, Map<String, Integer> fields) {
+        for (String token : tokens(text)) {
+            fields.merge(token, field, (a, b) -> a | b);
+        }
+    }
+
+    /**
+     * Whether {@code text} has any term to search for; text without letters or digits matches nothing.
+     */
+    public static boolean hasTerms(String text) {
+        return !tokens(text).isEmpty();
+    }
+
+    static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static Set<String> trigrams(String term) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            grams.add(term.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    // ==================== Types ====================
+
+    public record SearchResult(List<Long> itemIds, long total) {
+    }
+
+    private record Expansion(IntList postings, float factor) {
+    }
+
+    private static final class IntList {
+        private int[] data = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+
+        /** Posting for {@code doc}, or -1; postings are sorted by document. */
+        int find(int doc) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int midDoc = data[mid] >>> FIELD_BITS;
+                if (midDoc < doc) {
+                    low = mid + 1;
+                } else if (midDoc > doc) {
+                    high = mid - 1;
+                } else {
+                    return data[mid];
+                }
+            }
+            return -1;
+        }
+    }
+
+    /** Per-thread score arrays, cleared after each query through the candidate list. */
+    private static final class Scratch {
+        private float[] scores = new float[0];
+        private byte[] matched = new byte[0];
+        private final IntList candidates = new IntList();
+
+        Scratch prepare(int docCount) {
+            if (scores.length < docCount) {
+                scores = new float[docCount + docCount / 4];
+                matched = new byte[scores.length];
+            }
+            return this;
+        }
+
+        void reset(Integer extra) {
+            for (int i = 0; i < candidates.size; i++) {
+                scores[candidates.data[i]] = 0;
+                matched[candidates.data[i]] = 0;
+            }
+            if (extra != null) {
+                scores[extra] = 0;
+            }
+            candidates.size = 0;
+            if (candidates.data.length > 65_536) {
+                candidates.data = new int[4];
+            }
+        }
+    }
+}
@@ -0,0 +1,517 @@
+package com.ims.catalog.search;
+
+import com.ims.catalog.entity.Item;
+import com.ims.catalog.repository.ItemRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typeahead over active items. Lower-cased SKUs, names and name suffixes starting at each word
+ * are keys in a radix tree whose leaves hold item ids. Suggestions for a prefix are the most
+ * popular items under its node, popularity being how often an item has been looked up.
+ *
+ * Nodes with large subtrees cache their top items so short prefixes do not walk the subtree.
+ * Caches follow item changes immediately and are re-ranked by popularity every refresh
+ * interval. Popularity is kept in memory only and starts from zero on each restart.
+ */
+@Component
+@Slf4j
+public class ItemSuggester {
+
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private static final int CACHE_THRESHOLD = 256;
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final ItemRepository itemRepository;
+    private final Timer latency;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node(new char[0]);
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Long, LongAdder> popularity = new ConcurrentHashMap<>();
+
+    private volatile long estimatedBytes;
+    // While loading, inserts skip cache upkeep and the caches are built once at the end
+    private boolean loading = true;
+
+    public ItemSuggester(ItemRepository itemRepository, MeterRegistry meterRegistry) {
+        this.itemRepository = itemRepository;
+        this.latency = Timer.builder("catalog.suggest.latency")
+                .description("Typeahead suggestion lookup time")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("catalog.suggest.items", this, s -> s.size())
+                .description("Items available for typeahead")
+                .register(meterRegistry);
+        Gauge.builder("catalog.suggest.memory.per.item", this, ItemSuggester::bytesPerItem)
+                .description("Estimated typeahead memory per item")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Page<Item> page;
+        int pageNumber = 0;
+        do {
+            page = itemRepository.findAll(PageRequest.of(pageNumber++, LOAD_PAGE_SIZE, Sort.by("id")));
+            lock.writeLock().lock();
+            try {
+                Map<String, Set<Long>> added = new HashMap<>();
+                for (Item item : page) {
+                    // Items changed by a commit during the load are already newer than this page
+                    if (item.isActive() && !entries.containsKey(item.getId())) {
+                        Entry entry = new Entry(item.getId(), item.getSku(), item.getName());
+                        entries.put(entry.id, entry);
+                        group(entry, added);
+                    }
+                }
+                added.forEach((key, ids) -> insert(key, ids, new HashMap<>()));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } while (page.hasNext());
+        lock.writeLock().lock();
+        try {
+            loading = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        refresh();
+        log.info("Item suggester built: {} items, ~{} bytes per item", size(), Math.round(bytesPerItem()));
+    }
+
+    // ==================== Updates ====================
+
+    public void index(Item item) {
+        indexAll(List.of(item));
+    }
+
+    /**
+     * Re-indexes a batch of items. Each key is updated once for the whole batch, so a key
+     * shared by many items, such as a common name word, costs one pass per batch rather than
+     * one per item.
+     */
+    public void indexAll(Collection<Item> items) {
+        Map<Long, Item> latest = new LinkedHashMap<>();
+        for (Item item : items) {
+            latest.put(item.getId(), item);
+        }
+        lock.writeLock().lock();
+        try {
+            Map<String, Set<Long>> removed = new HashMap<>();
+            Map<String, Set<Long>> added = new HashMap<>();
+            for (Item item : latest.values()) {
+                Entry previous = entries.remove(item.getId());
+                if (previous != null) {
+                    group(previous, removed);
+                }
+                if (item.isActive()) {
+                    Entry entry = new Entry(item.getId(), item.getSku(), item.getName());
+                    entries.put(entry.id, entry);
+                    group(entry, added);
+                }
+            }
+            removed.forEach(this::delete);
+            Map<Node, Set<Long>> grown = new HashMap<>();
+            added.forEach((key, ids) -> insert(key, ids, grown));
+            updateCaches(grown);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void recordView(Long itemId) {
+        popularity.computeIfAbsent(itemId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Re-ranks the cached top items by current popularity and re-estimates memory use.
+     */
+    @Scheduled(fixedDelayString = "${catalog.suggest.refresh-interval-ms:30000}",
+               initialDelayString = "${catalog.suggest.refresh-interval-ms:30000}")
+    public void refresh() {
+        lock.writeLock().lock();
+        try {
+            rebuildCaches(root);
+            estimatedBytes = estimate(root) + entries.size() * ENTRY_BYTES;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void group(Entry entry, Map<String, Set<Long>> idsByKey) {
+        for (String key : keys(entry)) {
+            idsByKey.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(entry.id);
+        }
+    }
+
+    private static Set<String> keys(Entry entry) {
+        Set<String> keys = new HashSet<>();
+        if (entry.sku != null) {
+            keys.add(entry.sku.toLowerCase(Locale.ROOT));
+        }
+        if (entry.name != null) {
+            String name = entry.name.toLowerCase(Locale.ROOT);
+            for (int i = 0; i < name.length(); i++) {
+                if (Character.isLetterOrDigit(name.charAt(i))
+                        && (i == 0 || !Character.isLetterOrDigit(name.charAt(i - 1)))) {
+                    keys.add(name.substring(i));
+                }
+            }
+        }
+        return keys;
+    }
+
+    // ==================== Lookup ====================
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        long started = System.nanoTime();
+        int k = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        lock.readLock().lock();
+        try {
+            Node node = find(prefix.toLowerCase(Locale.ROOT));
+            if (node == null || loading) {
+                return List.of();
+            }
+            // A cache shortened by removals is bypassed until the next refresh
+            long[] ranked = node.top != null && node.top.length >= k ? node.top : topItems(node, k);
+            List<Suggestion> suggestions = new ArrayList<>(Math.min(k, ranked.length));
+            for (int i = 0; i < ranked.length && suggestions.size() < k; i++) {
+                Entry entry = entries.get(ranked[i]);
+                suggestions.add(new Suggestion(entry.id, entry.sku, entry.name));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+            latency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private double bytesPerItem() {
+        int items = entries.size();
+        return items == 0 ? 0 : (double) estimatedBytes / items;
+    }
+
+    /** Node whose subtree holds exactly the keys starting with {@code prefix}, or null. */
+    private Node find(String prefix) {
+        Node node = root;
+        int depth = 0;
+        while (depth < prefix.length()) {
+            Node child = node.child(prefix.charAt(depth));
+            if (child == null) {
+                return null;
+            }
+            int matched = commonPrefix(child.label, prefix, depth);
+            if (depth + matched == prefix.length()) {
+                return child;
+            }
+            if (matched < child.label.length) {
+                return null;
+            }
+            depth += matched;
+            node = child;
+        }
+        return node;
+    }
+
+    private long[] topItems(Node node, int k) {
+        Set<Long> distinct = new HashSet<>();
+        collectAll(node, distinct);
+        return rank(distinct, k);
+    }
+
+    /** Candidates for the top items of an ancestor: a cached node contributes only its cache. */
+    private static void collect(Node node, Set<Long> into) {
+        if (node.top != null) {
+            for (long id : node.top) into.add(id);
+            return;
+        }
+        collectAll(node, into);
+    }
+
+    private static void collectAll(Node node, Set<Long> into) {
+        for (long id : node.items) into.add(id);
+        for (Node child : node.children) collect(child, into);
+    }
+
+    private long[] rank(Collection<Long> ids, int k) {
+        return ids.stream()
+                .sorted(Comparator.comparingLong((Long id) -> -popularityOf(id)).thenComparingLong(id -> id))
+                .limit(k)
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    private long popularityOf(long itemId) {
+        LongAdder views = popularity.get(itemId);
+        return views != null ? views.sum() : 0;
+    }
+
+    // ==================== Radix tree ====================
+
+    /**
+     * Adds the items under {@code key}. Nodes on the path whose subtrees grew are recorded in
+     * {@code grown} with the new items, for {@link #updateCaches} once the batch is in.
+     */
+    private void insert(String key, Set<Long> itemIds, Map<Node, Set<Long>> grown) {
+        Node node = root;
+        int depth = 0;
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        while (depth < key.length()) {
+            char next = key.charAt(depth);
+            Node child = node.child(next);
+            if (child == null) {
+                child = new Node(key.substring(depth).toCharArray());
+                node.addChild(child);
+                node = child;
+                path.add(node);
+                depth = key.length();
+                break;
+            }
+            int matched = commonPrefix(child.label, key, depth);
+            if (matched < child.label.length) {
+                child = split(node, child, matched);
+            }
+            node = child;
+            path.add(node);
+            depth += matched;
+        }
+        int before = node.items.length;
+        node.items = append(node.items, itemIds);
+        int added = node.items.length - before;
+        if (added == 0) {
+            return;
+        }
+
+        for (Node onPath : path) {
+            onPath.size += added;
+            if (!loading) {
+                grown.computeIfAbsent(onPath, n -> new HashSet<>()).addAll(itemIds);
+            }
+        }
+    }
+
+    /**
+     * Merges new items into the caches of grown nodes, then starts caches for nodes that
+     * crossed the threshold. Existing caches go first so a new one never reads a stale child.
+     */
+    private void updateCaches(Map<Node, Set<Long>> grown) {
+        grown.forEach((node, itemIds) -> {
+            if (node.top != null) {
+                node.top = mergeTop(node.top, itemIds);
+            }
+        });
+        grown.keySet().forEach(node -> {
+            if (node.top == null && node.size > CACHE_THRESHOLD) {
+                node.top = topItems(node, MAX_SUGGESTIONS);
+            }
+        });
+    }
+
+    private void delete(String key, Set<Long> itemIds) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(root);
+        int depth = 0;
+        while (depth < key.length()) {
+            Node child = node.child(key.charAt(depth));
+            if (child == null || commonPrefix(child.label, key, depth) < child.label.length) {
+                return;
+            }
+            depth += child.label.length;
+            node = child;
+            path.add(node);
+        }
+        long[] remaining = without(node.items, itemIds);
+        int removed = node.items.length - remaining.length;
+        if (removed == 0) {
+            return;
+        }
+        node.items = remaining;
+        for (Node onPath : path) {
+            onPath.size -= removed;
+            if (onPath.top != null) {
+                onPath.top = without(onPath.top, itemIds);
+            }
+        }
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node emptied = path.get(i);
+            if (emptied.size > 0) {
+                break;
+            }
+            path.get(i - 1).removeChild(emptied);
+        }
+    }
+
+    /** Splits {@code child}'s label after {@code at} characters, returning the new upper node. */
+    private static Node split(Node parent, Node child, int at) {
+        Node upper = new Node(Arrays.copyOf(child.label, at));
+        child.label = Arrays.copyOfRange(child.label, at, child.label.length);
+        upper.children = new Node[]{child};
+        upper.size = child.size;
+        upper.top = child.top;
+        parent.replaceChild(child, upper);
+        return upper;
+    }
+
+    private long[] mergeTop(long[] top, Set<Long> itemIds) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (long id : top) ids.add(id);
+        ids.addAll(itemIds);
+        return ids.size() == top.length ? top : rank(ids, MAX_SUGGESTIONS);
+    }
+
+    private void rebuildCaches(Node node) {
+        for (Node child : node.children) rebuildCaches(child);
+        if (node.top != null || node.size > CACHE_THRESHOLD) {
+            node.top = topItems(node, MAX_SUGGESTIONS);
+        }
+    }
+
+    private static int commonPrefix(char[] label, String key, int offset) {
+        int max = Math.min(label.length, key.length() - offset);
+        int i = 0;
+        while (i < max && label[i] == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static long[] append(long[] ids, Set<Long> added) {
+        Set<Long> fresh = new LinkedHashSet<>(added);
+        for (long existing : ids) fresh.remove(existing);
+        if (fresh.isEmpty()) {
+            return ids;
+        }
+        long[] grown = Arrays.copyOf(ids, ids.length + fresh.size());
+        int at = ids.length;
+        for (long id : fresh) grown[at++] = id;
+        return grown;
+    }
+
+    private static long[] without(long[] ids, Set<Long> removed) {
+        long[] kept = new long[ids.length];
+        int count = 0;
+        for (long id : ids) {
+            if (!removed.contains(id)) kept[count++] = id;
+        }
+        return count == ids.length ? ids : Arrays.copyOf(kept, count);
+    }
+
+    // ==================== Memory estimate ====================
+
+    // Object header plus fields on a compressed-oops JVM, and a HashMap entry with its Entry and strings
+    private static final long NODE_BYTES = 40;
+    private static final long ARRAY_BYTES = 16;
+    private static final long ENTRY_BYTES = 200;
+
+    private static long estimate(Node node) {
+        long bytes = NODE_BYTES
+                + ARRAY_BYTES + 2L * node.label.length
+                + ARRAY_BYTES + 4L * node.children.length
+                + (node.items.length > 0 ? ARRAY_BYTES + 8L * node.items.length : 0)
+                + (node.top != null ? ARRAY_BYTES + 8L * node.top.length : 0);
+        for (Node child : node.children) {
+            bytes += estimate(child);
+        }
+        return bytes;
+    }
+
+    // ==================== Types ====================
+
+    public record Suggestion(Long id, String sku, String name) {
+    }
+
+    private record Entry(long id, String sku, String name) {
+    }
+
+    private static final long[] NO_ITEMS = new long[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final class Node {
+        private char[] label;
+        private Node[] children = NO_CHILDREN;
+        private long[] items = NO_ITEMS;
+        // Number of (key, item) pairs in the subtree
+        private int size;
+        // Best items in the subtree, kept for nodes with large subtrees
+        private long[] top;
+
+        Node(char[] label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char midFirst = children[mid].label[0];
+                if (midFirst < first) {
+                    low = mid + 1;
+                } else if (midFirst > first) {
+                    high = mid - 1;
+                } else {
+                    return children[mid];
+                }
+            }
+            return null;
+        }
+
+        void addChild(Node child) {
+            int at = 0;
+            while (at < children.length && children[at].label[0] < child.label[0]) {
+                at++;
+            }
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, at);
+            grown[at] = child;
+            System.arraycopy(children, at, grown, at + 1, children.length - at);
+            children = grown;
+        }
+
+        void replaceChild(Node previous, Node replacement) {
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] == previous) {
+                    children[i] = replacement;
+                    return;
+                }
+            }
+        }
+
+        void removeChild(Node child) {
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] == child) {
+                    Node[] shrunk = new Node[children.length - 1];
+                    System.arraycopy(children, 0, shrunk, 0, i);
+                    System.arraycopy(children, i + 1, shrunk, i, children.length - i - 1);
+                    children = shrunk.length == 0 ? NO_CHILDREN : shrunk;
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -1,23 +1,37 @@
 package com.ims.catalog.service;
 
+import com.ims.catalog.cache.NearCache;
 import com.ims.catalog.dto.CategoryResponse;
 import com.ims.catalog.dto.CreateCategoryRequest;
+import com.ims.catalog.dto.MoveCategoryRequest;
+import com.ims.catalog.dto.UpdateCategoryRequest;
 import com.ims.catalog.entity.Category;
+import com.ims.catalog.entity.CategoryClosure;
+import com.ims.catalog.repository.CategoryClosureRepository;
 import com.ims.catalog.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
+/**
+ * Categories form a tree through their parent ids. Alongside it this service maintains the
+ * closure table of every ancestor-descendant pair, in the same transaction as each change,
+ * so that subtree filters are a single indexed lookup.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryClosureRepository closureRepository;
+    private final NearCache<Long, CategoryResponse> categoryCache;
 
     public List<CategoryResponse> getAllCategories() {
         return categoryRepository.findAll().stream()
@@ -26,9 +40,13 @@ public class CategoryService {
     }
 
     public CategoryResponse getCategoryById(Long id) {
-        Category category = categoryRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
-        return mapToResponse(category);
+        CategoryResponse category = categoryCache.get(id, key -> categoryRepository.findById(key)
+                .map(this::mapToResponse)
+                .orElse(null));
+        if (category == null) {
+            throw new RuntimeException("Category not found with id: " + id);
+        }
+        return category;
     }
 
     @Transactional
@@ -39,18 +57,41 @@ public class CategoryService {
             throw new RuntimeException("Category already exists: " + request.getName());
         }
 
-        Category category = Category.builder()
-                .name(request.getName())
-                .description(request.getDescription())
-                .build();
+        return mapToResponse(addCategory(request.getName(), request.getDescription(), request.getParentId()));
+    }
 
-        Category savedCategory = categoryRepository.save(category);
-        log.info("Category created: {}", savedCategory.getName());
-        return mapToResponse(savedCategory);
+    /**
+     * Saves a new category under the given parent, or at the top level, with its closure rows.
+     */
+    @Transactional
+    public Category addCategory(String name, String description, Long parentId) {
+        if (parentId != null && !categoryRepository.existsById(parentId)) {
+            throw new RuntimeException("Parent category not found with id: " + parentId);
+        }
+
+        Category savedCategory = categoryRepository.save(Category.builder()
+                .name(name)
+                .description(description)
+                .parentId(parentId)
+                .build());
+
+        List<CategoryClosure> links = new ArrayList<>();
+        links.add(link(savedCategory.getId(), savedCategory.getId(), 0));
+        if (parentId != null) {
+            for (CategoryClosure ancestor : closureRepository.findByDescendantId(parentId)) {
+                links.add(link(ancestor.getAncestorId(), savedCategory.getId(), ancestor.getDepth() + 1));
+            }
+        }
+        closureRepository.saveAll(links);
+
+        categoryCache.invalidateAfterCommit(savedCategory.getId());
+        log.info("Category created: {}, parentId={}", savedCategory.getName(), parentId);
+        return savedCategory;
     }
 
+    // Keeps the category where it is; moveCategory changes the parent
     @Transactional
-    public CategoryResponse updateCategory(Long id, CreateCategoryRequest request) {
+    public CategoryResponse updateCategory(Long id, UpdateCategoryRequest request) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
 
@@ -58,24 +99,88 @@ public class CategoryService {
         category.setDescription(request.getDescription());
 
         Category updatedCategory = categoryRepository.save(category);
+        categoryCache.invalidateAfterCommit(id);
         log.info("Category updated: {}", updatedCategory.getName());
         return mapToResponse(updatedCategory);
     }
 
+    @Transactional
+    public CategoryResponse moveCategory(Long id, MoveCategoryRequest request) {
+        Category category = categoryRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
+
+        if (!Objects.equals(category.getParentId(), request.getParentId())) {
+            moveSubtree(id, request.getParentId());
+            category.setParentId(request.getParentId());
+            category = categoryRepository.save(category);
+            categoryCache.invalidateAfterCommit(id);
+        }
+        return mapToResponse(category);
+    }
+
     @Transactional
     public void deleteCategory(Long id) {
         if (!categoryRepository.existsById(id)) {
             throw new RuntimeException("Category not found with id: " + id);
         }
+        if (categoryRepository.existsByParentId(id)) {
+            throw new RuntimeException("Category has subcategories: " + id);
+        }
+        closureRepository.deleteByDescendant(id);
         categoryRepository.deleteById(id);
+        categoryCache.invalidateAfterCommit(id);
         log.info("Category deleted: {}", id);
     }
 
+    /**
+     * Ids of the category and all of its descendants, in ascending order.
+     */
+    public List<Long> getSubtreeIds(Long id) {
+        return closureRepository.findSubtreeIds(id);
+    }
+
+    // Relinks the subtree under the new parent: its rows to outside ancestors are replaced by
+    // the product of the new parent's ancestors and the subtree's members
+    private void moveSubtree(Long id, Long parentId) {
+        if (parentId != null) {
+            if (!categoryRepository.existsById(parentId)) {
+                throw new RuntimeException("Parent category not found with id: " + parentId);
+            }
+            if (closureRepository.existsByAncestorIdAndDescendantId(id, parentId)) {
+                throw new RuntimeException("Category cannot be moved under itself or its subcategories: " + id);
+            }
+        }
+        closureRepository.detachSubtree(id);
+        if (parentId == null) {
+            return;
+        }
+
+        List<CategoryClosure> subtree = closureRepository.findByAncestorId(id);
+        List<CategoryClosure> links = new ArrayList<>();
+        for (CategoryClosure ancestor : closureRepository.findByDescendantId(parentId)) {
+            for (CategoryClosure member : subtree) {
+                links.add(link(ancestor.getAncestorId(), member.getDescendantId(),
+                        ancestor.getDepth() + member.getDepth() + 1));
+            }
+        }
+        closureRepository.saveAll(links);
+        log.info("Category moved: id={}, parentId={}, subtreeSize={}", id, parentId, subtree.size());
+    }
+
+    private static CategoryClosure link(Long ancestorId, Long descendantId, int depth) {
+        return CategoryClosure.builder()
+                .ancestorId(ancestorId)
+                .descendantId(descendantId)
+                .depth(depth)
+                .build();
+    }
+
     private CategoryResponse mapToResponse(Category category) {
         return CategoryResponse.builder()
                 .id(category.getId())
                 .name(category.getName())
                 .description(category.getDescription())
+                .parentId(category.getParentId())
                 .build();
     }
 }
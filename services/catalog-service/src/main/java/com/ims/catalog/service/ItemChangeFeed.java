@@ -0,0 +1,128 @@
+package com.ims.catalog.service;
+
+import com.ims.catalog.dto.ItemChangeFeedResponse;
+import com.ims.catalog.dto.ItemChangeResponse;
+import com.ims.catalog.entity.Item;
+import com.ims.catalog.entity.ItemChange;
+import com.ims.catalog.repository.ItemChangeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional outbox of item changes. Every write to an item records the item's copied
+ * fields in item_changes within the same transaction, and consumers such as the inventory
+ * service page through the rows by feed sequence to keep their denormalized copies current.
+ *
+ * Row ids are assigned at insert but become visible at commit, so a reader paging by id could
+ * pass a row whose transaction commits later. The feed sequence is instead given out after
+ * commit: before each read, committed rows without one are numbered after every row numbered
+ * so far, one run at a time, so a late commit is numbered past the readers rather than behind
+ * them. Rows older than the retention are pruned.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemChangeFeed {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+    private static final int SEQUENCE_BATCH_SIZE = 1000;
+
+    private final ItemChangeRepository changeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${catalog.changes.retention-hours:168}")
+    private long retentionHours;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Item item) {
+        changeRepository.save(toChange(item, LocalDateTime.now()));
+    }
+
+    /**
+     * Records a batch of items written with plain SQL, such as by the bulk import.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(Collection<Item> items) {
+        LocalDateTime now = LocalDateTime.now();
+        changeRepository.insertBatch(items.stream().map(item -> toChange(item, now)).collect(Collectors.toList()));
+    }
+
+    /**
+     * Changes after the given feed sequence, which the responses carry as their id.
+     */
+    public ItemChangeFeedResponse getChanges(Long afterId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        sequenceCommitted();
+        List<ItemChange> page = changeRepository.findChangesAfter(afterId != null ? afterId : 0L,
+                PageRequest.of(0, size + 1));
+        boolean hasMore = page.size() > size;
+        List<ItemChange> changes = hasMore ? page.subList(0, size) : page;
+        return ItemChangeFeedResponse.builder()
+                .changes(changes.stream().map(this::mapToResponse).collect(Collectors.toList()))
+                .hasMore(hasMore)
+                .lastId(changes.isEmpty() ? afterId : changes.get(changes.size() - 1).getSequence())
+                .build();
+    }
+
+    // Runs one at a time and commits before any reader pages past what it numbered
+    private synchronized void sequenceCommitted() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Long maxSequence = changeRepository.findMaxSequence();
+            long next = maxSequence != null ? maxSequence + 1 : 1;
+            List<Long> ids;
+            while (!(ids = changeRepository.findUnsequencedIds(SEQUENCE_BATCH_SIZE)).isEmpty()) {
+                changeRepository.assignSequences(ids, next);
+                next += ids.size();
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.changes.prune-interval-ms:3600000}",
+               initialDelayString = "${catalog.changes.prune-interval-ms:3600000}")
+    @Transactional
+    public void prune() {
+        int pruned = changeRepository.deleteOlderThan(LocalDateTime.now().minusHours(retentionHours));
+        if (pruned > 0) {
+            log.info("Pruned {} item changes older than {} hours", pruned, retentionHours);
+        }
+    }
+
+    private static ItemChange toChange(Item item, LocalDateTime createdAt) {
+        return ItemChange.builder()
+                .itemId(item.getId())
+                .sku(item.getSku())
+                .name(item.getName())
+                .unitPrice(item.getUnitPrice())
+                .minStockLevel(item.getMinStockLevel())
+                .maxStockLevel(item.getMaxStockLevel())
+                .active(item.isActive())
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private ItemChangeResponse mapToResponse(ItemChange change) {
+        return ItemChangeResponse.builder()
+                .id(change.getSequence())
+                .itemId(change.getItemId())
+                .sku(change.getSku())
+                .name(change.getName())
+                .unitPrice(change.getUnitPrice())
+                .minStockLevel(change.getMinStockLevel())
+                .maxStockLevel(change.getMaxStockLevel())
+                .active(change.isActive())
+                .changedAt(change.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.ims.catalog.service;
+
+import com.ims.catalog.dto.ItemResponse;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Item fields a client can select, with the entity attribute each one reads. Category and
+ * supplier read only the foreign key; their details are batch loaded separately.
+ */
+enum ItemField {
+    ID("id", "id", (item, value) -> item.setId((Long) value)),
+    SKU("sku", "sku", (item, value) -> item.setSku((String) value)),
+    NAME("name", "name", (item, value) -> item.setName((String) value)),
+    DESCRIPTION("description", "description", (item, value) -> item.setDescription((String) value)),
+    CATEGORY("category", "category.id", (item, value) -> item.setCategoryId((Long) value)),
+    SUPPLIER("supplier", "supplier.id", (item, value) -> item.setSupplierId((Long) value)),
+    UNIT_PRICE("unitPrice", "unitPrice", (item, value) -> item.setUnitPrice((BigDecimal) value)),
+    MIN_STOCK_LEVEL("minStockLevel", "minStockLevel", (item, value) -> item.setMinStockLevel((Integer) value)),
+    MAX_STOCK_LEVEL("maxStockLevel", "maxStockLevel", (item, value) -> item.setMaxStockLevel((Integer) value)),
+    REORDER_POINT("reorderPoint", "reorderPoint", (item, value) -> item.setReorderPoint((Integer) value)),
+    UNIT_OF_MEASURE("unitOfMeasure", "unitOfMeasure", (item, value) -> item.setUnitOfMeasure((String) value)),
+    ACTIVE("active", "active", (item, value) -> item.setActive((Boolean) value)),
+    CREATED_AT("createdAt", "createdAt", (item, value) -> item.setCreatedAt((LocalDateTime) value)),
+    UPDATED_AT("updatedAt", "updatedAt", (item, value) -> item.setUpdatedAt((LocalDateTime) value));
+
+    private static final Map<String, ItemField> BY_NAME = Arrays.stream(values())
+            .collect(Collectors.toMap(ItemField::fieldName, Function.identity()));
+
+    private final String fieldName;
+    private final String attribute;
+    private final BiConsumer<ItemResponse, Object> setter;
+
+    ItemField(String fieldName, String attribute, BiConsumer<ItemResponse, Object> setter) {
+        this.fieldName = fieldName;
+        this.attribute = attribute;
+        this.setter = setter;
+    }
+
+    String fieldName() {
+        return fieldName;
+    }
+
+    String attribute() {
+        return attribute;
+    }
+
+    void set(ItemResponse item, Object value) {
+        setter.accept(item, value);
+    }
+
+    /**
+     * Fields for the given names plus the id, which is always read. Unknown names such as
+     * {@code __typename} are ignored.
+     */
+    static List<ItemField> select(Collection<String> names) {
+        EnumSet<ItemField> fields = EnumSet.of(ID);
+        for (String name : names) {
+            ItemField field = BY_NAME.get(name);
+            if (field != null) {
+                fields.add(field);
+            }
+        }
+        return new ArrayList<>(fields);
+    }
+}
@@ -0,0 +1,348 @@
+package com.ims.catalog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.ims.catalog.dto.ImportJobResponse;
+import com.ims.catalog.dto.ItemImportRow;
+import com.ims.catalog.entity.Category;
+import com.ims.catalog.entity.Item;
+import com.ims.catalog.entity.Supplier;
+import com.ims.catalog.repository.CategoryRepository;
+import com.ims.catalog.repository.ItemRepository;
+import com.ims.catalog.repository.SupplierRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk item import from a CSV or NDJSON body. The body is spooled to a temporary file and
+ * imported on a background thread, so the request returns as soon as the upload is received.
+ * Rows are parsed one at a time and written in JDBC batches, each in its own transaction, so
+ * memory holds one batch plus the SKUs seen so far whatever the file size. Categories and
+ * suppliers are resolved by name from maps loaded once per import. Later rows repeating a SKU
+ * are skipped as duplicates.
+ *
+ * Batches already written stay written if the import fails part-way. One import runs at a
+ * time; its progress is polled by job id.
+ */
+@Service
+@Slf4j
+public class ItemImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final int MAX_JOBS = 50;
+
+    private final ItemRepository itemRepository;
+    private final CategoryRepository categoryRepository;
+    private final SupplierRepository supplierRepository;
+    private final ItemService itemService;
+    private final ItemChangeFeed changeFeed;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectReader csvReader;
+    private final ObjectReader ndjsonReader;
+    private final int batchSize;
+    private final int maxErrors;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Map<String, ImportJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+            return size() > MAX_JOBS;
+        }
+    });
+
+    public ItemImportService(ItemRepository itemRepository, CategoryRepository categoryRepository,
+                             SupplierRepository supplierRepository, ItemService itemService,
+                             ItemChangeFeed changeFeed, TransactionTemplate transactionTemplate,
+                             Validator validator, ObjectMapper objectMapper,
+                             @Value("${catalog.import.batch-size:1000}") int batchSize,
+                             @Value("${catalog.import.max-errors:100}") int maxErrors) {
+        this.itemRepository = itemRepository;
+        this.categoryRepository = categoryRepository;
+        this.supplierRepository = supplierRepository;
+        this.itemService = itemService;
+        this.changeFeed = changeFeed;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.csvReader = new CsvMapper()
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .readerFor(ItemImportRow.class)
+                .with(CsvSchema.emptySchema().withHeader());
+        this.ndjsonReader = objectMapper.readerFor(ItemImportRow.class);
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Receives the body and starts importing it in the background. Returns the new job, whose
+     * progress {@link #getJob} reports.
+     */
+    public ImportJobResponse startImport(InputStream body, Format format) {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("Another catalog import is already running");
+        }
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), format);
+        jobs.put(job.id, job);
+        Path spooled;
+        try {
+            spooled = Files.createTempFile("catalog-import-", ".tmp");
+            try {
+                Files.copy(body, spooled, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                Files.deleteIfExists(spooled);
+                throw e;
+            }
+        } catch (IOException e) {
+            job.finish("FAILED", "Could not receive the import body: " + e.getMessage());
+            running.set(false);
+            throw new RuntimeException("Could not receive the import body: " + e.getMessage());
+        }
+
+        log.info("Catalog import {} started ({})", job.id, format);
+        try {
+            executor.execute(() -> runJob(spooled, format, job));
+        } catch (RejectedExecutionException e) {
+            deleteSpooled(spooled);
+            job.finish("FAILED", "Catalog import is shutting down");
+            running.set(false);
+            throw new RuntimeException("Catalog import is shutting down");
+        }
+        return job.toResponse();
+    }
+
+    public ImportJobResponse getJob(String id) {
+        ImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new RuntimeException("Import job not found: " + id);
+        }
+        return job.toResponse();
+    }
+
+    public List<ImportJobResponse> getJobs() {
+        synchronized (jobs) {
+            return jobs.values().stream().map(ImportJob::toResponse).collect(Collectors.toList());
+        }
+    }
+
+    private void runJob(Path spooled, Format format, ImportJob job) {
+        try (InputStream body = Files.newInputStream(spooled)) {
+            run(body, format, job);
+            job.finish("COMPLETED", null);
+            log.info("Catalog import {} completed: {} rows, {} created, {} updated, {} duplicates, {} failed",
+                    job.id, job.rowsRead, job.created, job.updated, job.duplicates, job.failed);
+        } catch (IOException | RuntimeException e) {
+            job.finish("FAILED", e.getMessage());
+            log.error("Catalog import {} failed after {} rows: {}", job.id, job.rowsRead, e.getMessage());
+        } finally {
+            deleteSpooled(spooled);
+            running.set(false);
+        }
+    }
+
+    private void deleteSpooled(Path spooled) {
+        try {
+            Files.deleteIfExists(spooled);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled import file {}: {}", spooled, e.getMessage());
+        }
+    }
+
+    private void run(InputStream body, Format format, ImportJob job) throws IOException {
+        Map<String, Category> categories = byName(categoryRepository.findAll(), Category::getName);
+        Map<String, Supplier> suppliers = byName(supplierRepository.findAll(), Supplier::getName);
+        Set<String> seenSkus = new HashSet<>();
+        List<Item> batch = new ArrayList<>(batchSize);
+
+        ObjectReader reader = format == Format.CSV ? csvReader : ndjsonReader;
+        try (MappingIterator<ItemImportRow> rows = reader.readValues(body)) {
+            long rowNumber = 0;
+            while (rows.hasNextValue()) {
+                rowNumber++;
+                job.rowsRead++;
+                ItemImportRow row;
+                try {
+                    row = rows.nextValue();
+                } catch (JsonMappingException e) {
+                    // A bad value only loses its row; the iterator resumes at the next one
+                    job.rowFailed(rowNumber, e.getOriginalMessage(), maxErrors);
+                    continue;
+                }
+
+                String error = validate(row, categories, suppliers);
+                if (error != null) {
+                    job.rowFailed(rowNumber, error, maxErrors);
+                    continue;
+                }
+                if (!seenSkus.add(row.getSku().trim())) {
+                    job.duplicates++;
+                    continue;
+                }
+                batch.add(toItem(row, categories, suppliers));
+                if (batch.size() >= batchSize) {
+                    write(batch, job);
+                    batch.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Malformed " + format + " input: " + e.getOriginalMessage());
+        }
+        if (!batch.isEmpty()) {
+            write(batch, job);
+        }
+    }
+
+    private void write(List<Item> batch, ImportJob job) {
+        List<String> skus = batch.stream().map(Item::getSku).collect(Collectors.toList());
+        int[] created = new int[1];
+        List<Item> written = transactionTemplate.execute(status -> {
+            created[0] = itemRepository.upsertBatch(batch);
+            List<Item> items = itemRepository.findBySkuIn(skus);
+            changeFeed.recordAll(items);
+            return items;
+        });
+        job.created += created[0];
+        job.updated += batch.size() - created[0];
+        itemService.refreshItems(written);
+    }
+
+    private String validate(ItemImportRow row, Map<String, Category> categories, Map<String, Supplier> suppliers) {
+        Set<ConstraintViolation<ItemImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", "));
+        }
+        if (row.getCategory() != null && !categories.containsKey(key(row.getCategory()))) {
+            return "Unknown category: " + row.getCategory();
+        }
+        if (row.getSupplier() != null && !suppliers.containsKey(key(row.getSupplier()))) {
+            return "Unknown supplier: " + row.getSupplier();
+        }
+        return null;
+    }
+
+    private Item toItem(ItemImportRow row, Map<String, Category> categories, Map<String, Supplier> suppliers) {
+        return Item.builder()
+                .sku(row.getSku().trim())
+                .name(row.getName())
+                .description(row.getDescription())
+                .category(row.getCategory() != null ? categories.get(key(row.getCategory())) : null)
+                .supplier(row.getSupplier() != null ? suppliers.get(key(row.getSupplier())) : null)
+                .unitPrice(row.getUnitPrice())
+                .minStockLevel(row.getMinStockLevel())
+                .maxStockLevel(row.getMaxStockLevel())
+                .reorderPoint(row.getReorderPoint())
+                .unitOfMeasure(row.getUnitOfMeasure())
+                .build();
+    }
+
+    private static <T> Map<String, T> byName(List<T> entities, Function<T, String> name) {
+        Map<String, T> byName = new HashMap<>();
+        for (T entity : entities) {
+            byName.putIfAbsent(key(name.apply(entity)), entity);
+        }
+        return byName;
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Progress of one import. Written only by the importing thread and read by status polls.
+     */
+    private static class ImportJob {
+        private final String id;
+        private final Format format;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final List<String> errors = new CopyOnWriteArrayList<>();
+        private volatile String status = "RUNNING";
+        private volatile long rowsRead;
+        private volatile long created;
+        private volatile long updated;
+        private volatile long duplicates;
+        private volatile long failed;
+        private volatile String message;
+        private volatile LocalDateTime finishedAt;
+
+        ImportJob(String id, Format format) {
+            this.id = id;
+            this.format = format;
+        }
+
+        void rowFailed(long rowNumber, String error, int maxErrors) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add("Row " + rowNumber + ": " + error);
+            }
+        }
+
+        void finish(String status, String message) {
+            this.message = message;
+            this.finishedAt = LocalDateTime.now();
+            this.status = status;
+        }
+
+        ImportJobResponse toResponse() {
+            return ImportJobResponse.builder()
+                    .id(id)
+                    .format(format.name())
+                    .status(status)
+                    .rowsRead(rowsRead)
+                    .created(created)
+                    .updated(updated)
+                    .duplicates(duplicates)
+                    .failed(failed)
+                    .errors(List.copyOf(errors))
+                    .message(message)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -1,22 +1,39 @@
 package com.ims.catalog.service;
 
+import com.ims.catalog.cache.NearCache;
 import com.ims.catalog.dto.*;
 import com.ims.catalog.entity.Category;
 import com.ims.catalog.entity.Item;
 import com.ims.catalog.entity.Supplier;
+import com.ims.catalog.repository.CategoryClosureRepository;
 import com.ims.catalog.repository.CategoryRepository;
 import com.ims.catalog.repository.ItemRepository;
 import com.ims.catalog.repository.SupplierRepository;
+import com.ims.catalog.search.ItemSearchIndex;
+import com.ims.catalog.search.ItemSuggester;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,7 +43,21 @@ public class ItemService {
 
     private final ItemRepository itemRepository;
     private final CategoryRepository categoryRepository;
+    private final CategoryClosureRepository categoryClosureRepository;
     private final SupplierRepository supplierRepository;
+    private final ItemSearchIndex searchIndex;
+    private final ItemSuggester suggester;
+    private final ItemChangeFeed changeFeed;
+    private final NearCache<Long, ItemResponse> itemCache;
+    private final NearCache<String, Long> itemIdBySkuCache;
+    private final NearCache<Long, CategoryResponse> categoryCache;
+    private final NearCache<Long, SupplierResponse> supplierCache;
+
+    private static final int MAX_LOOKUP_SIZE = 500;
+    private static final int MAX_PRICE_PAGE_SIZE = 10_000;
+
+    @Value("${catalog.search.max-results:1000}")
+    private int maxSearchResults;
 
     public Page<ItemResponse> getAllItems(int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("name").ascending());
@@ -34,26 +65,242 @@ public class ItemService {
     }
 
     public ItemResponse getItemById(Long id) {
-        Item item = itemRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Item not found with id: " + id));
-        return mapToResponse(item);
+        return withAssociations(List.of(findViewedSummary(id))).get(0);
     }
 
     public ItemResponse getItemBySku(String sku) {
-        Item item = itemRepository.findBySku(sku)
-                .orElseThrow(() -> new RuntimeException("Item not found with SKU: " + sku));
-        return mapToResponse(item);
+        return withAssociations(List.of(findViewedSummary(findItemId(sku)))).get(0);
     }
 
-    public List<ItemResponse> searchItems(String text, Long categoryId) {
-        return itemRepository.searchItems(text, categoryId).stream()
-                .map(this::mapToResponse)
+    /**
+     * Items for the given ids in request order, skipping unknown ids. Cached items are served
+     * from memory and the rest are loaded with one query.
+     */
+    public List<ItemResponse> getItemsByIds(List<Long> ids) {
+        checkLookupSize(ids);
+        Map<Long, ItemResponse> summaries = itemCache.getAll(ids, missing -> itemRepository.findAllById(missing)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, this::mapToSummary)));
+        return withAssociations(ids.stream()
+                .distinct()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Items for the given SKUs in request order, skipping unknown SKUs.
+     */
+    public List<ItemResponse> getItemsBySkus(List<String> skus) {
+        checkLookupSize(skus);
+        Map<String, Long> ids = itemIdBySkuCache.getAll(skus, missing -> itemRepository.findIdsBySkuIn(missing)
+                .stream()
+                .collect(Collectors.toMap(ItemRepository.SkuId::getSku, ItemRepository.SkuId::getId)));
+        return getItemsByIds(skus.stream()
+                .map(ids::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Unit prices of all items, active or not, keyset-paged by item id for consumers that keep
+     * a local price snapshot. Prices are in cents, parallel to the item ids.
+     */
+    public ItemPricePageResponse getPrices(Long afterId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PRICE_PAGE_SIZE));
+        List<ItemRepository.IdPrice> page = itemRepository.findPricesAfter(afterId != null ? afterId : 0L,
+                PageRequest.of(0, size + 1));
+        boolean hasMore = page.size() > size;
+        int count = hasMore ? size : page.size();
+        long[] itemIds = new long[count];
+        long[] unitPriceCents = new long[count];
+        for (int i = 0; i < count; i++) {
+            itemIds[i] = page.get(i).getId();
+            unitPriceCents[i] = page.get(i).getUnitPrice().movePointRight(2)
+                    .setScale(0, RoundingMode.HALF_UP).longValueExact();
+        }
+        return ItemPricePageResponse.builder()
+                .itemIds(itemIds)
+                .unitPriceCents(unitPriceCents)
+                .hasMore(hasMore)
+                .lastId(count > 0 ? itemIds[count - 1] : afterId)
+                .build();
+    }
+
+    // Summaries and projections leave category and supplier unloaded; GraphQL resolves them in batches
+
+    /**
+     * A page of active items reading only the named fields (plus the id) from the database.
+     */
+    public List<ItemResponse> getItemProjections(int page, int size, Collection<String> fields) {
+        List<ItemField> selected = ItemField.select(fields);
+        Pageable pageable = PageRequest.of(page, size, Sort.by("name").ascending());
+        return itemRepository.findActiveProjected(attributesOf(selected), pageable).stream()
+                .map(tuple -> mapProjection(tuple, selected))
+                .collect(Collectors.toList());
+    }
+
+    public long countActiveItems() {
+        return itemRepository.countByActiveTrue();
+    }
+
+    public ItemResponse getItemSummaryById(Long id) {
+        return findViewedSummary(id).toBuilder().build();
+    }
+
+    public ItemResponse getItemSummaryBySku(String sku) {
+        return findViewedSummary(findItemId(sku)).toBuilder().build();
+    }
+
+    /**
+     * Text search reading only the named fields for index hits. Without text the database
+     * search is used and whole summaries are returned.
+     */
+    public List<ItemResponse> searchItemProjections(String text, Long categoryId, Collection<String> fields) {
+        if (!ItemSearchIndex.hasTerms(text) || !searchIndex.isReady()) {
+            return itemRepository.searchItems(text, categoryId).stream()
+                    .map(this::mapToSummary)
+                    .collect(Collectors.toList());
+        }
+        List<ItemField> selected = ItemField.select(fields);
+        List<Long> ids = searchIndex.search(text, categorySubtree(categoryId), true, 0, maxSearchResults).itemIds();
+        Map<Long, ItemResponse> items = itemRepository.findProjectedByIds(attributesOf(selected), ids).stream()
+                .map(tuple -> mapProjection(tuple, selected))
+                .collect(Collectors.toMap(ItemResponse::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Categories of the given items in the same order. Those not already mapped come from the
+     * category cache, with one query for the misses.
+     */
+    public List<CategoryResponse> getCategoriesOf(List<ItemResponse> items) {
+        Set<Long> missing = items.stream()
+                .filter(item -> item.getCategory() == null && item.getCategoryId() != null)
+                .map(ItemResponse::getCategoryId)
+                .collect(Collectors.toSet());
+        Map<Long, CategoryResponse> loaded = missing.isEmpty() ? Collections.emptyMap() : categoryCache.getAll(missing,
+                ids -> categoryRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(Category::getId, this::mapCategoryResponse)));
+        return items.stream()
+                .map(item -> item.getCategory() != null ? item.getCategory() : loaded.get(item.getCategoryId()))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Suppliers of the given items in the same order. Those not already mapped come from the
+     * supplier cache, with one query for the misses.
+     */
+    public List<SupplierResponse> getSuppliersOf(List<ItemResponse> items) {
+        Set<Long> missing = items.stream()
+                .filter(item -> item.getSupplier() == null && item.getSupplierId() != null)
+                .map(ItemResponse::getSupplierId)
+                .collect(Collectors.toSet());
+        Map<Long, SupplierResponse> loaded = missing.isEmpty() ? Collections.emptyMap() : supplierCache.getAll(missing,
+                ids -> supplierRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(Supplier::getId, this::mapSupplierResponse)));
+        return items.stream()
+                .map(item -> item.getSupplier() != null ? item.getSupplier() : loaded.get(item.getSupplierId()))
+                .collect(Collectors.toList());
+    }
+
+    // Cached summary of the item, shared: callers copy it before changing anything
+    private ItemResponse findViewedSummary(Long id) {
+        ItemResponse summary = itemCache.get(id, key -> itemRepository.findById(key)
+                .map(this::mapToSummary)
+                .orElse(null));
+        if (summary == null) {
+            throw new RuntimeException("Item not found with id: " + id);
+        }
+        suggester.recordView(id);
+        return summary;
+    }
+
+    private Long findItemId(String sku) {
+        Long id = itemIdBySkuCache.get(sku, key -> itemRepository.findBySku(key)
+                .map(Item::getId)
+                .orElse(null));
+        if (id == null) {
+            throw new RuntimeException("Item not found with SKU: " + sku);
+        }
+        return id;
+    }
+
+    /**
+     * Copies of the cached summaries with their category and supplier filled in.
+     */
+    private List<ItemResponse> withAssociations(List<ItemResponse> summaries) {
+        List<CategoryResponse> categories = getCategoriesOf(summaries);
+        List<SupplierResponse> suppliers = getSuppliersOf(summaries);
+        List<ItemResponse> items = new ArrayList<>(summaries.size());
+        for (int i = 0; i < summaries.size(); i++) {
+            items.add(summaries.get(i).toBuilder()
+                    .category(categories.get(i))
+                    .supplier(suppliers.get(i))
+                    .build());
+        }
+        return items;
+    }
+
+    private static void checkLookupSize(List<?> keys) {
+        if (keys.size() > MAX_LOOKUP_SIZE) {
+            throw new RuntimeException("At most " + MAX_LOOKUP_SIZE + " items can be looked up at once");
+        }
+    }
+
+    public List<ItemSuggestionResponse> suggestItems(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        return suggester.suggest(prefix.trim(), limit).stream()
+                .map(suggestion -> ItemSuggestionResponse.builder()
+                        .id(suggestion.id())
+                        .sku(suggestion.sku())
+                        .name(suggestion.name())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    public List<ItemResponse> searchItems(String text, Long categoryId) {
+        if (!ItemSearchIndex.hasTerms(text) || !searchIndex.isReady()) {
+            return itemRepository.searchItems(text, categoryId).stream()
+                    .map(this::mapToResponse)
+                    .collect(Collectors.toList());
+        }
+        ItemSearchIndex.SearchResult result = searchIndex.search(text, categorySubtree(categoryId), true, 0,
+                maxSearchResults);
+        return loadInOrder(result.itemIds());
+    }
+
     public Page<ItemResponse> searchByText(String search, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return itemRepository.searchByText(search, pageable).map(this::mapToResponse);
+        // Blank searches list every item, inactive ones included, as the LIKE query always has
+        if (!ItemSearchIndex.hasTerms(search) || !searchIndex.isReady()) {
+            return itemRepository.searchByText(search, pageable).map(this::mapToResponse);
+        }
+        ItemSearchIndex.SearchResult result = searchIndex.search(search, null, false, (int) pageable.getOffset(), size);
+        return new PageImpl<>(loadInOrder(result.itemIds()), pageable, result.total());
+    }
+
+    // The category and its descendants for the search index filter, or null for no filter
+    private long[] categorySubtree(Long categoryId) {
+        return categoryId == null ? null : categoryClosureRepository.findSubtreeIds(categoryId).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    // Search hits through the near-cache, without the lookup size limit
+    private List<ItemResponse> loadInOrder(List<Long> ids) {
+        Map<Long, ItemResponse> summaries = itemCache.getAll(ids, missing -> itemRepository.findAllById(missing)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, this::mapToSummary)));
+        return withAssociations(ids.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
     }
 
     @Transactional
@@ -89,6 +336,8 @@ public class ItemService {
         }
 
         Item savedItem = itemRepository.save(item);
+        changeFeed.record(savedItem);
+        indexAfterCommit(savedItem);
         log.info("Item created: {}", savedItem.getSku());
         return mapToResponse(savedItem);
     }
@@ -120,6 +369,8 @@ public class ItemService {
         }
 
         Item updatedItem = itemRepository.save(item);
+        changeFeed.record(updatedItem);
+        indexAfterCommit(updatedItem);
         log.info("Item updated: {}", updatedItem.getSku());
         return mapToResponse(updatedItem);
     }
@@ -133,6 +384,8 @@ public class ItemService {
         item.setMaxStockLevel(maxStock);
         
         Item updatedItem = itemRepository.save(item);
+        changeFeed.record(updatedItem);
+        itemCache.invalidateAfterCommit(updatedItem.getId());
         log.info("Stock threshold updated for item: {}", updatedItem.getSku());
         return mapToResponse(updatedItem);
     }
@@ -143,17 +396,77 @@ public class ItemService {
                 .orElseThrow(() -> new RuntimeException("Item not found with id: " + id));
         item.setActive(false);
         itemRepository.save(item);
+        changeFeed.record(item);
+        indexAfterCommit(item);
         log.info("Item deactivated: {}", item.getSku());
     }
 
+    /**
+     * Brings the near-cache and the search indexes up to date for items written without
+     * going through this service, such as by the bulk import.
+     */
+    public void refreshItems(List<Item> items) {
+        for (Item item : items) {
+            itemCache.invalidate(item.getId());
+            searchIndex.index(item);
+        }
+        suggester.indexAll(items);
+    }
+
+    /**
+     * Re-indexes the item for search and typeahead once the transaction commits, so a
+     * rolled-back change is never searchable. Its cached summary is invalidated then too.
+     */
+    private void indexAfterCommit(Item item) {
+        itemCache.invalidateAfterCommit(item.getId());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index(item);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index(item);
+            }
+        });
+    }
+
+    private void index(Item item) {
+        searchIndex.index(item);
+        suggester.index(item);
+    }
+
     private ItemResponse mapToResponse(Item item) {
+        ItemResponse response = mapToSummary(item);
+        response.setCategory(item.getCategory() != null ? mapCategoryResponse(item.getCategory()) : null);
+        response.setSupplier(item.getSupplier() != null ? mapSupplierResponse(item.getSupplier()) : null);
+        return response;
+    }
+
+    private static List<String> attributesOf(List<ItemField> fields) {
+        return fields.stream().map(ItemField::attribute).collect(Collectors.toList());
+    }
+
+    private ItemResponse mapProjection(Tuple tuple, List<ItemField> fields) {
+        ItemResponse response = new ItemResponse();
+        for (ItemField field : fields) {
+            field.set(response, tuple.get(field.attribute()));
+        }
+        return response;
+    }
+
+    /**
+     * Maps the item without initializing its lazy category and supplier; reading a proxy's id
+     * does not load it.
+     */
+    private ItemResponse mapToSummary(Item item) {
         return ItemResponse.builder()
                 .id(item.getId())
                 .sku(item.getSku())
                 .name(item.getName())
                 .description(item.getDescription())
-                .category(item.getCategory() != null ? mapCategoryResponse(item.getCategory()) : null)
-                .supplier(item.getSupplier() != null ? mapSupplierResponse(item.getSupplier()) : null)
+                .categoryId(item.getCategory() != null ? item.getCategory().getId() : null)
+                .supplierId(item.getSupplier() != null ? item.getSupplier().getId() : null)
                 .unitPrice(item.getUnitPrice())
                 .minStockLevel(item.getMinStockLevel())
                 .maxStockLevel(item.getMaxStockLevel())
@@ -170,6 +483,7 @@ public class ItemService {
                 .id(category.getId())
                 .name(category.getName())
                 .description(category.getDescription())
+                .parentId(category.getParentId())
                 .build();
     }
 
@@ -1,5 +1,6 @@
 package com.ims.catalog.service;
 
+import com.ims.catalog.cache.NearCache;
 import com.ims.catalog.dto.CreateSupplierRequest;
 import com.ims.catalog.dto.SupplierResponse;
 import com.ims.catalog.entity.Supplier;
@@ -18,6 +19,7 @@ import java.util.stream.Collectors;
 public class SupplierService {
 
     private final SupplierRepository supplierRepository;
+    private final NearCache<Long, SupplierResponse> supplierCache;
 
     public List<SupplierResponse> getAllSuppliers() {
         return supplierRepository.findAll().stream()
@@ -32,9 +34,13 @@ public class SupplierService {
     }
 
     public SupplierResponse getSupplierById(Long id) {
-        Supplier supplier = supplierRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Supplier not found with id: " + id));
-        return mapToResponse(supplier);
+        SupplierResponse supplier = supplierCache.get(id, key -> supplierRepository.findById(key)
+                .map(this::mapToResponse)
+                .orElse(null));
+        if (supplier == null) {
+            throw new RuntimeException("Supplier not found with id: " + id);
+        }
+        return supplier;
     }
 
     @Transactional
@@ -51,6 +57,7 @@ public class SupplierService {
                 .build();
 
         Supplier savedSupplier = supplierRepository.save(supplier);
+        supplierCache.invalidateAfterCommit(savedSupplier.getId());
         log.info("Supplier created: {}", savedSupplier.getName());
         return mapToResponse(savedSupplier);
     }
@@ -67,6 +74,7 @@ public class SupplierService {
         supplier.setAddress(request.getAddress());
 
         Supplier updatedSupplier = supplierRepository.save(supplier);
+        supplierCache.invalidateAfterCommit(id);
         log.info("Supplier updated: {}", updatedSupplier.getName());
         return mapToResponse(updatedSupplier);
     }
@@ -77,6 +85,7 @@ public class SupplierService {
                 .orElseThrow(() -> new RuntimeException("Supplier not found with id: " + id));
         supplier.setActive(false);
         supplierRepository.save(supplier);
+        supplierCache.invalidateAfterCommit(id);
         log.info("Supplier deactivated: {}", id);
     }
 
@@ -1,5 +1,6 @@
 package com.ims.inventory.config;
 
+import com.ims.inventory.soap.StreamingStockReportServlet;
 import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -25,6 +26,12 @@ public class WebServiceConfig extends WsConfigurerAdapter {
         return new ServletRegistrationBean<>(servlet, "/ws/*");
     }
 
+    @Bean
+    public ServletRegistrationBean<StreamingStockReportServlet> streamingStockReportRegistration(
+            StreamingStockReportServlet servlet) {
+        return new ServletRegistrationBean<>(servlet, "/ws-stream/stock-report");
+    }
+
     @Bean(name = "inventoryReport")
     public DefaultWsdl11Definition defaultWsdl11Definition(XsdSchema inventorySchema) {
         DefaultWsdl11Definition wsdl11Definition = new DefaultWsdl11Definition();
@@ -0,0 +1,55 @@
+package com.ims.inventory.controller;
+
+import com.ims.inventory.dto.CreateReservationRequest;
+import com.ims.inventory.dto.ReservationResponse;
+import com.ims.inventory.service.ReservationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/inventory/reservations")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Stock Reservations", description = "Time-limited stock holds")
+@SecurityRequirement(name = "bearerAuth")
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    @PostMapping
+    @Operation(summary = "Reserve stock for a limited time")
+    public ResponseEntity<ReservationResponse> reserve(@Valid @RequestBody CreateReservationRequest request) {
+        return ResponseEntity.ok(reservationService.reserve(request));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get an active reservation")
+    public ResponseEntity<ReservationResponse> getReservation(@PathVariable String id) {
+        return ResponseEntity.ok(reservationService.getReservation(id));
+    }
+
+    @PostMapping("/{id}/confirm")
+    @Operation(summary = "Confirm a reservation, issuing the reserved stock")
+    public ResponseEntity<ReservationResponse> confirm(@PathVariable String id) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth.getName();
+        Long userId = 1L; // Extract from JWT in real app
+
+        log.info("Confirming reservation {} by user: {}", id, email);
+        return ResponseEntity.ok(reservationService.confirm(id, userId, email));
+    }
+
+    @PostMapping("/{id}/release")
+    @Operation(summary = "Release a reservation")
+    public ResponseEntity<ReservationResponse> release(@PathVariable String id) {
+        return ResponseEntity.ok(reservationService.release(id));
+    }
+}
@@ -1,22 +1,33 @@
 package com.ims.inventory.controller;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.ims.inventory.dto.*;
 import com.ims.inventory.service.StockService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -27,7 +38,13 @@ import java.util.List;
 @SecurityRequirement(name = "bearerAuth")
 public class StockController {
 
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
     private final StockService stockService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${inventory.batch.max-movements:10000}")
+    private int maxBatchSize;
 
     // ==================== Stock Levels ====================
 
@@ -73,6 +90,64 @@ public class StockController {
         return ResponseEntity.ok(stockService.createMovement(request, userId, email));
     }
 
+    @PostMapping(value = "/movements/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create stock movements in bulk from a JSON array")
+    public ResponseEntity<BatchMovementResponse> createMovementBatch(
+            HttpServletRequest httpRequest,
+            @RequestParam(defaultValue = "ALL_OR_NOTHING") BatchMovementResponse.Mode mode) throws IOException {
+        List<CreateMovementRequest> requests = new ArrayList<>();
+        ObjectReader reader = objectMapper.readerFor(CreateMovementRequest.class);
+        try (JsonParser parser = objectMapper.getFactory().createParser(httpRequest.getInputStream())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new RuntimeException("Batch must be a JSON array of movements");
+            }
+            // An unclosed array fails in nextToken() like any other syntax error
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                // Rejected before the rest of the array is read
+                if (requests.size() == maxBatchSize) {
+                    throw new RuntimeException("Batch exceeds maximum of " + maxBatchSize + " movements");
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    throw new RuntimeException("Malformed movement at index " + requests.size() + ": not an object");
+                }
+                requests.add(reader.readValue(parser));
+            }
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Malformed movement at index " + requests.size() + ": " + e.getOriginalMessage());
+        }
+        return processMovementBatch(requests, mode);
+    }
+
+    @PostMapping(value = "/movements/batch", consumes = NDJSON_MEDIA_TYPE)
+    @Operation(summary = "Create stock movements in bulk from newline-delimited JSON")
+    public ResponseEntity<BatchMovementResponse> createMovementBatchNdjson(
+            HttpServletRequest httpRequest,
+            @RequestParam(defaultValue = "ALL_OR_NOTHING") BatchMovementResponse.Mode mode) throws IOException {
+        List<CreateMovementRequest> requests = new ArrayList<>();
+        ObjectReader reader = objectMapper.readerFor(CreateMovementRequest.class);
+        try (BufferedReader lines = httpRequest.getReader()) {
+            String line;
+            int lineNumber = 0;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                // Rejected before the rest of the stream is read
+                if (requests.size() == maxBatchSize) {
+                    throw new RuntimeException("Batch exceeds maximum of " + maxBatchSize + " movements");
+                }
+                try {
+                    requests.add(reader.readValue(line));
+                } catch (JsonProcessingException e) {
+                    throw new RuntimeException("Malformed movement at line " + lineNumber + ": " + e.getOriginalMessage());
+                }
+            }
+        }
+        return processMovementBatch(requests, mode);
+    }
+
     @GetMapping("/movements")
     @Operation(summary = "Get stock movements with filters")
     public ResponseEntity<Page<StockMovementResponse>> getMovements(
@@ -85,6 +160,18 @@ public class StockController {
         return ResponseEntity.ok(stockService.getMovements(warehouseId, itemSku, fromDate, toDate, page, size));
     }
 
+    @GetMapping("/movements/feed")
+    @Operation(summary = "Get stock movements with cursor (keyset) pagination")
+    public ResponseEntity<MovementFeedResponse> getMovementFeed(
+            @RequestParam(required = false) Long warehouseId,
+            @RequestParam(required = false) String itemSku,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(stockService.getMovementFeed(warehouseId, itemSku, fromDate, toDate, cursor, size));
+    }
+
     @GetMapping("/movements/my")
     @Operation(summary = "Get my stock movements")
     public ResponseEntity<Page<StockMovementResponse>> getMyMovements(
@@ -113,6 +200,20 @@ public class StockController {
         return ResponseEntity.ok(stockService.getLowStockItems());
     }
 
+    private ResponseEntity<BatchMovementResponse> processMovementBatch(List<CreateMovementRequest> requests,
+                                                                       BatchMovementResponse.Mode mode) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth.getName();
+        Long userId = getUserIdFromAuth(auth);
+
+        log.info("Creating movement batch of {} lines for user: {}", requests.size(), email);
+        BatchMovementResponse response = stockService.createMovementBatch(requests, mode, userId, email);
+        if (!response.isCommitted() && mode == BatchMovementResponse.Mode.ALL_OR_NOTHING) {
+            return ResponseEntity.unprocessableEntity().body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
     private Long getUserIdFromAuth(Authentication auth) {
         // In a real app, extract from JWT claims
         // For now, return a default value
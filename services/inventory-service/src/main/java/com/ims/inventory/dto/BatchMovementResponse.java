@@ -0,0 +1,43 @@
+package com.ims.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchMovementResponse {
+    private Mode mode;
+    private boolean committed;
+    private int totalLines;
+    private int appliedCount;
+    private int failedCount;
+    private List<LineResult> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineResult {
+        private int line;
+        private LineStatus status;
+        private Long movementId;
+        private String error;
+    }
+
+    public enum Mode {
+        ALL_OR_NOTHING, // Any failed line rejects the whole batch
+        BEST_EFFORT     // Failed lines are skipped, the rest are committed
+    }
+
+    public enum LineStatus {
+        APPLIED,
+        FAILED,
+        SKIPPED // Valid, but not committed because another line failed
+    }
+}
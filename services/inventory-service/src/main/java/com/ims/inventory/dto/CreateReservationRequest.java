@@ -0,0 +1,23 @@
+package com.ims.inventory.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class CreateReservationRequest {
+    @NotNull(message = "Warehouse ID is required")
+    private Long warehouseId;
+
+    @NotNull(message = "Item ID is required")
+    private Long itemId;
+
+    @NotNull(message = "Quantity is required")
+    @Positive(message = "Quantity must be positive")
+    private Integer quantity;
+
+    @Positive(message = "TTL must be positive")
+    private Long ttlSeconds; // Defaults to inventory.reservations.default-ttl-seconds
+
+    private String referenceNumber; // e.g. order number
+}
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
@@ -19,6 +20,7 @@ public class DashboardResponse {
     private long outOfStockCount;
     private long pendingReplenishments;
     private long recentMovementsCount;
+    private Map<Long, Long> lowStockCountByWarehouse;
     private List<StockLevelResponse> lowStockItems;
     private List<StockMovementResponse> recentMovements;
 }
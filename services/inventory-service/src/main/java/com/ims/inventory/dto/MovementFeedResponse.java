@@ -0,0 +1,19 @@
+package com.ims.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovementFeedResponse {
+    private List<StockMovementResponse> content;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor; // Opaque, pass back as ?cursor= to continue
+}
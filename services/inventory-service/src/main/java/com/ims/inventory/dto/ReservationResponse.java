@@ -0,0 +1,26 @@
+package com.ims.inventory.dto;
+
+import com.ims.inventory.reservation.Reservation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationResponse {
+    private String reservationId;
+    private Long warehouseId;
+    private Long itemId;
+    private String itemSku;
+    private Integer quantity;
+    private Reservation.Status status;
+    private String referenceNumber;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+    private Long movementId; // Set once confirmed
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -23,6 +24,7 @@ public class StockLevelResponse {
     private Integer availableQuantity;
     private Integer minStockLevel;
     private Integer maxStockLevel;
+    private BigDecimal unitPrice;
     private String status; // NORMAL, LOW, OUT_OF_STOCK, OVERSTOCKED
     private LocalDateTime lastUpdated;
 }
@@ -0,0 +1,29 @@
+package com.ims.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single-row position in the catalog item change feed: every change with an id up to
+ * lastChangeId has been applied to the stock rows.
+ */
+@Entity
+@Table(name = "catalog_feed_checkpoint")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogFeedCheckpoint {
+    public static final Long ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "last_change_id", nullable = false)
+    private Long lastChangeId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
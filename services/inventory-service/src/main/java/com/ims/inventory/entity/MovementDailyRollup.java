@@ -0,0 +1,45 @@
+package com.ims.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Per-day movement totals for one (warehouse, item, movement type), folded in from
+ * stock_movements by the rollup compactor.
+ */
+@Entity
+@Table(name = "movement_daily_rollups", uniqueConstraints = @UniqueConstraint(
+        name = "uk_movement_rollup", columnNames = {"warehouse_id", "rollup_date", "item_id", "movement_type"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MovementDailyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "warehouse_id", nullable = false)
+    private Long warehouseId;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "movement_type", nullable = false)
+    private StockMovement.MovementType movementType;
+
+    @Column(name = "total_quantity", nullable = false)
+    private Long totalQuantity;
+
+    @Column(name = "total_value", precision = 16, scale = 2, nullable = false)
+    private BigDecimal totalValue;
+
+    @Column(name = "movement_count", nullable = false)
+    private Long movementCount;
+}
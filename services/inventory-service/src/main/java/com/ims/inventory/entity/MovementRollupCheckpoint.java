@@ -0,0 +1,28 @@
+package com.ims.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Single-row high-water mark of the movement rollup: every movement with an id up to
+ * lastMovementId is included in movement_daily_rollups.
+ */
+@Entity
+@Table(name = "movement_rollup_checkpoint")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MovementRollupCheckpoint {
+    public static final Long ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "last_movement_id", nullable = false)
+    private Long lastMovementId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -33,7 +33,8 @@ public class StockLevel {
     @Builder.Default
     private Integer quantity = 0;
 
-    @Column(name = "reserved_quantity")
+    // Written only by the reservation engine's batched flush, never by entity updates
+    @Column(name = "reserved_quantity", updatable = false)
     @Builder.Default
     private Integer reservedQuantity = 0;
 
@@ -45,9 +46,15 @@ public class StockLevel {
     @Builder.Default
     private Integer maxStockLevel = 1000;
 
+    @Column(name = "last_movement_id")
+    private Long lastMovementId;
+
     @Column(name = "last_updated")
     private LocalDateTime lastUpdated;
 
+    @Version
+    private Long version;
+
     @PrePersist
     @PreUpdate
     protected void onUpdate() {
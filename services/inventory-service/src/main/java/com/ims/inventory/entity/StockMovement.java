@@ -6,7 +6,13 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "stock_movements")
+@Table(name = "stock_movements", indexes = {
+        @Index(name = "idx_movements_created", columnList = "created_at, id"),
+        @Index(name = "idx_movements_warehouse_created", columnList = "warehouse_id, created_at, id"),
+        @Index(name = "idx_movements_sku_created", columnList = "item_sku, created_at, id"),
+        @Index(name = "idx_movements_warehouse_sku_created", columnList = "warehouse_id, item_sku, created_at, id"),
+        @Index(name = "idx_movements_item", columnList = "item_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
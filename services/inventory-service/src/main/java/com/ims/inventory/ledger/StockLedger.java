@@ -0,0 +1,349 @@
+package com.ims.inventory.ledger;
+
+import com.ims.inventory.dto.CreateMovementRequest;
+import com.ims.inventory.entity.StockLevel;
+import com.ims.inventory.entity.StockMovement;
+import com.ims.inventory.service.DashboardCounters;
+import com.ims.inventory.service.StockService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * In-memory stock ledger. Quantities are owned by single-threaded shards keyed by
+ * (warehouseId, itemId), so movements on a hot SKU never contend on the database row.
+ * Applied movements are handed to one committer thread which persists them in group
+ * commits; callers block until the batch holding their movement has committed.
+ */
+@Component
+@ConditionalOnProperty(prefix = "inventory.ledger", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class StockLedger {
+
+    private final StockLedgerJournal journal;
+    private final DashboardCounters dashboardCounters;
+
+    @Value("${inventory.ledger.shards:8}")
+    private int shardCount;
+
+    @Value("${inventory.ledger.batch-size:500}")
+    private int batchSize;
+
+    @Value("${inventory.ledger.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${inventory.ledger.commit-timeout-ms:30000}")
+    private long commitTimeoutMs;
+
+    private Shard[] shards;
+    private BlockingQueue<PendingMovement> commitQueue;
+    private Thread committer;
+
+    // Keys whose queued movements must be discarded up to (and including) the given epoch,
+    // because an earlier commit for the key failed and the shard has to reload it.
+    private final Map<LedgerKey, Long> fencedEpochs = new ConcurrentHashMap<>();
+
+    // Stock level row ids, only touched by the committer thread once recovery is done.
+    private final Map<LedgerKey, Long> stockLevelIds = new HashMap<>();
+
+    private volatile boolean ready;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i);
+        }
+        commitQueue = new LinkedBlockingQueue<>(queueCapacity);
+        running = true;
+        committer = new Thread(this::runCommitter, "stock-ledger-committer");
+        committer.setDaemon(true);
+        committer.start();
+        log.info("Stock ledger started: shards={}, batchSize={}", shardCount, batchSize);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        ready = false;
+        for (Shard shard : shards) {
+            shard.executor.shutdown();
+        }
+        for (Shard shard : shards) {
+            shard.executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        running = false;
+        committer.join(TimeUnit.SECONDS.toMillis(10));
+        log.info("Stock ledger stopped");
+    }
+
+    /**
+     * Rebuilds the in-memory positions from stock_levels and replays the movements journaled
+     * after each row's own checkpoint. Rows without a checkpoint are taken as-is.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        List<StockLevel> snapshot = journal.loadSnapshot();
+        Long replayFrom = null;
+        for (StockLevel stock : snapshot) {
+            LedgerKey key = new LedgerKey(stock.getWarehouseId(), stock.getItemId());
+            shardFor(key).positions.put(key, new Position(stock, true));
+            stockLevelIds.put(key, stock.getId());
+            if (stock.getLastMovementId() != null && (replayFrom == null || stock.getLastMovementId() < replayFrom)) {
+                replayFrom = stock.getLastMovementId();
+            }
+        }
+
+        Map<LedgerKey, Position> replayed = new HashMap<>();
+        if (replayFrom != null) {
+            journal.replayMovementsAfter(replayFrom, movement -> {
+                LedgerKey key = new LedgerKey(movement.getWarehouseId(), movement.getItemId());
+                Position position = shardFor(key).positions.get(key);
+                if (position == null || position.checkpoint == null || movement.getId() <= position.checkpoint) {
+                    return;
+                }
+                position.quantity = StockService.calculateNewQuantity(
+                        position.quantity, movement.getMovementType(), movement.getQuantity());
+                position.checkpoint = movement.getId();
+                replayed.put(key, position);
+            });
+        }
+        if (!replayed.isEmpty()) {
+            journal.writeCheckpoints(replayed.entrySet().stream()
+                    .map(e -> new StockLedgerJournal.Checkpoint(stockLevelIds.get(e.getKey()),
+                            e.getValue().quantity, e.getValue().checkpoint))
+                    .toList());
+        }
+
+        // Publishing through the volatile flag makes the positions visible to the shard threads.
+        ready = true;
+        log.info("Stock ledger recovered: positions={}, replayedPositions={}", snapshot.size(), replayed.size());
+    }
+
+    /**
+     * Applies a movement on the owning shard and waits until it has been committed. The movement
+     * is rejected if it would leave less than {@code minQuantity} on hand.
+     */
+    public StockMovement post(CreateMovementRequest request, int minQuantity, Long userId, String userEmail) {
+        return await(submit(request, minQuantity, userId, userEmail));
+    }
+
+    /**
+     * Queues a movement on the owning shard. The future completes once it has been committed.
+     */
+    public CompletableFuture<StockMovement> submit(CreateMovementRequest request, int minQuantity,
+                                                   Long userId, String userEmail) {
+        if (!ready) {
+            throw new RuntimeException("Stock ledger is not ready, retry shortly");
+        }
+        LedgerKey key = new LedgerKey(request.getWarehouseId(), request.getItemId());
+        CompletableFuture<StockMovement> committed = new CompletableFuture<>();
+        Shard shard = shardFor(key);
+        shard.executor.execute(() -> shard.apply(key, request, minQuantity, userId, userEmail, committed));
+        return committed;
+    }
+
+    public StockMovement await(CompletableFuture<StockMovement> committed) {
+        try {
+            return committed.get(commitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Stock movement failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Timed out waiting for stock movement to commit");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for stock movement to commit");
+        }
+    }
+
+    private Shard shardFor(LedgerKey key) {
+        return shards[Math.floorMod(key.hashCode(), shards.length)];
+    }
+
+    // ==================== Committer ====================
+
+    private void runCommitter() {
+        List<PendingMovement> batch = new ArrayList<>(batchSize);
+        while (running || !commitQueue.isEmpty()) {
+            try {
+                PendingMovement first = commitQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                commitQueue.drainTo(batch, batchSize - 1);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingMovement> batch) {
+        List<PendingMovement> accepted = new ArrayList<>(batch.size());
+        for (PendingMovement pending : batch) {
+            Long fence = fencedEpochs.get(pending.key());
+            if (fence != null && pending.epoch() <= fence) {
+                pending.committed().completeExceptionally(
+                        new RuntimeException("Stock movement discarded after a failed ledger commit, retry"));
+            } else {
+                accepted.add(pending);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            stockLevelIds.putAll(journal.commit(accepted, stockLevelIds));
+            for (PendingMovement pending : accepted) {
+                dashboardCounters.recordQuantityChange(pending.key().warehouseId(), pending.key().itemId(),
+                        pending.previousQuantity(), pending.resultingQuantity(), pending.minStockLevel());
+                pending.committed().complete(pending.movement());
+            }
+            log.debug("Stock ledger committed {} movements", accepted.size());
+        } catch (RuntimeException e) {
+            log.error("Stock ledger commit of {} movements failed: {}", accepted.size(), e.getMessage(), e);
+            Set<LedgerKey> failedKeys = new HashSet<>();
+            for (PendingMovement pending : accepted) {
+                if (failedKeys.add(pending.key())) {
+                    fencedEpochs.put(pending.key(), Long.MAX_VALUE);
+                    Shard shard = shardFor(pending.key());
+                    shard.executor.execute(() -> shard.invalidate(pending.key()));
+                }
+                pending.committed().completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Replaces the SKU and minimum level cached in the positions of the given items, after the
+     * catalog change feed has updated their stock rows.
+     */
+    public void updateItems(Map<Long, ItemDetails> items) {
+        for (Shard shard : shards) {
+            shard.executor.execute(() -> shard.positions.forEach((key, position) -> {
+                ItemDetails details = items.get(key.itemId());
+                if (details != null) {
+                    position.itemSku = details.itemSku();
+                    position.minStockLevel = details.minStockLevel();
+                }
+            }));
+        }
+    }
+
+    // ==================== Shards ====================
+
+    private class Shard {
+        private final ExecutorService executor;
+        private final Map<LedgerKey, Position> positions = new HashMap<>();
+        private long epoch;
+
+        Shard(int index) {
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "stock-ledger-shard-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        void apply(LedgerKey key, CreateMovementRequest request, int minQuantity, Long userId, String userEmail,
+                   CompletableFuture<StockMovement> committed) {
+            try {
+                Position position = positions.get(key);
+                if (position == null) {
+                    position = journal.loadPosition(key.warehouseId(), key.itemId())
+                            .map(stock -> new Position(stock, true))
+                            .orElseGet(() -> new Position(StockLevel.builder()
+                                    .itemSku(request.getItemSku())
+                                    .quantity(0)
+                                    .build(), false));
+                }
+
+                int newQuantity = StockService.calculateNewQuantity(
+                        position.quantity, request.getMovementType(), request.getQuantity());
+                if (newQuantity < minQuantity) {
+                    throw StockService.insufficientStock(position.quantity, minQuantity, request.getQuantity());
+                }
+                Integer previousQuantity = position.persisted ? position.quantity : null;
+                position.quantity = newQuantity;
+                position.persisted = true;
+                positions.put(key, position);
+
+                StockMovement movement = StockMovement.builder()
+                        .warehouseId(request.getWarehouseId())
+                        .itemId(request.getItemId())
+                        .itemSku(request.getItemSku())
+                        .movementType(request.getMovementType())
+                        .quantity(request.getQuantity())
+                        .unitPrice(request.getUnitPrice())
+                        .referenceNumber(request.getReferenceNumber())
+                        .referenceType(request.getReferenceType())
+                        .reason(request.getReason())
+                        .notes(request.getNotes())
+                        .createdBy(userId)
+                        .createdByEmail(userEmail)
+                        .build();
+
+                commitQueue.put(new PendingMovement(key, epoch, previousQuantity, newQuantity,
+                        position.minStockLevel, position.itemSku, movement, committed));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                committed.completeExceptionally(new RuntimeException("Stock ledger is shutting down"));
+            } catch (RuntimeException e) {
+                committed.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Drops the cached position after a failed commit. Movements applied to it so far are
+         * fenced off, and the next movement reloads the committed quantity from the database.
+         */
+        void invalidate(LedgerKey key) {
+            positions.remove(key);
+            fencedEpochs.put(key, epoch);
+            epoch++;
+            log.warn("Stock ledger position invalidated: warehouseId={}, itemId={}", key.warehouseId(), key.itemId());
+        }
+    }
+
+    private static class Position {
+        private int quantity;
+        private String itemSku;
+        private Integer minStockLevel;
+        private Long checkpoint;
+        private boolean persisted;
+
+        Position(StockLevel stock, boolean persisted) {
+            this.quantity = stock.getQuantity();
+            this.itemSku = stock.getItemSku();
+            this.minStockLevel = stock.getMinStockLevel();
+            this.checkpoint = stock.getLastMovementId();
+            this.persisted = persisted;
+        }
+    }
+
+    public record LedgerKey(Long warehouseId, Long itemId) {}
+
+    public record ItemDetails(String itemSku, Integer minStockLevel) {}
+
+    record PendingMovement(LedgerKey key, long epoch, Integer previousQuantity, int resultingQuantity,
+                           Integer minStockLevel, String itemSku,
+                           StockMovement movement, CompletableFuture<StockMovement> committed) {}
+}
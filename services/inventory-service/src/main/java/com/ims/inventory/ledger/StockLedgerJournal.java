@@ -0,0 +1,103 @@
+package com.ims.inventory.ledger;
+
+import com.ims.inventory.entity.StockLevel;
+import com.ims.inventory.entity.StockMovement;
+import com.ims.inventory.ledger.StockLedger.LedgerKey;
+import com.ims.inventory.ledger.StockLedger.PendingMovement;
+import com.ims.inventory.repository.StockLevelRepository;
+import com.ims.inventory.repository.StockMovementRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Database side of the {@link StockLedger}: group commits, recovery reads and checkpoints.
+ */
+@Component
+@ConditionalOnProperty(prefix = "inventory.ledger", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class StockLedgerJournal {
+
+    private final StockLevelRepository stockLevelRepository;
+    private final StockMovementRepository stockMovementRepository;
+    private final EntityManager entityManager;
+
+    /**
+     * Inserts the batch of movements with JDBC batch statements and writes each touched
+     * stock level once, with the quantity and checkpoint of its last movement in the batch.
+     *
+     * @return ids of stock level rows created by this commit
+     */
+    @Transactional
+    public Map<LedgerKey, Long> commit(List<PendingMovement> batch, Map<LedgerKey, Long> stockLevelIds) {
+        List<StockMovement> movements = new ArrayList<>(batch.size());
+        Map<LedgerKey, PendingMovement> latest = new LinkedHashMap<>();
+        for (PendingMovement pending : batch) {
+            movements.add(pending.movement());
+            latest.put(pending.key(), pending);
+        }
+        stockMovementRepository.insertBatch(movements);
+
+        Map<LedgerKey, Long> created = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (PendingMovement pending : latest.values()) {
+            Long stockLevelId = stockLevelIds.get(pending.key());
+            if (stockLevelId != null) {
+                stockLevelRepository.updateLedgerPosition(stockLevelId, pending.resultingQuantity(),
+                        pending.movement().getId(), now);
+            } else {
+                StockLevel saved = stockLevelRepository.save(StockLevel.builder()
+                        .warehouseId(pending.key().warehouseId())
+                        .itemId(pending.key().itemId())
+                        .itemSku(pending.itemSku())
+                        .quantity(pending.resultingQuantity())
+                        .lastMovementId(pending.movement().getId())
+                        .build());
+                created.put(pending.key(), saved.getId());
+            }
+        }
+        return created;
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockLevel> loadSnapshot() {
+        return stockLevelRepository.findAll();
+    }
+
+    /**
+     * Streams the movements journaled after their stock level's checkpoint, in id order,
+     * detaching each once the action has seen it so the replay runs in constant memory.
+     */
+    @Transactional(readOnly = true)
+    public void replayMovementsAfter(Long movementId, Consumer<StockMovement> action) {
+        try (Stream<StockMovement> movements = stockMovementRepository.streamJournalAfterCheckpoints(movementId)) {
+            movements.forEach(movement -> {
+                action.accept(movement);
+                entityManager.detach(movement);
+            });
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<StockLevel> loadPosition(Long warehouseId, Long itemId) {
+        return stockLevelRepository.findByWarehouseIdAndItemId(warehouseId, itemId);
+    }
+
+    @Transactional
+    public void writeCheckpoints(List<Checkpoint> checkpoints) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Checkpoint checkpoint : checkpoints) {
+            stockLevelRepository.updateLedgerPosition(checkpoint.stockLevelId(), checkpoint.quantity(),
+                    checkpoint.lastMovementId(), now);
+        }
+    }
+
+    public record Checkpoint(Long stockLevelId, int quantity, Long lastMovementId) {}
+}
@@ -0,0 +1,9 @@
+package com.ims.inventory.repository;
+
+import com.ims.inventory.entity.CatalogFeedCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CatalogFeedCheckpointRepository extends JpaRepository<CatalogFeedCheckpoint, Long> {
+}
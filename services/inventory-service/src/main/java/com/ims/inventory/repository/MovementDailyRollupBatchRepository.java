@@ -0,0 +1,14 @@
+package com.ims.inventory.repository;
+
+import com.ims.inventory.entity.MovementDailyRollup;
+
+import java.util.List;
+
+public interface MovementDailyRollupBatchRepository {
+
+    /**
+     * Adds the given totals onto existing rollup rows with JDBC batch statements, inserting
+     * rows for keys that have no rollup yet.
+     */
+    void addBatch(List<MovementDailyRollup> deltas);
+}
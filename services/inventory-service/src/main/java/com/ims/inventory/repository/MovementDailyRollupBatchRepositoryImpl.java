@@ -0,0 +1,41 @@
+package com.ims.inventory.repository;
+
+import com.ims.inventory.entity.MovementDailyRollup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class MovementDailyRollupBatchRepositoryImpl implements MovementDailyRollupBatchRepository {
+
+    private static final String UPDATE_SQL = "UPDATE movement_daily_rollups SET total_quantity = total_quantity + ?, " +
+            "total_value = total_value + ?, movement_count = movement_count + ? " +
+            "WHERE warehouse_id = ? AND rollup_date = ? AND item_id = ? AND movement_type = ?";
+
+    private static final String INSERT_SQL = "INSERT INTO movement_daily_rollups (total_quantity, total_value, " +
+            "movement_count, warehouse_id, rollup_date, item_id, movement_type) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addBatch(List<MovementDailyRollup> deltas) {
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        for (MovementDailyRollup delta : deltas) {
+            args.add(new Object[]{delta.getTotalQuantity(), delta.getTotalValue(), delta.getMovementCount(),
+                    delta.getWarehouseId(), delta.getRollupDate(), delta.getItemId(), delta.getMovementType().name()});
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, args);
+        List<Object[]> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(args.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, missing);
+        }
+    }
+}
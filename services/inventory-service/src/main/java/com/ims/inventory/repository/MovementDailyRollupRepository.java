@@ -0,0 +1,23 @@
+package com.ims.inventory.repository;
+
+import com.ims.inventory.entity.MovementDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface MovementDailyRollupRepository extends JpaRepository<MovementDailyRollup, Long>,
+        MovementDailyRollupBatchRepository {
+
+    @Query("SELECT r.movementType, SUM(r.totalQuantity), SUM(r.totalValue) FROM MovementDailyRollup r " +
+           "WHERE r.warehouseId = :warehouseId AND r.rollupDate BETWEEN :fromDate AND :toDate " +
+           "GROUP BY r.movementType")
+    List<Object[]> summarizeByWarehouseAndDateRange(
+            @Param("warehouseId") Long warehouseId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate);
+}
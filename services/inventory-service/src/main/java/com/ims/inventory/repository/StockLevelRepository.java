@@ -1,32 +1,98 @@
 package com.ims.inventory.repository;
 
 import com.ims.inventory.entity.StockLevel;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface StockLevelRepository extends JpaRepository<StockLevel, Long> {
     List<StockLevel> findByWarehouseId(Long warehouseId);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM StockLevel s WHERE s.warehouseId = :warehouseId ORDER BY s.id")
+    Stream<StockLevel> streamByWarehouseId(@Param("warehouseId") Long warehouseId);
     
     Optional<StockLevel> findByWarehouseIdAndItemId(Long warehouseId, Long itemId);
+
+    List<StockLevel> findByWarehouseIdInAndItemIdIn(Collection<Long> warehouseIds, Collection<Long> itemIds);
     
     @Query("SELECT s FROM StockLevel s WHERE s.quantity <= s.minStockLevel")
     List<StockLevel> findLowStockItems();
     
     @Query("SELECT s FROM StockLevel s WHERE s.warehouseId = :warehouseId AND s.quantity <= s.minStockLevel")
     List<StockLevel> findLowStockItemsByWarehouse(@Param("warehouseId") Long warehouseId);
+
+    @Query("SELECT s FROM StockLevel s WHERE s.quantity <= s.minStockLevel ORDER BY s.quantity ASC")
+    List<StockLevel> findLowStockItems(Pageable pageable);
+
+    @Query("SELECT s FROM StockLevel s WHERE s.warehouseId = :warehouseId AND s.quantity <= s.minStockLevel " +
+           "ORDER BY s.quantity ASC")
+    List<StockLevel> findLowStockItemsByWarehouse(@Param("warehouseId") Long warehouseId, Pageable pageable);
+
+    @Query("SELECT s.warehouseId, s.itemId, s.quantity, s.minStockLevel FROM StockLevel s")
+    List<Object[]> findStockPositions();
     
     @Query("SELECT s FROM StockLevel s WHERE s.itemId = :itemId")
     List<StockLevel> findByItemId(@Param("itemId") Long itemId);
     
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM StockLevel s WHERE s.itemId IN :itemIds ORDER BY s.id")
+    List<StockLevel> lockByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
+
     @Query("SELECT SUM(s.quantity) FROM StockLevel s WHERE s.itemId = :itemId")
     Integer getTotalStockByItem(@Param("itemId") Long itemId);
 
     @Query("SELECT s FROM StockLevel s WHERE s.itemSku = :sku")
     List<StockLevel> findByItemSku(@Param("sku") String sku);
+
+    @Modifying
+    @Query("UPDATE StockLevel s SET s.quantity = :quantity, s.lastMovementId = :lastMovementId, " +
+           "s.lastUpdated = :lastUpdated, s.version = s.version + 1 WHERE s.id = :id")
+    int updateLedgerPosition(@Param("id") Long id,
+                             @Param("quantity") Integer quantity,
+                             @Param("lastMovementId") Long lastMovementId,
+                             @Param("lastUpdated") LocalDateTime lastUpdated);
+
+    // Only applied while the resulting quantity still covers minQuantity, the units held by reservations
+    @Modifying
+    @Query("UPDATE StockLevel s SET s.quantity = s.quantity + :delta, s.lastMovementId = :lastMovementId, " +
+           "s.lastUpdated = :lastUpdated, s.version = s.version + 1 " +
+           "WHERE s.warehouseId = :warehouseId AND s.itemId = :itemId AND s.quantity + :delta >= :minQuantity")
+    int applyQuantityDelta(@Param("warehouseId") Long warehouseId,
+                           @Param("itemId") Long itemId,
+                           @Param("delta") int delta,
+                           @Param("minQuantity") int minQuantity,
+                           @Param("lastMovementId") Long lastMovementId,
+                           @Param("lastUpdated") LocalDateTime lastUpdated);
+
+    @Modifying
+    @Query(value = "UPDATE stock_levels SET reserved_quantity = :reserved " +
+                   "WHERE warehouse_id = :warehouseId AND item_id = :itemId", nativeQuery = true)
+    int updateReservedQuantity(@Param("warehouseId") Long warehouseId,
+                               @Param("itemId") Long itemId,
+                               @Param("reserved") int reserved);
+
+    @Modifying
+    @Query(value = "UPDATE stock_levels SET reserved_quantity = 0 WHERE reserved_quantity <> 0", nativeQuery = true)
+    int clearReservedQuantities();
 }
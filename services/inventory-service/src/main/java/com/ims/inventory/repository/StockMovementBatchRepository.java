@@ -0,0 +1,13 @@
+package com.ims.inventory.repository;
+
+import com.ims.inventory.entity.StockMovement;
+
+import java.util.List;
+
+public interface StockMovementBatchRepository {
+
+    /**
+     * Inserts the movements with JDBC batch statements and assigns the generated ids.
+     */
+    void insertBatch(List<StockMovement> movements);
+}
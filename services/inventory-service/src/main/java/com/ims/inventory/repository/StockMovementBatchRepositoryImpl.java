@@ -0,0 +1,71 @@
+package com.ims.inventory.repository;
+
+import com.ims.inventory.entity.StockMovement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class StockMovementBatchRepositoryImpl implements StockMovementBatchRepository {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO stock_movements (warehouse_id, item_id, item_sku, " +
+            "movement_type, quantity, unit_price, total_value, reference_number, reference_type, reason, " +
+            "created_by, created_by_email, created_at, notes) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertBatch(List<StockMovement> movements) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < movements.size(); from += CHUNK_SIZE) {
+            List<StockMovement> chunk = movements.subList(from, Math.min(from + CHUNK_SIZE, movements.size()));
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, new String[]{"id"})) {
+                    for (StockMovement movement : chunk) {
+                        // Same defaults StockMovement.onCreate() applies for JPA inserts
+                        if (movement.getCreatedAt() == null) {
+                            movement.setCreatedAt(now);
+                        }
+                        if (movement.getUnitPrice() != null && movement.getQuantity() != null) {
+                            movement.setTotalValue(movement.getUnitPrice()
+                                    .multiply(BigDecimal.valueOf(Math.abs(movement.getQuantity()))));
+                        }
+
+                        ps.setLong(1, movement.getWarehouseId());
+                        ps.setLong(2, movement.getItemId());
+                        ps.setString(3, movement.getItemSku());
+                        ps.setString(4, movement.getMovementType().name());
+                        ps.setInt(5, movement.getQuantity());
+                        ps.setBigDecimal(6, movement.getUnitPrice());
+                        ps.setBigDecimal(7, movement.getTotalValue());
+                        ps.setString(8, movement.getReferenceNumber());
+                        ps.setString(9, movement.getReferenceType());
+                        ps.setString(10, movement.getReason());
+                        ps.setObject(11, movement.getCreatedBy());
+                        ps.setString(12, movement.getCreatedByEmail());
+                        ps.setObject(13, movement.getCreatedAt());
+                        ps.setString(14, movement.getNotes());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        int i = 0;
+                        while (keys.next()) {
+                            chunk.get(i++).setId(keys.getLong(1));
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+    }
+}
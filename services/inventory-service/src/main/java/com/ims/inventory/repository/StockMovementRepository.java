@@ -1,18 +1,26 @@
 package com.ims.inventory.repository;
 
 import com.ims.inventory.entity.StockMovement;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long>, StockMovementBatchRepository,
+        StockMovementSeekRepository {
     List<StockMovement> findByWarehouseId(Long warehouseId);
     
     Page<StockMovement> findByWarehouseId(Long warehouseId, Pageable pageable);
@@ -29,6 +37,16 @@ public interface StockMovementRepository extends JpaRepository<StockMovement, Lo
             @Param("warehouseId") Long warehouseId,
             @Param("fromDate") LocalDateTime fromDate,
             @Param("toDate") LocalDateTime toDate);
+
+    @Query("SELECT m.movementType, SUM(m.quantity), SUM(m.totalValue) FROM StockMovement m " +
+           "WHERE m.warehouseId = :warehouseId AND m.createdAt BETWEEN :fromDate AND :toDate " +
+           "AND m.id > :afterId " +
+           "GROUP BY m.movementType")
+    List<Object[]> summarizeByWarehouseAndDateRange(
+            @Param("warehouseId") Long warehouseId,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("afterId") Long afterId);
     
     @Query("SELECT m FROM StockMovement m WHERE " +
            "(:warehouseId IS NULL OR m.warehouseId = :warehouseId) AND " +
@@ -44,4 +62,28 @@ public interface StockMovementRepository extends JpaRepository<StockMovement, Lo
 
     @Query("SELECT m FROM StockMovement m ORDER BY m.createdAt DESC")
     List<StockMovement> findRecentMovements(Pageable pageable);
+
+    // Only movements newer than their own stock row's checkpoint; afterId bounds the id range scanned
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m FROM StockMovement m, StockLevel s WHERE s.warehouseId = m.warehouseId " +
+           "AND s.itemId = m.itemId AND m.id > s.lastMovementId AND m.id > :afterId ORDER BY m.id")
+    Stream<StockMovement> streamJournalAfterCheckpoints(@Param("afterId") Long afterId);
+
+    @Query("SELECT m.id FROM StockMovement m WHERE m.id > :afterId AND m.createdAt < :cutoff ORDER BY m.id")
+    List<Long> findRollupCandidates(@Param("afterId") Long afterId, @Param("cutoff") LocalDateTime cutoff,
+                                    Pageable pageable);
+
+    @Query("SELECT m.warehouseId, m.itemId, EXTRACT(DATE FROM m.createdAt), m.movementType, " +
+           "SUM(m.quantity), SUM(m.totalValue), COUNT(m) FROM StockMovement m " +
+           "WHERE m.id > :afterId AND m.id <= :uptoId " +
+           "GROUP BY m.warehouseId, m.itemId, EXTRACT(DATE FROM m.createdAt), m.movementType")
+    List<Object[]> aggregateForRollup(@Param("afterId") Long afterId, @Param("uptoId") Long uptoId);
+
+    @Modifying
+    @Query("UPDATE StockMovement m SET m.itemSku = :sku " +
+           "WHERE m.itemId = :itemId AND (m.itemSku IS NULL OR m.itemSku <> :sku)")
+    int renameItemSku(@Param("itemId") Long itemId, @Param("sku") String sku);
 }
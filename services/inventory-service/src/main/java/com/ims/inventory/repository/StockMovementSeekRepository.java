@@ -0,0 +1,18 @@
+package com.ims.inventory.repository;
+
+import com.ims.inventory.entity.StockMovement;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StockMovementSeekRepository {
+
+    /**
+     * Movements matching the filters, newest first by (createdAt, id), strictly after the given
+     * position, or from the newest when the position is null. Only filters that are set are
+     * added to the query, so each combination can use its composite index.
+     */
+    List<StockMovement> seekMovements(Long warehouseId, String itemSku,
+                                      LocalDateTime fromDate, LocalDateTime toDate,
+                                      LocalDateTime afterCreatedAt, Long afterId, int limit);
+}
@@ -0,0 +1,55 @@
+package com.ims.inventory.repository;
+
+import com.ims.inventory.entity.StockMovement;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class StockMovementSeekRepositoryImpl implements StockMovementSeekRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<StockMovement> seekMovements(Long warehouseId, String itemSku,
+                                             LocalDateTime fromDate, LocalDateTime toDate,
+                                             LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+
+        if (warehouseId != null) {
+            predicates.add("m.warehouseId = :warehouseId");
+            params.put("warehouseId", warehouseId);
+        }
+        if (itemSku != null) {
+            predicates.add("m.itemSku = :itemSku");
+            params.put("itemSku", itemSku);
+        }
+        if (fromDate != null) {
+            predicates.add("m.createdAt >= :fromDate");
+            params.put("fromDate", fromDate);
+        }
+        if (toDate != null) {
+            predicates.add("m.createdAt <= :toDate");
+            params.put("toDate", toDate);
+        }
+        if (afterCreatedAt != null && afterId != null) {
+            predicates.add("(m.createdAt < :afterCreatedAt OR (m.createdAt = :afterCreatedAt AND m.id < :afterId))");
+            params.put("afterCreatedAt", afterCreatedAt);
+            params.put("afterId", afterId);
+        }
+        String jpql = "SELECT m FROM StockMovement m"
+                + (predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates))
+                + " ORDER BY m.createdAt DESC, m.id DESC";
+
+        TypedQuery<StockMovement> query = entityManager.createQuery(jpql, StockMovement.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
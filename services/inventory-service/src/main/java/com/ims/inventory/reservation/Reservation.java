@@ -0,0 +1,59 @@
+package com.ims.inventory.reservation;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A time-limited hold on stock. Status changes are compare-and-set, so confirm, release and
+ * expiry can race without locks and only one of them wins.
+ */
+@Getter
+public class Reservation {
+
+    public enum Status {
+        ACTIVE,
+        CONFIRMING,
+        CONFIRMED,
+        RELEASED,
+        EXPIRED
+    }
+
+    private final String id;
+    private final Long warehouseId;
+    private final Long itemId;
+    private final String itemSku;
+    private final int quantity;
+    private final String referenceNumber;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime expiresAt;
+    private final long deadlineNanos;
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.ACTIVE);
+
+    Reservation(String id, Long warehouseId, Long itemId, String itemSku, int quantity,
+                String referenceNumber, long ttlSeconds) {
+        this.id = id;
+        this.warehouseId = warehouseId;
+        this.itemId = itemId;
+        this.itemSku = itemSku;
+        this.quantity = quantity;
+        this.referenceNumber = referenceNumber;
+        this.createdAt = LocalDateTime.now();
+        this.expiresAt = createdAt.plusSeconds(ttlSeconds);
+        this.deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    public Status getStatus() {
+        return status.get();
+    }
+
+    boolean transition(Status from, Status to) {
+        return status.compareAndSet(from, to);
+    }
+
+    boolean isPastDeadline() {
+        return System.nanoTime() - deadlineNanos >= 0;
+    }
+}
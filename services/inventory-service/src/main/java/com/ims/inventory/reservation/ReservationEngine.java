@@ -0,0 +1,356 @@
+package com.ims.inventory.reservation;
+
+import com.ims.inventory.entity.StockLevel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * In-memory stock reservations. Each SKU has a lock-free counter of reserved units checked
+ * against its on-hand quantity, holds expire through a hashed timing wheel, and reserved
+ * totals are flushed to stock_levels.reserved_quantity in batches by a single writer thread.
+ *
+ * Holds are not persisted: reserved quantities are cleared on startup, so a restart releases
+ * every outstanding hold. On-hand quantities are reloaded every refresh interval, and
+ * reservations are checked against that cached value.
+ */
+@Component
+@Slf4j
+public class ReservationEngine {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int WHEEL_SIZE = 1024;
+
+    private final ReservationStore store;
+
+    @Value("${inventory.reservations.default-ttl-seconds:900}")
+    private long defaultTtlSeconds;
+
+    @Value("${inventory.reservations.max-ttl-seconds:86400}")
+    private long maxTtlSeconds;
+
+    @Value("${inventory.reservations.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${inventory.reservations.refresh-interval-ms:1000}")
+    private long refreshIntervalMs;
+
+    private final Map<StockKey, SkuCounter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Reservation> holds = new ConcurrentHashMap<>();
+    private final Set<StockKey> dirty = ConcurrentHashMap.newKeySet();
+    // Timing wheel slots keyed by deadline tick; holds due in a later rotation stay until then
+    private final Set<Reservation>[] wheel = newWheel();
+
+    private final Counter reservedCounter;
+    private final Counter rejectedCounter;
+    private final Counter confirmedCounter;
+    private final Counter releasedCounter;
+    private final Counter expiredCounter;
+
+    private ScheduledExecutorService flusher;
+    private ScheduledExecutorService expirer;
+    private long lastSweptTick;
+    private long lastRefreshNanos;
+
+    public ReservationEngine(ReservationStore store, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.reservedCounter = outcomeCounter(meterRegistry, "reserved");
+        this.rejectedCounter = outcomeCounter(meterRegistry, "rejected");
+        this.confirmedCounter = outcomeCounter(meterRegistry, "confirmed");
+        this.releasedCounter = outcomeCounter(meterRegistry, "released");
+        this.expiredCounter = outcomeCounter(meterRegistry, "expired");
+        Gauge.builder("inventory.reservations.active", holds, Map::size)
+                .description("Stock reservations currently held")
+                .register(meterRegistry);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("inventory.reservations")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        int cleared = store.clearReserved();
+        if (cleared > 0) {
+            log.warn("Cleared reserved quantities on {} stock levels left over from a previous run", cleared);
+        }
+
+        lastSweptTick = System.nanoTime() / TICK_NANOS - 1;
+        expirer = singleThreadScheduler("stock-reservation-expiry");
+        expirer.scheduleWithFixedDelay(this::sweep, TICK_NANOS, TICK_NANOS, TimeUnit.NANOSECONDS);
+
+        lastRefreshNanos = System.nanoTime();
+        flusher = singleThreadScheduler("stock-reservation-flusher");
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Reservation engine started: defaultTtl={}s, flushInterval={}ms", defaultTtlSeconds, flushIntervalMs);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        expirer.shutdownNow();
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+        log.info("Reservation engine stopped");
+    }
+
+    // ==================== Operations ====================
+
+    public Reservation reserve(Long warehouseId, Long itemId, int quantity, Long ttlSeconds, String referenceNumber) {
+        long ttl = ttlSeconds != null ? ttlSeconds : defaultTtlSeconds;
+        if (ttl <= 0 || ttl > maxTtlSeconds) {
+            throw new RuntimeException("Reservation TTL must be between 1 and " + maxTtlSeconds + " seconds");
+        }
+
+        StockKey key = new StockKey(warehouseId, itemId);
+        SkuCounter counter = counterFor(key);
+        if (!counter.tryReserve(quantity)) {
+            rejectedCounter.increment();
+            throw new RuntimeException("Insufficient available stock. Available: " + counter.available()
+                    + ", Requested: " + quantity);
+        }
+        dirty.add(key);
+
+        Reservation reservation = new Reservation(UUID.randomUUID().toString(), warehouseId, itemId,
+                counter.itemSku, quantity, referenceNumber, ttl);
+        holds.put(reservation.getId(), reservation);
+        slotFor(reservation).add(reservation);
+        reservedCounter.increment();
+        return reservation;
+    }
+
+    public Reservation get(String reservationId) {
+        Reservation reservation = holds.get(reservationId);
+        if (reservation == null) {
+            throw new RuntimeException("Reservation not found or no longer active: " + reservationId);
+        }
+        return reservation;
+    }
+
+    public Reservation release(String reservationId) {
+        Reservation reservation = get(reservationId);
+        if (!reservation.transition(Reservation.Status.ACTIVE, Reservation.Status.RELEASED)) {
+            throw new RuntimeException("Reservation is " + reservation.getStatus() + ": " + reservationId);
+        }
+        finish(reservation);
+        releasedCounter.increment();
+        return reservation;
+    }
+
+    /**
+     * Confirms a hold by running {@code consume} (which issues the stock) while the hold is
+     * protected from expiry. On success the hold is converted into the issued stock; if
+     * {@code consume} fails the hold becomes active again.
+     */
+    public <T> T confirm(String reservationId, Function<Reservation, T> consume) {
+        Reservation reservation = get(reservationId);
+        if (!reservation.transition(Reservation.Status.ACTIVE, Reservation.Status.CONFIRMING)) {
+            throw new RuntimeException("Reservation is " + reservation.getStatus() + ": " + reservationId);
+        }
+
+        T result;
+        try {
+            result = consume.apply(reservation);
+        } catch (RuntimeException e) {
+            reservation.transition(Reservation.Status.CONFIRMING, Reservation.Status.ACTIVE);
+            if (reservation.isPastDeadline()) {
+                expire(reservation);
+            }
+            throw e;
+        }
+
+        reservation.transition(Reservation.Status.CONFIRMING, Reservation.Status.CONFIRMED);
+        // The issued units have left on-hand stock; adjust until the next refresh reloads it
+        counters.get(key(reservation)).onHand.addAndGet(-reservation.getQuantity());
+        finish(reservation);
+        confirmedCounter.increment();
+        return result;
+    }
+
+    /**
+     * Units currently held on the SKU, which other stock issues must leave in place. Read from
+     * the in-memory counter rather than stock_levels.reserved_quantity, which lags by a flush.
+     */
+    public int reservedQuantity(Long warehouseId, Long itemId) {
+        SkuCounter counter = counters.get(new StockKey(warehouseId, itemId));
+        return counter != null ? counter.reserved.get() : 0;
+    }
+
+    /**
+     * Applies a movement made outside a reservation to the cached on-hand quantity, so holds
+     * placed before the next refresh are checked against the stock actually left.
+     */
+    public void adjustOnHand(Long warehouseId, Long itemId, int delta) {
+        SkuCounter counter = counters.get(new StockKey(warehouseId, itemId));
+        if (counter != null) {
+            counter.onHand.addAndGet(delta);
+        }
+    }
+
+    private SkuCounter counterFor(StockKey key) {
+        SkuCounter counter = counters.get(key);
+        if (counter != null) {
+            return counter;
+        }
+        StockLevel stock = store.loadStock(key)
+                .orElseThrow(() -> new RuntimeException("Stock not found for item in warehouse"));
+        return counters.computeIfAbsent(key, k -> new SkuCounter(stock.getQuantity(), stock.getItemSku()));
+    }
+
+    private void finish(Reservation reservation) {
+        StockKey key = key(reservation);
+        counters.get(key).reserved.addAndGet(-reservation.getQuantity());
+        dirty.add(key);
+        holds.remove(reservation.getId());
+        slotFor(reservation).remove(reservation);
+    }
+
+    private static StockKey key(Reservation reservation) {
+        return new StockKey(reservation.getWarehouseId(), reservation.getItemId());
+    }
+
+    // ==================== Expiry ====================
+
+    private void sweep() {
+        try {
+            // Only fully elapsed ticks, so every hold in a visited slot for this rotation is due
+            long lastElapsedTick = System.nanoTime() / TICK_NANOS - 1;
+            for (long tick = Math.max(lastSweptTick + 1, lastElapsedTick - WHEEL_SIZE + 1); tick <= lastElapsedTick; tick++) {
+                for (Reservation reservation : wheel[(int) Math.floorMod(tick, (long) WHEEL_SIZE)]) {
+                    if (reservation.isPastDeadline()) {
+                        expire(reservation);
+                    }
+                }
+            }
+            lastSweptTick = lastElapsedTick;
+        } catch (RuntimeException e) {
+            log.error("Reservation expiry failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private Set<Reservation> slotFor(Reservation reservation) {
+        return wheel[(int) Math.floorMod(reservation.getDeadlineNanos() / TICK_NANOS, (long) WHEEL_SIZE)];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Reservation>[] newWheel() {
+        Set<Reservation>[] slots = new Set[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            slots[i] = ConcurrentHashMap.newKeySet();
+        }
+        return slots;
+    }
+
+    private static ScheduledExecutorService singleThreadScheduler(String name) {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void expire(Reservation reservation) {
+        // Holds being confirmed are skipped; a failed confirm re-checks the deadline itself
+        if (reservation.transition(Reservation.Status.ACTIVE, Reservation.Status.EXPIRED)) {
+            finish(reservation);
+            expiredCounter.increment();
+            log.debug("Reservation expired: id={}, itemId={}, qty={}",
+                    reservation.getId(), reservation.getItemId(), reservation.getQuantity());
+        }
+    }
+
+    // ==================== Flush ====================
+
+    private void flush() {
+        try {
+            writeDirty();
+            if (System.nanoTime() - lastRefreshNanos >= TimeUnit.MILLISECONDS.toNanos(refreshIntervalMs)) {
+                refreshOnHand();
+                lastRefreshNanos = System.nanoTime();
+            }
+        } catch (RuntimeException e) {
+            log.error("Reservation flush failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void writeDirty() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        SortedMap<StockKey, Integer> batch = new TreeMap<>();
+        for (Iterator<StockKey> it = dirty.iterator(); it.hasNext(); ) {
+            StockKey key = it.next();
+            it.remove();
+            // Read after removal: a later change re-marks the key and is written next round
+            batch.put(key, counters.get(key).reserved.get());
+        }
+        try {
+            store.writeReserved(batch);
+            log.debug("Reservation flush wrote {} stock levels", batch.size());
+        } catch (RuntimeException e) {
+            dirty.addAll(batch.keySet());
+            throw e;
+        }
+    }
+
+    private void refreshOnHand() {
+        if (counters.isEmpty()) {
+            return;
+        }
+        store.loadQuantities(counters.keySet()).forEach((key, quantity) -> {
+            SkuCounter counter = counters.get(key);
+            if (counter != null) {
+                counter.onHand.set(quantity);
+            }
+        });
+    }
+
+    // ==================== Counters ====================
+
+    private static class SkuCounter {
+        private final AtomicInteger onHand;
+        private final AtomicInteger reserved = new AtomicInteger();
+        private final String itemSku;
+
+        SkuCounter(int onHand, String itemSku) {
+            this.onHand = new AtomicInteger(onHand);
+            this.itemSku = itemSku;
+        }
+
+        boolean tryReserve(int quantity) {
+            while (true) {
+                int current = reserved.get();
+                if (current + quantity > onHand.get()) {
+                    return false;
+                }
+                if (reserved.compareAndSet(current, current + quantity)) {
+                    return true;
+                }
+            }
+        }
+
+        int available() {
+            return onHand.get() - reserved.get();
+        }
+    }
+
+    public record StockKey(Long warehouseId, Long itemId) implements Comparable<StockKey> {
+        @Override
+        public int compareTo(StockKey other) {
+            int byWarehouse = warehouseId.compareTo(other.warehouseId);
+            return byWarehouse != 0 ? byWarehouse : itemId.compareTo(other.itemId);
+        }
+    }
+}
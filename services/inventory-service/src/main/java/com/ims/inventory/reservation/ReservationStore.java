@@ -0,0 +1,56 @@
+package com.ims.inventory.reservation;
+
+import com.ims.inventory.entity.StockLevel;
+import com.ims.inventory.reservation.ReservationEngine.StockKey;
+import com.ims.inventory.repository.StockLevelRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Database side of the {@link ReservationEngine}: stock lookups and batched writes of
+ * stock_levels.reserved_quantity.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReservationStore {
+
+    private final StockLevelRepository stockLevelRepository;
+
+    @Transactional(readOnly = true)
+    public Optional<StockLevel> loadStock(StockKey key) {
+        return stockLevelRepository.findByWarehouseIdAndItemId(key.warehouseId(), key.itemId());
+    }
+
+    @Transactional(readOnly = true)
+    public Map<StockKey, Integer> loadQuantities(Collection<StockKey> keys) {
+        Set<Long> warehouseIds = new HashSet<>();
+        Set<Long> itemIds = new HashSet<>();
+        for (StockKey key : keys) {
+            warehouseIds.add(key.warehouseId());
+            itemIds.add(key.itemId());
+        }
+        Map<StockKey, Integer> quantities = new HashMap<>();
+        for (StockLevel stock : stockLevelRepository.findByWarehouseIdInAndItemIdIn(warehouseIds, itemIds)) {
+            quantities.put(new StockKey(stock.getWarehouseId(), stock.getItemId()), stock.getQuantity());
+        }
+        return quantities;
+    }
+
+    /**
+     * Writes the reserved totals in one transaction. Rows are updated in key order so
+     * concurrent multi-row writers acquire row locks in a consistent order.
+     */
+    @Transactional
+    public void writeReserved(SortedMap<StockKey, Integer> reserved) {
+        reserved.forEach((key, quantity) ->
+                stockLevelRepository.updateReservedQuantity(key.warehouseId(), key.itemId(), quantity));
+    }
+
+    @Transactional
+    public int clearReserved() {
+        return stockLevelRepository.clearReservedQuantities();
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.util.Date;
 
 @Component
 @Slf4j
@@ -24,6 +25,20 @@ public class JwtTokenProvider {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
     }
 
+    /**
+     * Short-lived token for this service's own calls to other services, which share the secret.
+     */
+    public String generateServiceToken(String subject, long validityMs) {
+        Date now = new Date();
+        return Jwts.builder()
+                .subject(subject)
+                .claim("roles", "ROLE_SERVICE")
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + validityMs))
+                .signWith(key)
+                .compact();
+    }
+
     public String getEmailFromToken(String token) {
         Claims claims = Jwts.parser()
                 .verifyWith(key)
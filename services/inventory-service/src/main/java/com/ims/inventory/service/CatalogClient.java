@@ -0,0 +1,66 @@
+package com.ims.inventory.service;
+
+import com.ims.inventory.entity.StockLevel;
+import com.ims.inventory.security.JwtTokenProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Calls to the catalog service's service-to-service endpoints, authenticated with a
+ * short-lived service token.
+ */
+@Component
+public class CatalogClient {
+
+    private static final long TOKEN_VALIDITY_MS = 60_000;
+
+    private final RestClient restClient;
+    private final JwtTokenProvider tokenProvider;
+
+    public CatalogClient(RestClient.Builder restClientBuilder, JwtTokenProvider tokenProvider,
+                         @Value("${services.catalog-service-url}") String catalogServiceUrl) {
+        this.restClient = restClientBuilder.baseUrl(catalogServiceUrl).build();
+        this.tokenProvider = tokenProvider;
+    }
+
+    public ChangePage getChanges(Long afterId, int limit) {
+        return restClient.get()
+                .uri("/api/catalog/changes?after={after}&limit={limit}", afterId, limit)
+                .header(HttpHeaders.AUTHORIZATION, bearerToken())
+                .retrieve()
+                .body(ChangePage.class);
+    }
+
+    public PricePage getPrices(Long afterId, int limit) {
+        return restClient.get()
+                .uri("/api/catalog/items/prices?after={after}&limit={limit}", afterId, limit)
+                .header(HttpHeaders.AUTHORIZATION, bearerToken())
+                .retrieve()
+                .body(PricePage.class);
+    }
+
+    private String bearerToken() {
+        return "Bearer " + tokenProvider.generateServiceToken("inventory-service", TOKEN_VALIDITY_MS);
+    }
+
+    public record ChangePage(List<ItemChange> changes, boolean hasMore, Long lastId) {}
+
+    public record ItemChange(Long id, Long itemId, String sku, String name, BigDecimal unitPrice,
+                             Integer minStockLevel, Integer maxStockLevel, boolean active) {
+
+        boolean differsFrom(StockLevel stock) {
+            return !Objects.equals(sku, stock.getItemSku())
+                    || !Objects.equals(name, stock.getItemName())
+                    || !Objects.equals(minStockLevel, stock.getMinStockLevel())
+                    || !Objects.equals(maxStockLevel, stock.getMaxStockLevel());
+        }
+    }
+
+    public record PricePage(long[] itemIds, long[] unitPriceCents, boolean hasMore, Long lastId) {}
+}
@@ -0,0 +1,180 @@
+package com.ims.inventory.service;
+
+import com.ims.inventory.entity.CatalogFeedCheckpoint;
+import com.ims.inventory.entity.StockLevel;
+import com.ims.inventory.ledger.StockLedger;
+import com.ims.inventory.repository.CatalogFeedCheckpointRepository;
+import com.ims.inventory.repository.StockLevelRepository;
+import com.ims.inventory.repository.StockMovementRepository;
+import com.ims.inventory.service.CatalogClient.ChangePage;
+import com.ims.inventory.service.CatalogClient.ItemChange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClientException;
+
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps the item fields copied into stock rows in step with the catalog. Polls the catalog's
+ * item change feed and applies each page in one transaction: the latest change per item is
+ * written to all of its stock rows, movements of the item take its current SKU, and the
+ * checkpoint advances with them, so a page is applied exactly once. Price changes go to the
+ * {@link PriceSnapshot} once the page commits.
+ *
+ * Stock rows are locked while they change, so concurrent stock updates wait instead of
+ * overwriting the new fields. Minimum level and price changes move the dashboard counters.
+ */
+@Service
+@ConditionalOnProperty(prefix = "inventory.catalog-feed", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class CatalogFeedConsumer {
+
+    private final CatalogClient catalogClient;
+    private final StockLevelRepository stockLevelRepository;
+    private final StockMovementRepository stockMovementRepository;
+    private final CatalogFeedCheckpointRepository checkpointRepository;
+    private final DashboardCounters dashboardCounters;
+    private final PriceSnapshot priceSnapshot;
+    private final ObjectProvider<StockLedger> stockLedger;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter appliedCounter;
+    private final Counter failureCounter;
+    private final int batchSize;
+
+    private volatile boolean reachable = true;
+
+    public CatalogFeedConsumer(CatalogClient catalogClient, StockLevelRepository stockLevelRepository,
+                               StockMovementRepository stockMovementRepository,
+                               CatalogFeedCheckpointRepository checkpointRepository,
+                               DashboardCounters dashboardCounters, PriceSnapshot priceSnapshot,
+                               ObjectProvider<StockLedger> stockLedger, TransactionTemplate transactionTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${inventory.catalog-feed.batch-size:500}") int batchSize) {
+        this.catalogClient = catalogClient;
+        this.stockLevelRepository = stockLevelRepository;
+        this.stockMovementRepository = stockMovementRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.dashboardCounters = dashboardCounters;
+        this.priceSnapshot = priceSnapshot;
+        this.stockLedger = stockLedger;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.appliedCounter = Counter.builder("inventory.catalog.feed.changes")
+                .description("Catalog item changes applied to stock rows")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("inventory.catalog.feed.failures")
+                .description("Catalog change feed polls that failed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.catalog-feed.interval-ms:5000}",
+               initialDelayString = "${inventory.catalog-feed.interval-ms:5000}")
+    public void poll() {
+        try {
+            ChangePage page;
+            do {
+                page = catalogClient.getChanges(currentCheckpoint().getLastChangeId(), batchSize);
+                if (!page.changes().isEmpty()) {
+                    apply(page);
+                }
+            } while (page.hasMore());
+            if (!reachable) {
+                reachable = true;
+                log.info("Catalog change feed reachable again");
+            }
+        } catch (RestClientException e) {
+            failureCounter.increment();
+            // Logged once per outage; the catalog service may simply not be up yet
+            if (reachable) {
+                reachable = false;
+                log.warn("Catalog change feed unavailable, retrying every poll: {}", e.getMessage());
+            }
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            log.error("Applying catalog changes failed, retrying next poll: {}", e.getMessage(), e);
+        }
+    }
+
+    private void apply(ChangePage page) {
+        Map<Long, ItemChange> latest = new LinkedHashMap<>();
+        for (ItemChange change : page.changes()) {
+            latest.put(change.itemId(), change);
+        }
+        Map<Long, Long> changedPrices = new HashMap<>();
+        latest.forEach((itemId, change) -> {
+            if (change.unitPrice() != null) {
+                long cents = change.unitPrice().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+                if (cents != priceSnapshot.priceCents(itemId)) {
+                    changedPrices.put(itemId, cents);
+                }
+            }
+        });
+
+        int rows = transactionTemplate.execute(status -> {
+            List<StockLevel> stockLevels = stockLevelRepository.lockByItemIdIn(latest.keySet());
+            Map<Long, String> stockedSkus = new HashMap<>();
+            for (StockLevel stock : stockLevels) {
+                ItemChange change = latest.get(stock.getItemId());
+                stockedSkus.put(stock.getItemId(), change.sku());
+                Long priceCents = changedPrices.get(stock.getItemId());
+                if (priceCents != null) {
+                    dashboardCounters.recordPriceChange(stock.getWarehouseId(), stock.getQuantity(),
+                            priceSnapshot.priceCents(stock.getItemId()), priceCents);
+                }
+                if (!change.differsFrom(stock)) {
+                    continue;
+                }
+                Integer previousMinStockLevel = stock.getMinStockLevel();
+                stock.setItemSku(change.sku());
+                stock.setItemName(change.name());
+                stock.setMinStockLevel(change.minStockLevel());
+                stock.setMaxStockLevel(change.maxStockLevel());
+                if (!Objects.equals(previousMinStockLevel, change.minStockLevel())) {
+                    dashboardCounters.recordStockChange(stock.getWarehouseId(), stock.getItemId(), stock.getQuantity(),
+                            previousMinStockLevel, stock.getQuantity(), change.minStockLevel());
+                }
+            }
+            // Only stocked items have movements
+            stockedSkus.forEach(stockMovementRepository::renameItemSku);
+
+            CatalogFeedCheckpoint checkpoint = currentCheckpoint();
+            checkpoint.setLastChangeId(page.lastId());
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            checkpointRepository.save(checkpoint);
+            return stockLevels.size();
+        });
+
+        priceSnapshot.update(changedPrices);
+        StockLedger ledger = stockLedger.getIfAvailable();
+        if (ledger != null) {
+            Map<Long, StockLedger.ItemDetails> details = new HashMap<>();
+            latest.forEach((itemId, change) ->
+                    details.put(itemId, new StockLedger.ItemDetails(change.sku(), change.minStockLevel())));
+            ledger.updateItems(details);
+        }
+        appliedCounter.increment(page.changes().size());
+        log.debug("Applied {} catalog changes to {} stock rows, checkpoint {}", page.changes().size(), rows,
+                page.lastId());
+    }
+
+    private CatalogFeedCheckpoint currentCheckpoint() {
+        return checkpointRepository.findById(CatalogFeedCheckpoint.ID)
+                .orElseGet(() -> CatalogFeedCheckpoint.builder()
+                        .id(CatalogFeedCheckpoint.ID)
+                        .lastChangeId(0L)
+                        .build());
+    }
+}
@@ -0,0 +1,228 @@
+package com.ims.inventory.service;
+
+import com.ims.inventory.entity.ReplenishmentRequest;
+import com.ims.inventory.repository.ReplenishmentRequestRepository;
+import com.ims.inventory.repository.StockLevelRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dashboard counters maintained incrementally as stock levels and replenishment requests
+ * change, so the dashboard is a constant-time read. Each change only compares the old and
+ * new quantity against the row's minimum level. A periodic reconciliation recounts from the
+ * database and corrects any drift.
+ *
+ * Stock value is kept the same way, from quantity changes at the snapshot price of the item
+ * and from catalog price changes at the row's quantity. The reconciliation revalues every
+ * row against the current {@link PriceSnapshot}; prices that move between a change and its
+ * commit make small differences that are expected, so value corrections are not counted as
+ * drift.
+ */
+@Component
+@Slf4j
+public class DashboardCounters {
+
+    private final StockLevelRepository stockLevelRepository;
+    private final ReplenishmentRequestRepository replenishmentRepository;
+    private final PriceSnapshot priceSnapshot;
+    private final Counter driftCounter;
+
+    private final Map<Long, WarehouseCounters> warehouses = new ConcurrentHashMap<>();
+    private final AtomicLong pendingReplenishments = new AtomicLong();
+    private final AtomicLong modifications = new AtomicLong();
+    private volatile boolean initialized;
+
+    public DashboardCounters(StockLevelRepository stockLevelRepository,
+                             ReplenishmentRequestRepository replenishmentRepository,
+                             PriceSnapshot priceSnapshot, MeterRegistry meterRegistry) {
+        this.stockLevelRepository = stockLevelRepository;
+        this.replenishmentRepository = replenishmentRepository;
+        this.priceSnapshot = priceSnapshot;
+        this.driftCounter = Counter.builder("inventory.dashboard.drift")
+                .description("Reconciliations that found the dashboard counters out of step with the database")
+                .register(meterRegistry);
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * Records a committed quantity change for one stock row.
+     *
+     * @param previousQuantity quantity before the change, or null if the row was just created
+     */
+    public void recordQuantityChange(Long warehouseId, Long itemId, Integer previousQuantity, int quantity,
+                                     Integer minStockLevel) {
+        recordStockChange(warehouseId, itemId, previousQuantity, minStockLevel, quantity, minStockLevel);
+    }
+
+    /**
+     * Records a committed change of quantity and/or minimum level for one stock row. Applied
+     * after the surrounding transaction commits, or immediately outside a transaction.
+     */
+    public void recordStockChange(Long warehouseId, Long itemId, Integer previousQuantity,
+                                  Integer previousMinStockLevel, int quantity, Integer minStockLevel) {
+        afterCommit(() -> {
+            WarehouseCounters counters = warehouses.computeIfAbsent(warehouseId, id -> new WarehouseCounters());
+            if (previousQuantity == null) {
+                counters.totalSkus.incrementAndGet();
+            }
+            counters.outOfStock.addAndGet(outOfStock(quantity) - (previousQuantity != null ? outOfStock(previousQuantity) : 0));
+            counters.lowStock.addAndGet(lowStock(quantity, minStockLevel)
+                    - (previousQuantity != null ? lowStock(previousQuantity, previousMinStockLevel) : 0));
+            counters.stockValueCents.addAndGet(priceSnapshot.stockValueCents(itemId, quantity)
+                    - (previousQuantity != null ? priceSnapshot.stockValueCents(itemId, previousQuantity) : 0));
+            modifications.incrementAndGet();
+        });
+    }
+
+    /**
+     * Records a committed catalog price change for one stock row.
+     */
+    public void recordPriceChange(Long warehouseId, int quantity, long previousPriceCents, long priceCents) {
+        if (quantity <= 0 || previousPriceCents == priceCents) {
+            return;
+        }
+        afterCommit(() -> {
+            warehouses.computeIfAbsent(warehouseId, id -> new WarehouseCounters())
+                    .stockValueCents.addAndGet(quantity * (priceCents - previousPriceCents));
+            modifications.incrementAndGet();
+        });
+    }
+
+    public void recordReplenishmentOpened() {
+        afterCommit(() -> {
+            pendingReplenishments.incrementAndGet();
+            modifications.incrementAndGet();
+        });
+    }
+
+    public void recordReplenishmentClosed() {
+        afterCommit(() -> {
+            pendingReplenishments.decrementAndGet();
+            modifications.incrementAndGet();
+        });
+    }
+
+    public Snapshot snapshot(Long warehouseId) {
+        long totalSkus = 0;
+        long outOfStock = 0;
+        long lowStock = 0;
+        long stockValueCents = 0;
+        Map<Long, Long> lowStockByWarehouse = new HashMap<>();
+        for (Map.Entry<Long, WarehouseCounters> entry : warehouses.entrySet()) {
+            WarehouseCounters counters = entry.getValue();
+            if (warehouseId == null || warehouseId.equals(entry.getKey())) {
+                lowStockByWarehouse.put(entry.getKey(), counters.lowStock.get());
+                totalSkus += counters.totalSkus.get();
+                outOfStock += counters.outOfStock.get();
+                lowStock += counters.lowStock.get();
+                stockValueCents += counters.stockValueCents.get();
+            }
+        }
+        return new Snapshot(totalSkus, outOfStock, lowStock, stockValueCents, pendingReplenishments.get(),
+                lowStockByWarehouse);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    /**
+     * Recounts from the database. Rounds that overlap a concurrent change are skipped, since
+     * the counts could not be compared reliably; the next round picks them up.
+     */
+    @Scheduled(fixedDelayString = "${inventory.dashboard.reconcile-interval-ms:300000}",
+               initialDelayString = "${inventory.dashboard.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        long version = modifications.get();
+        // One read, so every row is counted and valued against the same state
+        List<Object[]> positions = stockLevelRepository.findStockPositions();
+        long pending = replenishmentRepository.countByStatus(ReplenishmentRequest.RequestStatus.PENDING);
+
+        if (initialized && modifications.get() != version) {
+            log.debug("Dashboard reconciliation skipped: counters changed while counting");
+            return;
+        }
+
+        Map<Long, long[]> actual = new HashMap<>();
+        for (Object[] row : positions) {
+            int quantity = (Integer) row[2];
+            long[] counts = actual.computeIfAbsent((Long) row[0], id -> new long[4]);
+            counts[0]++;
+            counts[1] += outOfStock(quantity);
+            counts[2] += lowStock(quantity, (Integer) row[3]);
+            counts[3] += priceSnapshot.stockValueCents((Long) row[1], quantity);
+        }
+
+        boolean drifted = pendingReplenishments.getAndSet(pending) != pending;
+        for (Map.Entry<Long, long[]> entry : actual.entrySet()) {
+            WarehouseCounters counters = warehouses.computeIfAbsent(entry.getKey(), id -> new WarehouseCounters());
+            long[] counts = entry.getValue();
+            drifted |= counters.totalSkus.getAndSet(counts[0]) != counts[0];
+            drifted |= counters.outOfStock.getAndSet(counts[1]) != counts[1];
+            drifted |= counters.lowStock.getAndSet(counts[2]) != counts[2];
+            counters.stockValueCents.set(counts[3]);
+        }
+        for (Map.Entry<Long, WarehouseCounters> entry : warehouses.entrySet()) {
+            if (!actual.containsKey(entry.getKey())) {
+                drifted |= entry.getValue().totalSkus.get() != 0;
+                warehouses.remove(entry.getKey());
+            }
+        }
+
+        if (!initialized) {
+            initialized = true;
+            log.info("Dashboard counters initialized: warehouses={}, pendingReplenishments={}", actual.size(), pending);
+        } else if (drifted) {
+            driftCounter.increment();
+            log.warn("Dashboard counters drifted from the database and were reset");
+        }
+    }
+
+    private static int outOfStock(int quantity) {
+        return quantity <= 0 ? 1 : 0;
+    }
+
+    private static int lowStock(int quantity, Integer minStockLevel) {
+        return minStockLevel != null && quantity <= minStockLevel ? 1 : 0;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public record Snapshot(long totalSkus, long outOfStockCount, long lowStockCount, long stockValueCents,
+                           long pendingReplenishments, Map<Long, Long> lowStockByWarehouse) {}
+
+    private static class WarehouseCounters {
+        private final AtomicLong totalSkus = new AtomicLong();
+        private final AtomicLong outOfStock = new AtomicLong();
+        private final AtomicLong lowStock = new AtomicLong();
+        private final AtomicLong stockValueCents = new AtomicLong();
+    }
+}
@@ -0,0 +1,142 @@
+package com.ims.inventory.service;
+
+import com.ims.inventory.entity.MovementDailyRollup;
+import com.ims.inventory.entity.MovementRollupCheckpoint;
+import com.ims.inventory.entity.StockMovement;
+import com.ims.inventory.repository.MovementDailyRollupRepository;
+import com.ims.inventory.repository.MovementRollupCheckpointRepository;
+import com.ims.inventory.repository.StockMovementRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Daily movement rollups. A background compactor folds stock_movements into
+ * movement_daily_rollups past a checkpoint, and range summaries combine the rollup rows with
+ * the few raw movements above the checkpoint instead of scanning the whole range.
+ *
+ * Movements younger than the configured lag are left to the raw tail, so a transaction that
+ * is still open when the compactor runs cannot commit a movement below the checkpoint.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MovementRollupService {
+
+    private final StockMovementRepository movementRepository;
+    private final MovementDailyRollupRepository rollupRepository;
+    private final MovementRollupCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${inventory.rollup.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${inventory.rollup.lag-ms:300000}")
+    private long lagMs;
+
+    /**
+     * Movement totals per type for a warehouse over whole days. Read under repeatable read so
+     * the checkpoint, rollups and raw tail come from the same snapshot.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Map<StockMovement.MovementType, MovementTotals> summarize(Long warehouseId, LocalDate fromDate,
+                                                                     LocalDate toDate) {
+        Map<StockMovement.MovementType, MovementTotals> totals = new EnumMap<>(StockMovement.MovementType.class);
+        Long checkpoint = currentCheckpoint().getLastMovementId();
+
+        for (Object[] row : rollupRepository.summarizeByWarehouseAndDateRange(warehouseId, fromDate, toDate)) {
+            add(totals, row);
+        }
+        for (Object[] row : movementRepository.summarizeByWarehouseAndDateRange(
+                warehouseId, fromDate.atStartOfDay(), toDate.atTime(LocalTime.MAX), checkpoint)) {
+            add(totals, row);
+        }
+        return totals;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.rollup.interval-ms:60000}",
+               initialDelayString = "${inventory.rollup.interval-ms:60000}")
+    public void compact() {
+        int total = 0;
+        int folded;
+        do {
+            folded = transactionTemplate.execute(status -> compactBatch());
+            total += folded;
+        } while (folded >= batchSize);
+        if (total > 0) {
+            log.info("Movement rollup compacted {} movements", total);
+        }
+    }
+
+    private int compactBatch() {
+        MovementRollupCheckpoint checkpoint = currentCheckpoint();
+        Long afterId = checkpoint.getLastMovementId();
+        List<Long> candidates = movementRepository.findRollupCandidates(
+                afterId, LocalDateTime.now().minusNanos(lagMs * 1_000_000), PageRequest.of(0, batchSize));
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        Long uptoId = candidates.get(candidates.size() - 1);
+
+        List<Object[]> rows = movementRepository.aggregateForRollup(afterId, uptoId);
+        List<MovementDailyRollup> deltas = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            deltas.add(MovementDailyRollup.builder()
+                    .warehouseId((Long) row[0])
+                    .itemId((Long) row[1])
+                    .rollupDate(toLocalDate(row[2]))
+                    .movementType((StockMovement.MovementType) row[3])
+                    .totalQuantity(((Number) row[4]).longValue())
+                    .totalValue(row[5] != null ? (BigDecimal) row[5] : BigDecimal.ZERO)
+                    .movementCount(((Number) row[6]).longValue())
+                    .build());
+        }
+        // Set-based upsert: per-key entity lookups would auto-flush every rollup already loaded
+        rollupRepository.addBatch(deltas);
+
+        checkpoint.setLastMovementId(uptoId);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+        log.debug("Movement rollup advanced: {} -> {}", afterId, uptoId);
+        return candidates.size();
+    }
+
+    private MovementRollupCheckpoint currentCheckpoint() {
+        return checkpointRepository.findById(MovementRollupCheckpoint.ID)
+                .orElseGet(() -> MovementRollupCheckpoint.builder()
+                        .id(MovementRollupCheckpoint.ID)
+                        .lastMovementId(0L)
+                        .build());
+    }
+
+    private static void add(Map<StockMovement.MovementType, MovementTotals> totals, Object[] row) {
+        long quantity = row[1] != null ? ((Number) row[1]).longValue() : 0;
+        BigDecimal value = row[2] != null ? (BigDecimal) row[2] : BigDecimal.ZERO;
+        totals.merge((StockMovement.MovementType) row[0], new MovementTotals(quantity, value), MovementTotals::plus);
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    public record MovementTotals(long quantity, BigDecimal value) {
+        MovementTotals plus(MovementTotals other) {
+            return new MovementTotals(quantity + other.quantity, value.add(other.value));
+        }
+    }
+}
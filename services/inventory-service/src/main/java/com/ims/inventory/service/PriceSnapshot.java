@@ -0,0 +1,122 @@
+package com.ims.inventory.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Local copy of the catalog's item unit prices, so stock valuation needs no remote call per
+ * row. Prices are held in cents in two parallel arrays sorted by item id and looked up by
+ * binary search: about 16 bytes per item, with no boxing on the read path.
+ *
+ * The arrays are never modified once published. A full refresh replaces them, and price
+ * changes from the catalog change feed are merged into copies that are then swapped in, so
+ * readers never lock. Unknown items are valued at zero.
+ */
+@Component
+public class PriceSnapshot {
+
+    private volatile Prices prices = new Prices(new long[0], new long[0]);
+    private volatile long refreshedAt;
+
+    public PriceSnapshot(MeterRegistry meterRegistry) {
+        Gauge.builder("inventory.prices.snapshot.age", this, PriceSnapshot::ageSeconds)
+                .description("Seconds since the price snapshot was last fully refreshed from the catalog")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("inventory.prices.snapshot.items", this, snapshot -> snapshot.prices.itemIds.length)
+                .description("Items in the price snapshot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Unit price of the item in cents, or 0 if the catalog has not reported one.
+     */
+    public long priceCents(long itemId) {
+        Prices current = prices;
+        int index = Arrays.binarySearch(current.itemIds, itemId);
+        return index >= 0 ? current.cents[index] : 0;
+    }
+
+    public BigDecimal unitPrice(Long itemId) {
+        return BigDecimal.valueOf(priceCents(itemId), 2);
+    }
+
+    /**
+     * Value of a stock row in cents; negative quantities are valued at zero.
+     */
+    public long stockValueCents(Long itemId, int quantity) {
+        return quantity > 0 ? priceCents(itemId) * quantity : 0;
+    }
+
+    public int size() {
+        return prices.itemIds.length;
+    }
+
+    /**
+     * Seconds since the last full refresh, or NaN before the first one.
+     */
+    public double ageSeconds() {
+        long refreshed = refreshedAt;
+        return refreshed == 0 ? Double.NaN : (System.currentTimeMillis() - refreshed) / 1000.0;
+    }
+
+    /**
+     * Replaces the snapshot with a full copy of the catalog's prices.
+     *
+     * @param itemIds item ids in ascending order
+     * @param cents   prices parallel to itemIds
+     */
+    public synchronized void replaceAll(long[] itemIds, long[] cents) {
+        if (itemIds.length != cents.length) {
+            throw new IllegalArgumentException("Item ids and prices differ in length");
+        }
+        for (int i = 1; i < itemIds.length; i++) {
+            if (itemIds[i] <= itemIds[i - 1]) {
+                throw new IllegalArgumentException("Item ids are not in ascending order");
+            }
+        }
+        prices = new Prices(itemIds, cents);
+        refreshedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Merges changed prices, in cents by item id, into a new snapshot.
+     */
+    public synchronized void update(Map<Long, Long> changedCents) {
+        if (changedCents.isEmpty()) {
+            return;
+        }
+        Prices current = prices;
+        long[] added = changedCents.keySet().stream()
+                .mapToLong(Long::longValue)
+                .filter(itemId -> Arrays.binarySearch(current.itemIds, itemId) < 0)
+                .sorted()
+                .toArray();
+
+        int size = current.itemIds.length + added.length;
+        long[] itemIds = new long[size];
+        long[] cents = new long[size];
+        int from = 0;
+        int next = 0;
+        for (int to = 0; to < size; to++) {
+            if (next < added.length && (from == current.itemIds.length || added[next] < current.itemIds[from])) {
+                itemIds[to] = added[next++];
+            } else {
+                itemIds[to] = current.itemIds[from];
+                cents[to] = current.cents[from++];
+            }
+            Long changed = changedCents.get(itemIds[to]);
+            if (changed != null) {
+                cents[to] = changed;
+            }
+        }
+        prices = new Prices(itemIds, cents);
+    }
+
+    private record Prices(long[] itemIds, long[] cents) {}
+}
@@ -0,0 +1,84 @@
+package com.ims.inventory.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+
+import java.util.Arrays;
+
+/**
+ * Periodically reloads the whole {@link PriceSnapshot} from the catalog, paging through item
+ * prices by id. The catalog change feed keeps prices current in between; the full refresh
+ * catches up after feed outages and when the feed is disabled. Dashboard stock values are
+ * recounted against the new prices afterwards.
+ */
+@Service
+@ConditionalOnProperty(prefix = "inventory.prices", name = "refresh-enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class PriceSnapshotRefresher {
+
+    private final CatalogClient catalogClient;
+    private final PriceSnapshot priceSnapshot;
+    private final DashboardCounters dashboardCounters;
+    private final Counter failureCounter;
+    private final int pageSize;
+
+    private volatile boolean reachable = true;
+
+    public PriceSnapshotRefresher(CatalogClient catalogClient, PriceSnapshot priceSnapshot,
+                                  DashboardCounters dashboardCounters, MeterRegistry meterRegistry,
+                                  @Value("${inventory.prices.page-size:5000}") int pageSize) {
+        this.catalogClient = catalogClient;
+        this.priceSnapshot = priceSnapshot;
+        this.dashboardCounters = dashboardCounters;
+        this.pageSize = pageSize;
+        this.failureCounter = Counter.builder("inventory.prices.refresh.failures")
+                .description("Price snapshot refreshes that failed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.prices.refresh-interval-ms:300000}")
+    public void refresh() {
+        long started = System.currentTimeMillis();
+        try {
+            long[] itemIds = new long[Math.max(priceSnapshot.size(), pageSize)];
+            long[] cents = new long[itemIds.length];
+            int size = 0;
+            CatalogClient.PricePage page;
+            Long after = 0L;
+            do {
+                page = catalogClient.getPrices(after, pageSize);
+                int count = page.itemIds().length;
+                if (size + count > itemIds.length) {
+                    itemIds = Arrays.copyOf(itemIds, Math.max(itemIds.length * 2, size + count));
+                    cents = Arrays.copyOf(cents, itemIds.length);
+                }
+                System.arraycopy(page.itemIds(), 0, itemIds, size, count);
+                System.arraycopy(page.unitPriceCents(), 0, cents, size, count);
+                size += count;
+                after = page.lastId();
+            } while (page.hasMore());
+
+            priceSnapshot.replaceAll(Arrays.copyOf(itemIds, size), Arrays.copyOf(cents, size));
+            if (!reachable) {
+                reachable = true;
+                log.info("Catalog prices reachable again");
+            }
+            log.debug("Price snapshot refreshed: items={}, took={}ms", size, System.currentTimeMillis() - started);
+        } catch (RestClientException e) {
+            failureCounter.increment();
+            // Logged once per outage; the catalog service may simply not be up yet
+            if (reachable) {
+                reachable = false;
+                log.warn("Catalog prices unavailable, keeping the current snapshot: {}", e.getMessage());
+            }
+            return;
+        }
+        dashboardCounters.reconcile();
+    }
+}
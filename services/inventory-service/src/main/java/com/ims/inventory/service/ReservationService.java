@@ -0,0 +1,76 @@
+package com.ims.inventory.service;
+
+import com.ims.inventory.dto.CreateMovementRequest;
+import com.ims.inventory.dto.CreateReservationRequest;
+import com.ims.inventory.dto.ReservationResponse;
+import com.ims.inventory.dto.StockMovementResponse;
+import com.ims.inventory.entity.StockMovement;
+import com.ims.inventory.reservation.Reservation;
+import com.ims.inventory.reservation.ReservationEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationService {
+
+    private final ReservationEngine reservationEngine;
+    private final StockService stockService;
+
+    public ReservationResponse reserve(CreateReservationRequest request) {
+        Reservation reservation = reservationEngine.reserve(request.getWarehouseId(), request.getItemId(),
+                request.getQuantity(), request.getTtlSeconds(), request.getReferenceNumber());
+        log.debug("Stock reserved: id={}, itemId={}, qty={}",
+                reservation.getId(), reservation.getItemId(), reservation.getQuantity());
+        return mapToResponse(reservation, null);
+    }
+
+    public ReservationResponse getReservation(String reservationId) {
+        return mapToResponse(reservationEngine.get(reservationId), null);
+    }
+
+    public ReservationResponse release(String reservationId) {
+        Reservation reservation = reservationEngine.release(reservationId);
+        log.info("Reservation released: id={}", reservationId);
+        return mapToResponse(reservation, null);
+    }
+
+    /**
+     * Confirms the hold by issuing the reserved quantity as a STOCK_ISSUE movement.
+     */
+    public ReservationResponse confirm(String reservationId, Long userId, String userEmail) {
+        Reservation held = reservationEngine.get(reservationId);
+        Long movementId = reservationEngine.confirm(reservationId, reservation -> {
+            CreateMovementRequest movement = new CreateMovementRequest();
+            movement.setWarehouseId(reservation.getWarehouseId());
+            movement.setItemId(reservation.getItemId());
+            movement.setItemSku(reservation.getItemSku());
+            movement.setMovementType(StockMovement.MovementType.STOCK_ISSUE);
+            movement.setQuantity(reservation.getQuantity());
+            movement.setReferenceNumber(reservation.getReferenceNumber() != null
+                    ? reservation.getReferenceNumber() : reservation.getId());
+            movement.setReferenceType("RESERVATION");
+            StockMovementResponse issued = stockService.issueReserved(movement, userId, userEmail);
+            return issued.getId();
+        });
+        log.info("Reservation confirmed: id={}, movementId={}", reservationId, movementId);
+        return mapToResponse(held, movementId);
+    }
+
+    private ReservationResponse mapToResponse(Reservation reservation, Long movementId) {
+        return ReservationResponse.builder()
+                .reservationId(reservation.getId())
+                .warehouseId(reservation.getWarehouseId())
+                .itemId(reservation.getItemId())
+                .itemSku(reservation.getItemSku())
+                .quantity(reservation.getQuantity())
+                .status(reservation.getStatus())
+                .referenceNumber(reservation.getReferenceNumber())
+                .createdAt(reservation.getCreatedAt())
+                .expiresAt(reservation.getExpiresAt())
+                .movementId(movementId)
+                .build();
+    }
+}
@@ -4,20 +4,35 @@ import com.ims.inventory.dto.*;
 import com.ims.inventory.entity.ReplenishmentRequest;
 import com.ims.inventory.entity.StockLevel;
 import com.ims.inventory.entity.StockMovement;
-import com.ims.inventory.entity.Warehouse;
+import com.ims.inventory.ledger.StockLedger;
 import com.ims.inventory.repository.*;
+import com.ims.inventory.reservation.ReservationEngine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,10 +40,31 @@ import java.util.stream.Collectors;
 @Slf4j
 public class StockService {
 
+    private static final int MAX_FEED_PAGE_SIZE = 1000;
+
     private final StockLevelRepository stockLevelRepository;
     private final StockMovementRepository stockMovementRepository;
     private final ReplenishmentRequestRepository replenishmentRepository;
-    private final WarehouseRepository warehouseRepository;
+    private final WarehouseCache warehouseCache;
+    private final DashboardCounters dashboardCounters;
+    private final PriceSnapshot priceSnapshot;
+    private final ObjectProvider<StockLedger> stockLedger;
+    private final ReservationEngine reservationEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${inventory.batch.max-movements:10000}")
+    private int maxBatchSize;
+
+    @Value("${inventory.stock.update.max-attempts:5}")
+    private int maxUpdateAttempts;
+
+    @Value("${inventory.stock.update.backoff-ms:5}")
+    private long updateBackoffMs;
+
+    @Value("${inventory.dashboard.low-stock-items:50}")
+    private int dashboardLowStockItems;
 
     // ==================== Stock Levels ====================
 
@@ -58,11 +94,66 @@ public class StockService {
 
     // ==================== Stock Movements ====================
 
-    @Transactional
     public StockMovementResponse createMovement(CreateMovementRequest request, Long userId, String userEmail) {
+        return createMovement(request, 0, userId, userEmail);
+    }
+
+    /**
+     * Issues stock held by a reservation that is being confirmed; unlike other issues it may
+     * take the reservation's own units.
+     */
+    StockMovementResponse issueReserved(CreateMovementRequest request, Long userId, String userEmail) {
+        return createMovement(request, request.getQuantity(), userId, userEmail);
+    }
+
+    private StockMovementResponse createMovement(CreateMovementRequest request, int confirmedQuantity,
+                                                 Long userId, String userEmail) {
         log.info("Creating stock movement: type={}, itemId={}, qty={}, user={}", 
                 request.getMovementType(), request.getItemId(), request.getQuantity(), userEmail);
 
+        int minQuantity = reservedFloor(request, confirmedQuantity);
+        StockMovement saved;
+
+        // Ledger mode: quantities live in memory and movements are group-committed
+        StockLedger ledger = stockLedger.getIfAvailable();
+        if (ledger != null) {
+            saved = ledger.post(request, minQuantity, userId, userEmail);
+            log.info("Stock movement committed by ledger: id={}", saved.getId());
+        } else {
+            List<String> skus = List.of(skuTag(request.getItemId(), request.getItemSku()));
+            saved = executeWithRetry(conflict -> skus,
+                    () -> transactionTemplate.execute(status -> applyMovement(request, minQuantity, userId, userEmail)));
+        }
+
+        // A confirmed reservation takes its units off the engine's on-hand count itself
+        if (confirmedQuantity == 0) {
+            trackOnHand(request);
+        }
+        return mapToMovementResponse(saved);
+    }
+
+    private StockMovement applyMovement(CreateMovementRequest request, int minQuantity, Long userId, String userEmail) {
+        // Create movement record; the whole transaction rolls back if the stock update fails
+        StockMovement saved = stockMovementRepository.save(buildMovement(request, userId, userEmail));
+
+        // Relative movements on an existing row are a single conditional UPDATE, so concurrent
+        // movements on a hot SKU queue on the row lock instead of failing the version check
+        if (request.getMovementType() != StockMovement.MovementType.ADJUSTMENT) {
+            int delta = calculateNewQuantity(0, request.getMovementType(), request.getQuantity());
+            int updated = stockLevelRepository.applyQuantityDelta(request.getWarehouseId(), request.getItemId(),
+                    delta, minQuantity, saved.getId(), LocalDateTime.now());
+            if (updated == 1) {
+                StockLevel stockLevel = stockLevelRepository
+                        .findByWarehouseIdAndItemId(request.getWarehouseId(), request.getItemId())
+                        .orElseThrow();
+                dashboardCounters.recordQuantityChange(stockLevel.getWarehouseId(), stockLevel.getItemId(),
+                        stockLevel.getQuantity() - delta, stockLevel.getQuantity(), stockLevel.getMinStockLevel());
+                log.info("Stock movement created: id={}, newStockLevel={}", saved.getId(), stockLevel.getQuantity());
+                return saved;
+            }
+            // No row, or not enough stock: the versioned path below creates the row or reports it
+        }
+
         // Get or create stock level
         StockLevel stockLevel = stockLevelRepository
                 .findByWarehouseIdAndItemId(request.getWarehouseId(), request.getItemId())
@@ -76,15 +167,53 @@ public class StockService {
         // Update stock quantity based on movement type
         int newQuantity = calculateNewQuantity(stockLevel.getQuantity(), request.getMovementType(), request.getQuantity());
         
-        if (newQuantity < 0) {
-            throw new RuntimeException("Insufficient stock. Current: " + stockLevel.getQuantity() + ", Requested: " + request.getQuantity());
+        if (newQuantity < minQuantity) {
+            throw insufficientStock(stockLevel.getQuantity(), minQuantity, request.getQuantity());
         }
 
+        // Keep the ledger checkpoint in step so a later ledger recovery doesn't replay this movement.
+        // The save is version-checked; a concurrent update makes it fail and the caller retries.
+        Integer previousQuantity = stockLevel.getId() != null ? stockLevel.getQuantity() : null;
         stockLevel.setQuantity(newQuantity);
+        stockLevel.setLastMovementId(saved.getId());
         stockLevelRepository.save(stockLevel);
+        dashboardCounters.recordQuantityChange(stockLevel.getWarehouseId(), stockLevel.getItemId(),
+                previousQuantity, newQuantity, stockLevel.getMinStockLevel());
+        log.info("Stock movement created: id={}, newStockLevel={}", saved.getId(), newQuantity);
+
+        return saved;
+    }
+
+    /**
+     * Least quantity a movement may leave on hand: outbound movements must not take units held
+     * by reservations, apart from the {@code confirmedQuantity} units they are confirming.
+     */
+    private int reservedFloor(CreateMovementRequest request, int confirmedQuantity) {
+        if (request.getMovementType() == StockMovement.MovementType.ADJUSTMENT
+                || calculateNewQuantity(0, request.getMovementType(), request.getQuantity()) >= 0) {
+            return 0;
+        }
+        return Math.max(0, reservationEngine.reservedQuantity(request.getWarehouseId(), request.getItemId())
+                - confirmedQuantity);
+    }
+
+    private void trackOnHand(CreateMovementRequest request) {
+        if (request.getMovementType() != StockMovement.MovementType.ADJUSTMENT) {
+            reservationEngine.adjustOnHand(request.getWarehouseId(), request.getItemId(),
+                    calculateNewQuantity(0, request.getMovementType(), request.getQuantity()));
+        }
+    }
 
-        // Create movement record
-        StockMovement movement = StockMovement.builder()
+    public static RuntimeException insufficientStock(int current, int reserved, int requested) {
+        if (reserved > 0) {
+            return new RuntimeException("Insufficient available stock. Current: " + current + ", Reserved: " + reserved
+                    + ", Requested: " + requested);
+        }
+        return new RuntimeException("Insufficient stock. Current: " + current + ", Requested: " + requested);
+    }
+
+    private StockMovement buildMovement(CreateMovementRequest request, Long userId, String userEmail) {
+        return StockMovement.builder()
                 .warehouseId(request.getWarehouseId())
                 .itemId(request.getItemId())
                 .itemSku(request.getItemSku())
@@ -98,14 +227,48 @@ public class StockService {
                 .createdBy(userId)
                 .createdByEmail(userEmail)
                 .build();
+    }
 
-        StockMovement saved = stockMovementRepository.save(movement);
-        log.info("Stock movement created: id={}, newStockLevel={}", saved.getId(), newQuantity);
+    /**
+     * Runs a stock level update, retrying with jittered exponential backoff when a concurrent
+     * update wins the version check (or the insert of a new stock row). Each retry is counted
+     * in inventory.stock.contention against the SKUs {@code conflictingSkus} finds for it.
+     */
+    private <T> T executeWithRetry(Function<RuntimeException, List<String>> conflictingSkus, Supplier<T> update) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return update.get();
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+                List<String> skus = conflictingSkus.apply(e);
+                for (String conflictingSku : skus) {
+                    Counter.builder("inventory.stock.contention")
+                            .description("Stock level updates retried after losing to a concurrent update")
+                            .tag("sku", conflictingSku)
+                            .register(meterRegistry)
+                            .increment();
+                }
+                String sku = String.join(", ", skus);
+                if (attempt >= maxUpdateAttempts) {
+                    log.warn("Stock update for {} still conflicting after {} attempts", sku, attempt);
+                    throw new RuntimeException("Stock level is being updated concurrently, retry later: " + sku);
+                }
+                long backoff = ThreadLocalRandom.current().nextLong(updateBackoffMs << attempt) + 1;
+                log.debug("Stock update conflict on {} (attempt {}), retrying in {}ms", sku, attempt, backoff);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while retrying stock update");
+                }
+            }
+        }
+    }
 
-        return mapToMovementResponse(saved);
+    private static String skuTag(Long itemId, String itemSku) {
+        return itemSku != null ? itemSku : "item-" + itemId;
     }
 
-    private int calculateNewQuantity(int current, StockMovement.MovementType type, int quantity) {
+    public static int calculateNewQuantity(int current, StockMovement.MovementType type, int quantity) {
         return switch (type) {
             case GOODS_RECEIPT, TRANSFER_IN, RETURN -> current + quantity;
             case STOCK_ISSUE, TRANSFER_OUT, DAMAGE, WRITE_OFF -> current - quantity;
@@ -113,6 +276,221 @@ public class StockService {
         };
     }
 
+    // ==================== Batch Movements ====================
+
+    public BatchMovementResponse createMovementBatch(List<CreateMovementRequest> requests,
+                                                     BatchMovementResponse.Mode mode,
+                                                     Long userId, String userEmail) {
+        if (requests.size() > maxBatchSize) {
+            throw new RuntimeException("Batch exceeds maximum of " + maxBatchSize + " movements: " + requests.size());
+        }
+        log.info("Creating stock movement batch: lines={}, mode={}, user={}", requests.size(), mode, userEmail);
+
+        StockLedger ledger = stockLedger.getIfAvailable();
+        BatchMovementResponse response;
+        if (ledger != null) {
+            response = postBatchToLedger(ledger, requests, mode, userId, userEmail);
+        } else {
+            // SKUs of the rows the current attempt inserts, in case one of the inserts conflicts
+            List<String> insertedSkus = new ArrayList<>();
+            response = executeWithRetry(conflict -> conflictingSkus(conflict, insertedSkus),
+                    () -> transactionTemplate.execute(status -> {
+                        insertedSkus.clear();
+                        return applyBatch(requests, mode, userId, userEmail, insertedSkus);
+                    }));
+        }
+
+        for (BatchMovementResponse.LineResult result : response.getResults()) {
+            if (result.getStatus() == BatchMovementResponse.LineStatus.APPLIED) {
+                trackOnHand(requests.get(result.getLine() - 1));
+            }
+        }
+
+        log.info("Stock movement batch processed: committed={}, applied={}, failed={}",
+                response.isCommitted(), response.getAppliedCount(), response.getFailedCount());
+        return response;
+    }
+
+    private BatchMovementResponse applyBatch(List<CreateMovementRequest> requests, BatchMovementResponse.Mode mode,
+                                             Long userId, String userEmail, List<String> insertedSkus) {
+        // Pre-load every affected stock level in one query
+        Map<StockKey, StockLevel> stockLevels = new HashMap<>();
+        Set<Long> warehouseIds = new HashSet<>();
+        Set<Long> itemIds = new HashSet<>();
+        for (CreateMovementRequest request : requests) {
+            if (request != null && request.getWarehouseId() != null && request.getItemId() != null) {
+                warehouseIds.add(request.getWarehouseId());
+                itemIds.add(request.getItemId());
+            }
+        }
+        if (!warehouseIds.isEmpty()) {
+            for (StockLevel stock : stockLevelRepository.findByWarehouseIdInAndItemIdIn(warehouseIds, itemIds)) {
+                stockLevels.put(new StockKey(stock.getWarehouseId(), stock.getItemId()), stock);
+            }
+        }
+
+        // Apply in request order against working quantities; entities are only touched once the batch is accepted
+        Map<StockKey, Integer> quantities = new LinkedHashMap<>();
+        Map<StockKey, String> newItemSkus = new HashMap<>();
+        List<StockMovement> movements = new ArrayList<>();
+        List<BatchMovementResponse.LineResult> results = new ArrayList<>(requests.size());
+        Map<StockMovement, BatchMovementResponse.LineResult> resultByMovement = new IdentityHashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            CreateMovementRequest request = requests.get(i);
+            String error = validateBatchLine(request);
+            StockKey key = null;
+            int newQuantity = 0;
+
+            if (error == null) {
+                key = new StockKey(request.getWarehouseId(), request.getItemId());
+                StockLevel existing = stockLevels.get(key);
+                int current = quantities.getOrDefault(key, existing != null ? existing.getQuantity() : 0);
+                newQuantity = calculateNewQuantity(current, request.getMovementType(), request.getQuantity());
+                int minQuantity = reservedFloor(request, 0);
+                if (newQuantity < minQuantity) {
+                    error = insufficientStock(current, minQuantity, request.getQuantity()).getMessage();
+                }
+            }
+
+            if (error != null) {
+                results.add(BatchMovementResponse.LineResult.builder()
+                        .line(i + 1)
+                        .status(BatchMovementResponse.LineStatus.FAILED)
+                        .error(error)
+                        .build());
+                continue;
+            }
+
+            quantities.put(key, newQuantity);
+            if (!stockLevels.containsKey(key)) {
+                newItemSkus.putIfAbsent(key, request.getItemSku());
+            }
+            StockMovement movement = buildMovement(request, userId, userEmail);
+            BatchMovementResponse.LineResult result = BatchMovementResponse.LineResult.builder()
+                    .line(i + 1)
+                    .status(BatchMovementResponse.LineStatus.APPLIED)
+                    .build();
+            movements.add(movement);
+            results.add(result);
+            resultByMovement.put(movement, result);
+        }
+
+        int failed = requests.size() - movements.size();
+        if (mode == BatchMovementResponse.Mode.ALL_OR_NOTHING && failed > 0) {
+            resultByMovement.values().forEach(result -> result.setStatus(BatchMovementResponse.LineStatus.SKIPPED));
+            return buildBatchResponse(mode, false, results, 0, failed);
+        }
+
+        if (!movements.isEmpty()) {
+            stockMovementRepository.insertBatch(movements);
+
+            Map<StockKey, Long> lastMovementIds = new HashMap<>();
+            for (StockMovement movement : movements) {
+                lastMovementIds.put(new StockKey(movement.getWarehouseId(), movement.getItemId()), movement.getId());
+                resultByMovement.get(movement).setMovementId(movement.getId());
+            }
+
+            List<StockLevel> changed = new ArrayList<>(quantities.size());
+            quantities.forEach((key, quantity) -> {
+                StockLevel stock = stockLevels.get(key);
+                Integer previousQuantity = stock != null ? stock.getQuantity() : null;
+                if (stock == null) {
+                    stock = StockLevel.builder()
+                            .warehouseId(key.warehouseId())
+                            .itemId(key.itemId())
+                            .itemSku(newItemSkus.get(key))
+                            .build();
+                    insertedSkus.add(skuTag(key.itemId(), stock.getItemSku()));
+                }
+                stock.setQuantity(quantity);
+                stock.setLastMovementId(lastMovementIds.get(key));
+                changed.add(stock);
+                dashboardCounters.recordQuantityChange(key.warehouseId(), key.itemId(), previousQuantity, quantity,
+                        stock.getMinStockLevel());
+            });
+            stockLevelRepository.saveAll(changed);
+        }
+
+        return buildBatchResponse(mode, true, results, movements.size(), failed);
+    }
+
+    private BatchMovementResponse postBatchToLedger(StockLedger ledger, List<CreateMovementRequest> requests,
+                                                    BatchMovementResponse.Mode mode, Long userId, String userEmail) {
+        if (mode == BatchMovementResponse.Mode.ALL_OR_NOTHING) {
+            throw new RuntimeException("All-or-nothing batches are not supported while the stock ledger is enabled, use BEST_EFFORT");
+        }
+
+        List<String> errors = new ArrayList<>(requests.size());
+        List<CompletableFuture<StockMovement>> pending = new ArrayList<>(requests.size());
+        for (CreateMovementRequest request : requests) {
+            String error = validateBatchLine(request);
+            errors.add(error);
+            pending.add(error == null ? ledger.submit(request, reservedFloor(request, 0), userId, userEmail) : null);
+        }
+
+        List<BatchMovementResponse.LineResult> results = new ArrayList<>(requests.size());
+        int applied = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            BatchMovementResponse.LineResult.LineResultBuilder result = BatchMovementResponse.LineResult.builder().line(i + 1);
+            String error = errors.get(i);
+            if (error == null) {
+                try {
+                    result.movementId(ledger.await(pending.get(i)).getId());
+                    applied++;
+                } catch (RuntimeException e) {
+                    error = e.getMessage();
+                }
+            }
+            results.add(result
+                    .status(error == null ? BatchMovementResponse.LineStatus.APPLIED : BatchMovementResponse.LineStatus.FAILED)
+                    .error(error)
+                    .build());
+        }
+        return buildBatchResponse(mode, applied > 0, results, applied, requests.size() - applied);
+    }
+
+    /**
+     * SKUs of the stock rows a batch lost on: the row whose version check failed, or else the new
+     * rows it was inserting, one of which another movement inserted first.
+     */
+    private List<String> conflictingSkus(RuntimeException conflict, List<String> insertedSkus) {
+        if (conflict instanceof ObjectOptimisticLockingFailureException versionConflict
+                && versionConflict.getIdentifier() instanceof Long stockLevelId) {
+            return List.of(stockLevelRepository.findById(stockLevelId)
+                    .map(stock -> skuTag(stock.getItemId(), stock.getItemSku()))
+                    .orElse("unknown"));
+        }
+        return insertedSkus.isEmpty() ? List.of("unknown") : List.copyOf(insertedSkus);
+    }
+
+    private String validateBatchLine(CreateMovementRequest request) {
+        if (request == null) {
+            return "Movement is required";
+        }
+        Set<ConstraintViolation<CreateMovementRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private BatchMovementResponse buildBatchResponse(BatchMovementResponse.Mode mode, boolean committed,
+                                                     List<BatchMovementResponse.LineResult> results,
+                                                     int applied, int failed) {
+        return BatchMovementResponse.builder()
+                .mode(mode)
+                .committed(committed)
+                .totalLines(results.size())
+                .appliedCount(applied)
+                .failedCount(failed)
+                .results(results)
+                .build();
+    }
+
     public Page<StockMovementResponse> getMovements(Long warehouseId, String itemSku, 
                                                     LocalDateTime fromDate, LocalDateTime toDate,
                                                     int page, int size) {
@@ -121,6 +499,49 @@ public class StockService {
                 .map(this::mapToMovementResponse);
     }
 
+    /**
+     * Keyset variant of {@link #getMovements}: seeks past the (createdAt, id) position in the
+     * cursor instead of counting and skipping rows, so every page costs the same.
+     */
+    public MovementFeedResponse getMovementFeed(Long warehouseId, String itemSku,
+                                                LocalDateTime fromDate, LocalDateTime toDate,
+                                                String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] position = new String(Base64.getUrlDecoder().decode(cursor)).split("\\|", 2);
+                afterCreatedAt = LocalDateTime.parse(position[0]);
+                afterId = Long.valueOf(position[1]);
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid movement cursor");
+            }
+        }
+
+        // Fetch one extra row to know whether another page exists without a COUNT query
+        List<StockMovement> movements = stockMovementRepository.seekMovements(
+                warehouseId, itemSku, fromDate, toDate, afterCreatedAt, afterId, limit + 1);
+        boolean hasMore = movements.size() > limit;
+        if (hasMore) {
+            movements = movements.subList(0, limit);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            StockMovement last = movements.get(movements.size() - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((last.getCreatedAt() + "|" + last.getId()).getBytes());
+        }
+
+        return MovementFeedResponse.builder()
+                .content(movements.stream().map(this::mapToMovementResponse).collect(Collectors.toList()))
+                .size(movements.size())
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
     public Page<StockMovementResponse> getMovementsByUser(Long userId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         return stockMovementRepository.findByCreatedBy(userId, pageable)
@@ -161,6 +582,7 @@ public class StockService {
                 .build();
 
         ReplenishmentRequest saved = replenishmentRepository.save(replenishment);
+        dashboardCounters.recordReplenishmentOpened();
         log.info("Replenishment request created: id={}", saved.getId());
 
         return mapToReplenishmentResponse(saved);
@@ -193,6 +615,7 @@ public class StockService {
         request.setApprovedAt(LocalDateTime.now());
 
         ReplenishmentRequest saved = replenishmentRepository.save(request);
+        dashboardCounters.recordReplenishmentClosed();
         log.info("Replenishment request approved: id={}, by={}", id, approvedByEmail);
 
         return mapToReplenishmentResponse(saved);
@@ -214,6 +637,7 @@ public class StockService {
         request.setApprovedAt(LocalDateTime.now());
 
         ReplenishmentRequest saved = replenishmentRepository.save(request);
+        dashboardCounters.recordReplenishmentClosed();
         log.info("Replenishment request rejected: id={}, by={}, reason={}", id, rejectedByEmail, reason);
 
         return mapToReplenishmentResponse(saved);
@@ -222,6 +646,33 @@ public class StockService {
     // ==================== Dashboard ====================
 
     public DashboardResponse getDashboard(Long warehouseId) {
+        if (!dashboardCounters.isInitialized()) {
+            return scanDashboard(warehouseId);
+        }
+
+        DashboardCounters.Snapshot counts = dashboardCounters.snapshot(warehouseId);
+        Pageable lowStockPage = PageRequest.of(0, dashboardLowStockItems);
+        List<StockLevel> lowStock = warehouseId != null
+                ? stockLevelRepository.findLowStockItemsByWarehouse(warehouseId, lowStockPage)
+                : stockLevelRepository.findLowStockItems(lowStockPage);
+
+        List<StockMovementResponse> recentMovements = getRecentMovements(10);
+
+        return DashboardResponse.builder()
+                .totalSkus(counts.totalSkus())
+                .totalStockValue(BigDecimal.valueOf(counts.stockValueCents(), 2))
+                .lowStockCount(counts.lowStockCount())
+                .outOfStockCount(counts.outOfStockCount())
+                .pendingReplenishments(counts.pendingReplenishments())
+                .recentMovementsCount(recentMovements.size())
+                .lowStockCountByWarehouse(counts.lowStockByWarehouse())
+                .lowStockItems(lowStock.stream().map(this::mapToStockResponse).collect(Collectors.toList()))
+                .recentMovements(recentMovements)
+                .build();
+    }
+
+    // Full scan, only used until the dashboard counters have been initialized at startup
+    private DashboardResponse scanDashboard(Long warehouseId) {
         List<StockLevel> allStock = warehouseId != null 
                 ? stockLevelRepository.findByWarehouseId(warehouseId)
                 : stockLevelRepository.findAll();
@@ -234,12 +685,15 @@ public class StockService {
         
         List<StockMovementResponse> recentMovements = getRecentMovements(10);
 
-        BigDecimal totalValue = BigDecimal.ZERO; // Would need unit price from catalog service
+        long valueCents = 0;
+        for (StockLevel stock : allStock) {
+            valueCents += priceSnapshot.stockValueCents(stock.getItemId(), stock.getQuantity());
+        }
         long outOfStock = allStock.stream().filter(s -> s.getQuantity() <= 0).count();
 
         return DashboardResponse.builder()
                 .totalSkus(allStock.size())
-                .totalStockValue(totalValue)
+                .totalStockValue(BigDecimal.valueOf(valueCents, 2))
                 .lowStockCount(lowStock.size())
                 .outOfStockCount(outOfStock)
                 .pendingReplenishments(pendingReplenishments)
@@ -252,8 +706,6 @@ public class StockService {
     // ==================== Mapping Methods ====================
 
     private StockLevelResponse mapToStockResponse(StockLevel stock) {
-        Warehouse warehouse = warehouseRepository.findById(stock.getWarehouseId()).orElse(null);
-        
         String status = "NORMAL";
         if (stock.getQuantity() <= 0) {
             status = "OUT_OF_STOCK";
@@ -266,7 +718,7 @@ public class StockService {
         return StockLevelResponse.builder()
                 .id(stock.getId())
                 .warehouseId(stock.getWarehouseId())
-                .warehouseName(warehouse != null ? warehouse.getName() : null)
+                .warehouseName(warehouseCache.getName(stock.getWarehouseId()))
                 .itemId(stock.getItemId())
                 .itemSku(stock.getItemSku())
                 .itemName(stock.getItemName())
@@ -275,18 +727,17 @@ public class StockService {
                 .availableQuantity(stock.getAvailableQuantity())
                 .minStockLevel(stock.getMinStockLevel())
                 .maxStockLevel(stock.getMaxStockLevel())
+                .unitPrice(priceSnapshot.unitPrice(stock.getItemId()))
                 .status(status)
                 .lastUpdated(stock.getLastUpdated())
                 .build();
     }
 
     private StockMovementResponse mapToMovementResponse(StockMovement movement) {
-        Warehouse warehouse = warehouseRepository.findById(movement.getWarehouseId()).orElse(null);
-        
         return StockMovementResponse.builder()
                 .id(movement.getId())
                 .warehouseId(movement.getWarehouseId())
-                .warehouseName(warehouse != null ? warehouse.getName() : null)
+                .warehouseName(warehouseCache.getName(movement.getWarehouseId()))
                 .itemId(movement.getItemId())
                 .itemSku(movement.getItemSku())
                 .movementType(movement.getMovementType())
@@ -304,12 +755,10 @@ public class StockService {
     }
 
     private ReplenishmentRequestResponse mapToReplenishmentResponse(ReplenishmentRequest request) {
-        Warehouse warehouse = warehouseRepository.findById(request.getWarehouseId()).orElse(null);
-        
         return ReplenishmentRequestResponse.builder()
                 .id(request.getId())
                 .warehouseId(request.getWarehouseId())
-                .warehouseName(warehouse != null ? warehouse.getName() : null)
+                .warehouseName(warehouseCache.getName(request.getWarehouseId()))
                 .itemId(request.getItemId())
                 .itemSku(request.getItemSku())
                 .itemName(request.getItemName())
@@ -327,4 +776,6 @@ public class StockService {
                 .priority(request.getPriority())
                 .build();
     }
+
+    private record StockKey(Long warehouseId, Long itemId) {}
 }
@@ -0,0 +1,78 @@
+package com.ims.inventory.service;
+
+import com.ims.inventory.entity.Warehouse;
+import com.ims.inventory.repository.WarehouseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process warehouse dimension cache keyed by id, so response mapping resolves
+ * warehouse names without a query per row. Unknown ids are cached as absent.
+ */
+@Component
+@Slf4j
+public class WarehouseCache {
+
+    private final WarehouseRepository warehouseRepository;
+    private final Map<Long, Optional<String>> names = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public WarehouseCache(WarehouseRepository warehouseRepository, MeterRegistry meterRegistry) {
+        this.warehouseRepository = warehouseRepository;
+        this.hits = Counter.builder("cache.gets")
+                .tag("cache", "warehouses")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("cache.gets")
+                .tag("cache", "warehouses")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", names, Map::size)
+                .tag("cache", "warehouses")
+                .register(meterRegistry);
+    }
+
+    public String getName(Long warehouseId) {
+        if (warehouseId == null) {
+            return null;
+        }
+        Optional<String> name = names.get(warehouseId);
+        if (name != null) {
+            hits.increment();
+            return name.orElse(null);
+        }
+        misses.increment();
+        name = warehouseRepository.findById(warehouseId).map(Warehouse::getName);
+        names.putIfAbsent(warehouseId, name);
+        return name.orElse(null);
+    }
+
+    /**
+     * Refreshes the cached entry once the surrounding transaction (if any) has committed.
+     */
+    public void refresh(Warehouse warehouse) {
+        Long id = warehouse.getId();
+        String name = warehouse.getName();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    names.put(id, Optional.ofNullable(name));
+                }
+            });
+        } else {
+            names.put(id, Optional.ofNullable(name));
+        }
+        log.debug("Warehouse cache refreshed: id={}", id);
+    }
+}
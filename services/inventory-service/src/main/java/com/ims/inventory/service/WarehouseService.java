@@ -18,6 +18,7 @@ import java.util.stream.Collectors;
 public class WarehouseService {
 
     private final WarehouseRepository warehouseRepository;
+    private final WarehouseCache warehouseCache;
 
     public List<WarehouseResponse> getAllWarehouses() {
         return warehouseRepository.findAll().stream()
@@ -53,6 +54,7 @@ public class WarehouseService {
                 .build();
 
         Warehouse saved = warehouseRepository.save(warehouse);
+        warehouseCache.refresh(saved);
         log.info("Warehouse created: {}", saved.getName());
         return mapToResponse(saved);
     }
@@ -71,6 +73,7 @@ public class WarehouseService {
         warehouse.setContactPhone(request.getContactPhone());
 
         Warehouse updated = warehouseRepository.save(warehouse);
+        warehouseCache.refresh(updated);
         log.info("Warehouse updated: {}", updated.getName());
         return mapToResponse(updated);
     }
@@ -80,7 +83,7 @@ public class WarehouseService {
         Warehouse warehouse = warehouseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Warehouse not found with id: " + id));
         warehouse.setActive(false);
-        warehouseRepository.save(warehouse);
+        warehouseCache.refresh(warehouseRepository.save(warehouse));
         log.info("Warehouse deactivated: {}", id);
     }
 
@@ -1,10 +1,8 @@
 package com.ims.inventory.soap;
 
 import com.ims.inventory.entity.StockLevel;
-import com.ims.inventory.entity.StockMovement;
 import com.ims.inventory.entity.Warehouse;
 import com.ims.inventory.repository.StockLevelRepository;
-import com.ims.inventory.repository.StockMovementRepository;
 import com.ims.inventory.repository.WarehouseRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,9 +11,7 @@ import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
 import org.springframework.ws.server.endpoint.annotation.RequestPayload;
 import org.springframework.ws.server.endpoint.annotation.ResponsePayload;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.List;
 
 @Endpoint
@@ -26,8 +22,8 @@ public class InventoryReportEndpoint {
     private static final String NAMESPACE_URI = "http://ims.com/inventory/soap";
 
     private final StockLevelRepository stockLevelRepository;
-    private final StockMovementRepository movementRepository;
     private final WarehouseRepository warehouseRepository;
+    private final StockReportAssembler reportAssembler;
 
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getStockReportRequest")
     @ResponsePayload
@@ -53,67 +49,12 @@ public class InventoryReportEndpoint {
         // Get stock positions
         List<StockLevel> stockLevels = stockLevelRepository.findByWarehouseId(request.getWarehouseId());
         for (StockLevel stock : stockLevels) {
-            SoapTypes.StockPosition position = new SoapTypes.StockPosition();
-            position.setItemId(stock.getItemId());
-            position.setSku(stock.getItemSku());
-            position.setItemName(stock.getItemName());
-            position.setCurrentQuantity(stock.getQuantity());
-            position.setMinStockLevel(stock.getMinStockLevel());
-            position.setMaxStockLevel(stock.getMaxStockLevel());
-            position.setUnitPrice(BigDecimal.ZERO); // Would get from catalog service
-            position.setStockValue(BigDecimal.ZERO);
-            
-            if (stock.getQuantity() <= 0) {
-                position.setStatus("OUT_OF_STOCK");
-            } else if (stock.getQuantity() <= stock.getMinStockLevel()) {
-                position.setStatus("LOW");
-            } else if (stock.getQuantity() >= stock.getMaxStockLevel()) {
-                position.setStatus("OVERSTOCKED");
-            } else {
-                position.setStatus("NORMAL");
-            }
-            
-            response.getStockPositions().add(position);
+            response.getStockPositions().add(reportAssembler.toPosition(stock));
         }
 
         // Calculate movement summary
-        LocalDateTime fromDateTime = request.getFromDate().atStartOfDay();
-        LocalDateTime toDateTime = request.getToDate().atTime(LocalTime.MAX);
-        
-        List<StockMovement> movements = movementRepository.findByWarehouseAndDateRange(
-                request.getWarehouseId(), fromDateTime, toDateTime);
-
-        SoapTypes.MovementSummary summary = new SoapTypes.MovementSummary();
-        int totalInbound = 0;
-        int totalOutbound = 0;
-        int totalAdjustments = 0;
-        BigDecimal inboundValue = BigDecimal.ZERO;
-        BigDecimal outboundValue = BigDecimal.ZERO;
-
-        for (StockMovement movement : movements) {
-            switch (movement.getMovementType()) {
-                case GOODS_RECEIPT, TRANSFER_IN, RETURN -> {
-                    totalInbound += movement.getQuantity();
-                    if (movement.getTotalValue() != null) {
-                        inboundValue = inboundValue.add(movement.getTotalValue());
-                    }
-                }
-                case STOCK_ISSUE, TRANSFER_OUT, DAMAGE, WRITE_OFF -> {
-                    totalOutbound += movement.getQuantity();
-                    if (movement.getTotalValue() != null) {
-                        outboundValue = outboundValue.add(movement.getTotalValue());
-                    }
-                }
-                case ADJUSTMENT -> totalAdjustments += movement.getQuantity();
-            }
-        }
-
-        summary.setTotalInbound(totalInbound);
-        summary.setTotalOutbound(totalOutbound);
-        summary.setTotalAdjustments(totalAdjustments);
-        summary.setInboundValue(inboundValue);
-        summary.setOutboundValue(outboundValue);
-        response.setMovementSummary(summary);
+        response.setMovementSummary(reportAssembler.summarizeMovements(
+                request.getWarehouseId(), request.getFromDate(), request.getToDate()));
 
         log.info("SOAP: Stock report generated with {} positions", response.getStockPositions().size());
         return response;
@@ -0,0 +1,83 @@
+package com.ims.inventory.soap;
+
+import com.ims.inventory.entity.StockLevel;
+import com.ims.inventory.entity.StockMovement;
+import com.ims.inventory.service.MovementRollupService;
+import com.ims.inventory.service.PriceSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Builds the parts of the stock report shared by the SOAP endpoint and the streaming servlet.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockReportAssembler {
+
+    private final MovementRollupService rollupService;
+    private final PriceSnapshot priceSnapshot;
+
+    public SoapTypes.StockPosition toPosition(StockLevel stock) {
+        SoapTypes.StockPosition position = new SoapTypes.StockPosition();
+        position.setItemId(stock.getItemId());
+        position.setSku(stock.getItemSku());
+        position.setItemName(stock.getItemName());
+        position.setCurrentQuantity(stock.getQuantity());
+        position.setMinStockLevel(stock.getMinStockLevel());
+        position.setMaxStockLevel(stock.getMaxStockLevel());
+        position.setUnitPrice(priceSnapshot.unitPrice(stock.getItemId()));
+        position.setStockValue(BigDecimal.valueOf(priceSnapshot.stockValueCents(stock.getItemId(), stock.getQuantity()), 2));
+
+        if (stock.getQuantity() <= 0) {
+            position.setStatus("OUT_OF_STOCK");
+        } else if (stock.getQuantity() <= stock.getMinStockLevel()) {
+            position.setStatus("LOW");
+        } else if (stock.getQuantity() >= stock.getMaxStockLevel()) {
+            position.setStatus("OVERSTOCKED");
+        } else {
+            position.setStatus("NORMAL");
+        }
+        return position;
+    }
+
+    /**
+     * Folds the per-type movement totals (daily rollups plus the uncompacted tail) into
+     * inbound, outbound and adjustment totals.
+     */
+    public SoapTypes.MovementSummary summarizeMovements(Long warehouseId, LocalDate fromDate, LocalDate toDate) {
+        int totalInbound = 0;
+        int totalOutbound = 0;
+        int totalAdjustments = 0;
+        BigDecimal inboundValue = BigDecimal.ZERO;
+        BigDecimal outboundValue = BigDecimal.ZERO;
+
+        for (Map.Entry<StockMovement.MovementType, MovementRollupService.MovementTotals> entry
+                : rollupService.summarize(warehouseId, fromDate, toDate).entrySet()) {
+            int quantity = (int) entry.getValue().quantity();
+            BigDecimal value = entry.getValue().value();
+            switch (entry.getKey()) {
+                case GOODS_RECEIPT, TRANSFER_IN, RETURN -> {
+                    totalInbound += quantity;
+                    inboundValue = inboundValue.add(value);
+                }
+                case STOCK_ISSUE, TRANSFER_OUT, DAMAGE, WRITE_OFF -> {
+                    totalOutbound += quantity;
+                    outboundValue = outboundValue.add(value);
+                }
+                case ADJUSTMENT -> totalAdjustments += quantity;
+            }
+        }
+
+        SoapTypes.MovementSummary summary = new SoapTypes.MovementSummary();
+        summary.setTotalInbound(totalInbound);
+        summary.setTotalOutbound(totalOutbound);
+        summary.setTotalAdjustments(totalAdjustments);
+        summary.setInboundValue(inboundValue);
+        summary.setOutboundValue(outboundValue);
+        return summary;
+    }
+}
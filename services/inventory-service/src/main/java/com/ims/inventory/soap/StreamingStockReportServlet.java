@@ -0,0 +1,223 @@
+package com.ims.inventory.soap;
+
+import com.ims.inventory.entity.StockLevel;
+import com.ims.inventory.repository.StockLevelRepository;
+import com.ims.inventory.service.WarehouseCache;
+import jakarta.persistence.EntityManager;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.xml.stream.*;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * SOAP 1.1 variant of getStockReport for large warehouses. The SAAJ message factory used by
+ * the MessageDispatcherServlet holds the whole response as a DOM, so this servlet writes the
+ * same getStockReportResponse envelope with StAX while stock rows are streamed from the
+ * database. Memory stays flat regardless of the number of positions.
+ */
+@Component
+@Slf4j
+public class StreamingStockReportServlet extends HttpServlet {
+
+    private static final String SOAP_ENV_NS = "http://schemas.xmlsoap.org/soap/envelope/";
+    private static final String NAMESPACE_URI = "http://ims.com/inventory/soap";
+    private static final int DETACH_INTERVAL = 500;
+
+    private final transient StockLevelRepository stockLevelRepository;
+    private final transient StockReportAssembler reportAssembler;
+    private final transient WarehouseCache warehouseCache;
+    private final transient EntityManager entityManager;
+    private final transient TransactionTemplate readOnlyTransaction;
+
+    private final transient XMLInputFactory inputFactory = XMLInputFactory.newFactory();
+    private final transient XMLOutputFactory outputFactory = XMLOutputFactory.newFactory();
+
+    public StreamingStockReportServlet(StockLevelRepository stockLevelRepository,
+                                       StockReportAssembler reportAssembler,
+                                       WarehouseCache warehouseCache,
+                                       EntityManager entityManager,
+                                       PlatformTransactionManager transactionManager) {
+        this.stockLevelRepository = stockLevelRepository;
+        this.reportAssembler = reportAssembler;
+        this.warehouseCache = warehouseCache;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ReportRequest reportRequest;
+        try {
+            reportRequest = readRequest(request);
+        } catch (XMLStreamException | RuntimeException e) {
+            writeFault(response, "SOAP-ENV:Client", e.getMessage());
+            return;
+        }
+
+        log.info("SOAP (streaming): getStockReport called for warehouse: {}, from: {}, to: {}",
+                reportRequest.warehouseId(), reportRequest.fromDate(), reportRequest.toDate());
+
+        SoapTypes.MovementSummary summary;
+        String warehouseName;
+        try {
+            summary = reportAssembler.summarizeMovements(
+                    reportRequest.warehouseId(), reportRequest.fromDate(), reportRequest.toDate());
+            warehouseName = warehouseCache.getName(reportRequest.warehouseId());
+        } catch (RuntimeException e) {
+            log.error("SOAP (streaming): stock report failed: {}", e.getMessage(), e);
+            writeFault(response, "SOAP-ENV:Server", "Stock report failed");
+            return;
+        }
+
+        response.setContentType("text/xml;charset=UTF-8");
+        OutputStream out = new BufferedOutputStream(response.getOutputStream());
+        int positions = readOnlyTransaction.execute(status -> {
+            try {
+                return writeReport(out, reportRequest, warehouseName, summary);
+            } catch (XMLStreamException e) {
+                // The response is already committed, so the client sees a truncated envelope.
+                throw new RuntimeException("Failed to write stock report", e);
+            }
+        });
+        out.flush();
+
+        log.info("SOAP (streaming): Stock report generated with {} positions", positions);
+    }
+
+    private int writeReport(OutputStream out, ReportRequest request, String warehouseName,
+                            SoapTypes.MovementSummary summary) throws XMLStreamException {
+        XMLStreamWriter writer = outputFactory.createXMLStreamWriter(out, "UTF-8");
+        writer.writeStartDocument("UTF-8", "1.0");
+        writer.writeStartElement("SOAP-ENV", "Envelope", SOAP_ENV_NS);
+        writer.writeNamespace("SOAP-ENV", SOAP_ENV_NS);
+        writer.writeEmptyElement("SOAP-ENV", "Header", SOAP_ENV_NS);
+        writer.writeStartElement("SOAP-ENV", "Body", SOAP_ENV_NS);
+        writer.writeStartElement("", "getStockReportResponse", NAMESPACE_URI);
+        writer.writeDefaultNamespace(NAMESPACE_URI);
+
+        writeElement(writer, "warehouseId", request.warehouseId());
+        writeElement(writer, "warehouseName", warehouseName);
+        writeElement(writer, "reportDate", LocalDateTime.now());
+        writeElement(writer, "fromDate", request.fromDate());
+        writeElement(writer, "toDate", request.toDate());
+
+        int count = 0;
+        try (Stream<StockLevel> stock = stockLevelRepository.streamByWarehouseId(request.warehouseId())) {
+            for (StockLevel level : (Iterable<StockLevel>) stock::iterator) {
+                writePosition(writer, reportAssembler.toPosition(level));
+                // Rows are not needed once written; keep the persistence context from growing.
+                entityManager.detach(level);
+                if (++count % DETACH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            }
+        }
+
+        writer.writeStartElement("movementSummary");
+        writeElement(writer, "totalInbound", summary.getTotalInbound());
+        writeElement(writer, "totalOutbound", summary.getTotalOutbound());
+        writeElement(writer, "totalAdjustments", summary.getTotalAdjustments());
+        writeElement(writer, "inboundValue", summary.getInboundValue());
+        writeElement(writer, "outboundValue", summary.getOutboundValue());
+        writer.writeEndElement();
+
+        writer.writeEndElement(); // getStockReportResponse
+        writer.writeEndElement(); // Body
+        writer.writeEndElement(); // Envelope
+        writer.writeEndDocument();
+        writer.flush();
+        writer.close();
+        return count;
+    }
+
+    private void writePosition(XMLStreamWriter writer, SoapTypes.StockPosition position) throws XMLStreamException {
+        writer.writeStartElement("stockPositions");
+        writeElement(writer, "itemId", position.getItemId());
+        writeElement(writer, "sku", position.getSku());
+        writeElement(writer, "itemName", position.getItemName());
+        writeElement(writer, "currentQuantity", position.getCurrentQuantity());
+        writeElement(writer, "minStockLevel", position.getMinStockLevel());
+        writeElement(writer, "maxStockLevel", position.getMaxStockLevel());
+        writeElement(writer, "unitPrice", position.getUnitPrice());
+        writeElement(writer, "stockValue", position.getStockValue());
+        writeElement(writer, "status", position.getStatus());
+        writer.writeEndElement();
+    }
+
+    private static void writeElement(XMLStreamWriter writer, String name, Object value) throws XMLStreamException {
+        if (value == null) {
+            return;
+        }
+        writer.writeStartElement(name);
+        writer.writeCharacters(value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString());
+        writer.writeEndElement();
+    }
+
+    private ReportRequest readRequest(HttpServletRequest request) throws IOException, XMLStreamException {
+        XMLStreamReader reader = inputFactory.createXMLStreamReader(request.getInputStream());
+        try {
+            boolean found = false;
+            Long warehouseId = null;
+            LocalDate fromDate = null;
+            LocalDate toDate = null;
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT
+                        || !NAMESPACE_URI.equals(reader.getNamespaceURI())) {
+                    continue;
+                }
+                switch (reader.getLocalName()) {
+                    case "getStockReportRequest" -> found = true;
+                    case "warehouseId" -> warehouseId = Long.valueOf(reader.getElementText().trim());
+                    case "fromDate" -> fromDate = LocalDate.parse(reader.getElementText().trim());
+                    case "toDate" -> toDate = LocalDate.parse(reader.getElementText().trim());
+                    default -> { }
+                }
+            }
+            if (!found || warehouseId == null || fromDate == null || toDate == null) {
+                throw new RuntimeException("Expected getStockReportRequest with warehouseId, fromDate and toDate");
+            }
+            return new ReportRequest(warehouseId, fromDate, toDate);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private void writeFault(HttpServletResponse response, String faultCode, String faultString) throws IOException {
+        response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        response.setContentType("text/xml;charset=UTF-8");
+        try {
+            XMLStreamWriter writer = outputFactory.createXMLStreamWriter(response.getOutputStream(), "UTF-8");
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.writeStartElement("SOAP-ENV", "Envelope", SOAP_ENV_NS);
+            writer.writeNamespace("SOAP-ENV", SOAP_ENV_NS);
+            writer.writeStartElement("SOAP-ENV", "Body", SOAP_ENV_NS);
+            writer.writeStartElement("SOAP-ENV", "Fault", SOAP_ENV_NS);
+            writeElement(writer, "faultcode", faultCode);
+            writeElement(writer, "faultstring", faultString != null ? faultString : "Invalid request");
+            writer.writeEndElement();
+            writer.writeEndElement();
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private record ReportRequest(Long warehouseId, LocalDate fromDate, LocalDate toDate) {}
+}